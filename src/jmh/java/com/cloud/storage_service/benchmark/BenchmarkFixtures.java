@@ -0,0 +1,77 @@
+package com.cloud.storage_service.benchmark;
+
+import com.cloud.storage_service.component.BucketKeyIndex;
+import com.cloud.storage_service.component.ContentCompression;
+import com.cloud.storage_service.component.ContentDigestIndex;
+import com.cloud.storage_service.component.ObjectStoreCallExecutor;
+import com.cloud.storage_service.component.ObjectStoreHedger;
+import com.cloud.storage_service.component.ObjectStoreIsolation;
+import com.cloud.storage_service.component.ObjectStoreRetrier;
+import com.cloud.storage_service.component.S3ReadCoalescer;
+import com.cloud.storage_service.component.StorageMetrics;
+import com.cloud.storage_service.component.TransferAdmissionController;
+import com.cloud.storage_service.config.aws.S3Configuration;
+import com.cloud.storage_service.properties.AdmissionProperties;
+import com.cloud.storage_service.properties.ChecksumProperties;
+import com.cloud.storage_service.properties.CoalescingProperties;
+import com.cloud.storage_service.properties.CompressionProperties;
+import com.cloud.storage_service.properties.DedupProperties;
+import com.cloud.storage_service.properties.KeyIndexProperties;
+import com.cloud.storage_service.properties.ResilienceProperties;
+import com.cloud.storage_service.service.impl.MinioServiceImpl;
+import com.cloud.storage_service.service.impl.S3ServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Wires the services under benchmark by hand, without a Spring context.
+ */
+final class BenchmarkFixtures {
+    static final String BUCKET = "benchmark-bucket";
+
+    private BenchmarkFixtures() {
+    }
+
+    static S3ServiceImpl s3Service(InMemoryS3Client s3Client) {
+        S3Configuration configuration = new S3Configuration();
+        configuration.setBucketName(BUCKET);
+        configuration.setRegion("ap-southeast-1");
+
+        StorageMetrics storageMetrics = new StorageMetrics(new SimpleMeterRegistry());
+        ObjectStoreCallExecutor callExecutor = callExecutor(storageMetrics);
+        S3ReadCoalescer readCoalescer = new S3ReadCoalescer(
+                s3Client, configuration, new CoalescingProperties(), callExecutor, new ChecksumProperties());
+
+        return new S3ServiceImpl(s3Client, configuration, null, readCoalescer, callExecutor, storageMetrics,
+                admissionController(), keyIndex(), event -> { }, contentDigests(), new ChecksumProperties(),
+                new ContentCompression(new CompressionProperties(), new SimpleMeterRegistry()));
+    }
+
+    static MinioServiceImpl minioService() {
+        StorageMetrics storageMetrics = new StorageMetrics(new SimpleMeterRegistry());
+        return new MinioServiceImpl(null, null, null, callExecutor(storageMetrics), storageMetrics, admissionController(),
+                keyIndex(), event -> { }, new ChecksumProperties());
+    }
+
+    private static TransferAdmissionController admissionController() {
+        return new TransferAdmissionController(new AdmissionProperties(), new SimpleMeterRegistry());
+    }
+
+    /**
+     * Disabled, so listings always go to the client under benchmark.
+     */
+    private static ContentDigestIndex contentDigests() {
+        return new ContentDigestIndex(new DedupProperties(), new SimpleMeterRegistry());
+    }
+
+    private static BucketKeyIndex keyIndex() {
+        return new BucketKeyIndex(new KeyIndexProperties(), new SimpleMeterRegistry());
+    }
+
+    private static ObjectStoreCallExecutor callExecutor(StorageMetrics storageMetrics) {
+        ResilienceProperties resilienceProperties = new ResilienceProperties();
+        return new ObjectStoreCallExecutor(storageMetrics,
+                new ObjectStoreRetrier(resilienceProperties, storageMetrics),
+                new ObjectStoreHedger(resilienceProperties, storageMetrics),
+                new ObjectStoreIsolation(resilienceProperties, new SimpleMeterRegistry()));
+    }
+}
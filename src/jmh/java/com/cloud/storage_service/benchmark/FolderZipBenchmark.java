@@ -0,0 +1,51 @@
+package com.cloud.storage_service.benchmark;
+
+import com.cloud.storage_service.service.impl.S3ServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Folder ZIP assembly of a chapter held by an in-memory provider.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FolderZipBenchmark {
+    private static final String FOLDER = "webtoons-content/solo-leveling/chapter-1/";
+
+    @Param({"50", "200"})
+    private int pageCount;
+
+    @Param({"51200"})
+    private int pageBytes;
+
+    private S3ServiceImpl s3Service;
+
+    @Setup
+    public void setUp() {
+        InMemoryS3Client s3Client = new InMemoryS3Client();
+        Random random = new Random(42);
+        for (int i = 0; i < pageCount; i++) {
+            // Random bytes, like already-compressed image data, so deflate cannot shrink them
+            byte[] page = new byte[pageBytes];
+            random.nextBytes(page);
+            s3Client.put(FOLDER + "page-" + i + ".webp", page, "image/webp");
+        }
+        s3Service = BenchmarkFixtures.s3Service(s3Client);
+    }
+
+    @Benchmark
+    public byte[] downloadFolderAsZip() throws IOException {
+        return s3Service.downloadFolderAsZip(FOLDER);
+    }
+}
@@ -0,0 +1,163 @@
+package com.cloud.storage_service.benchmark;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Minimal in-memory {@link S3Client} for benchmarks: put, get, head, list and delete on a
+ * single bucket, with no network or serialization cost in the way of the code under test.
+ */
+public class InMemoryS3Client implements S3Client {
+    private final NavigableMap<String, StoredObject> objects = new ConcurrentSkipListMap<>();
+
+    public void put(String key, byte[] content, String contentType) {
+        objects.put(key, new StoredObject(content, contentType, Integer.toHexString(Arrays.hashCode(content)),
+                Instant.now()));
+    }
+
+    @Override
+    public PutObjectResponse putObject(PutObjectRequest request, RequestBody requestBody) {
+        try (InputStream inputStream = requestBody.contentStreamProvider().newStream()) {
+            put(request.key(), inputStream.readAllBytes(), request.contentType());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return PutObjectResponse.builder().eTag(objects.get(request.key()).etag()).build();
+    }
+
+    @Override
+    public <T> T getObject(GetObjectRequest request, ResponseTransformer<GetObjectResponse, T> transformer) {
+        StoredObject object = find(request.key());
+        GetObjectResponse response = GetObjectResponse.builder()
+                .contentType(object.contentType())
+                .contentLength((long) object.content().length)
+                .eTag(object.etag())
+                .lastModified(object.lastModified())
+                .build();
+        try {
+            return transformer.transform(response,
+                    AbortableInputStream.create(new ByteArrayInputStream(object.content())));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public ResponseInputStream<GetObjectResponse> getObject(GetObjectRequest request) {
+        return getObject(request, ResponseTransformer.toInputStream());
+    }
+
+    @Override
+    public HeadObjectResponse headObject(HeadObjectRequest request) {
+        StoredObject object = find(request.key());
+        return HeadObjectResponse.builder()
+                .contentType(object.contentType())
+                .contentLength((long) object.content().length)
+                .eTag(object.etag())
+                .lastModified(object.lastModified())
+                .build();
+    }
+
+    @Override
+    public ListObjectsV2Response listObjectsV2(ListObjectsV2Request request) {
+        String prefix = request.prefix() == null ? "" : request.prefix();
+        String startAfter = request.continuationToken() != null ? request.continuationToken() : request.startAfter();
+        int maxKeys = request.maxKeys() == null ? 1000 : request.maxKeys();
+
+        NavigableMap<String, StoredObject> range = startAfter == null || startAfter.compareTo(prefix) < 0
+                ? objects.tailMap(prefix, true)
+                : objects.tailMap(startAfter, false);
+
+        List<S3Object> contents = new ArrayList<>();
+        Set<String> commonPrefixes = new LinkedHashSet<>();
+        String lastKey = null;
+        boolean truncated = false;
+        for (Map.Entry<String, StoredObject> entry : range.entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            if (contents.size() + commonPrefixes.size() == maxKeys) {
+                truncated = true;
+                break;
+            }
+            int delimiterIndex = request.delimiter() == null ? -1 : key.indexOf(request.delimiter(), prefix.length());
+            if (delimiterIndex >= 0) {
+                commonPrefixes.add(key.substring(0, delimiterIndex + 1));
+            } else {
+                contents.add(S3Object.builder()
+                        .key(key)
+                        .size((long) entry.getValue().content().length)
+                        .eTag(entry.getValue().etag())
+                        .lastModified(entry.getValue().lastModified())
+                        .build());
+            }
+            lastKey = key;
+        }
+
+        return ListObjectsV2Response.builder()
+                .contents(contents)
+                .commonPrefixes(commonPrefixes.stream().map(p -> CommonPrefix.builder().prefix(p).build()).toList())
+                .isTruncated(truncated)
+                .nextContinuationToken(truncated ? lastKey : null)
+                .keyCount(contents.size())
+                .build();
+    }
+
+    @Override
+    public DeleteObjectResponse deleteObject(DeleteObjectRequest request) {
+        objects.remove(request.key());
+        return DeleteObjectResponse.builder().build();
+    }
+
+    private StoredObject find(String key) {
+        StoredObject object = objects.get(key);
+        if (object == null) {
+            throw NoSuchKeyException.builder().statusCode(404).message("No such key: " + key).build();
+        }
+        return object;
+    }
+
+    @Override
+    public String serviceName() {
+        return "s3";
+    }
+
+    @Override
+    public void close() {
+        objects.clear();
+    }
+
+    private record StoredObject(byte[] content, String contentType, String etag, Instant lastModified) {
+    }
+}
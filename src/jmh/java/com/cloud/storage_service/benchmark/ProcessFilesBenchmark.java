@@ -0,0 +1,49 @@
+package com.cloud.storage_service.benchmark;
+
+import com.cloud.storage_service.service.impl.MinioServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Projection of a MinIO listing into the label/alias/type entries returned by listFiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ProcessFilesBenchmark {
+    private static final String PREFIX = "webtoons-content/solo-leveling/";
+
+    @Param({"10000", "100000", "1000000"})
+    private int keyCount;
+
+    private MinioServiceImpl minioService;
+    private List<String> fileNames;
+
+    @Setup
+    public void setUp() {
+        minioService = BenchmarkFixtures.minioService();
+        fileNames = new ArrayList<>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            // One folder per hundred pages, mirroring chapter folders next to page files
+            fileNames.add(i % 100 == 0
+                    ? PREFIX + "chapter-" + i / 100 + "/"
+                    : PREFIX + "page_" + i + ".webp");
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> processFiles() {
+        return minioService.processFiles(fileNames, PREFIX);
+    }
+}
@@ -0,0 +1,45 @@
+package com.cloud.storage_service.benchmark;
+
+import com.cloud.storage_service.service.impl.S3ServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of one delimiter listing page into the folders/files response of listFiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class S3ListingBenchmark {
+    private static final String PREFIX = "webtoons-content/solo-leveling/";
+    private static final byte[] PAGE = new byte[16];
+
+    @Param({"100", "1000"})
+    private int pageSize;
+
+    private S3ServiceImpl s3Service;
+
+    @Setup
+    public void setUp() {
+        InMemoryS3Client s3Client = new InMemoryS3Client();
+        for (int i = 0; i < pageSize; i++) {
+            s3Client.put(PREFIX + (i % 10 == 0 ? "chapter-" + i + "/page.webp" : "cover-" + i + ".webp"),
+                    PAGE, "image/webp");
+        }
+        s3Service = BenchmarkFixtures.s3Service(s3Client);
+    }
+
+    @Benchmark
+    public Map<String, Object> listFiles() {
+        return s3Service.listFiles(PREFIX);
+    }
+}
@@ -0,0 +1,39 @@
+package com.cloud.storage_service.benchmark;
+
+import com.cloud.storage_service.util.common.StringUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class StringUtilsBenchmark {
+    @Param({
+            "webtoons-content/solo-leveling/chapter-101/",
+            "///webtoons-content/the_beginning_after_the_end/chapter-12///",
+            "page-001.webp"
+    })
+    private String input;
+
+    @Benchmark
+    public String normalizePrefix() {
+        return StringUtils.normalizePrefix(input);
+    }
+
+    @Benchmark
+    public String capitalizeWords() {
+        return StringUtils.capitalizeWords(input);
+    }
+
+    @Benchmark
+    public String[] extractBaseNameAndExtension() {
+        return StringUtils.extractBaseNameAndExtension(input);
+    }
+}
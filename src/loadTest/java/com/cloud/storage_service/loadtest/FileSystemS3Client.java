@@ -0,0 +1,334 @@
+package com.cloud.storage_service.loadtest;
+
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.DeletedObject;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filesystem-backed {@link S3Client} covering the calls the service makes: put, ranged and
+ * conditional get, head, delimiter listing and single/batch delete on one bucket.
+ * Object bodies live in files under the root directory so reads and writes pay real disk
+ * I/O; the key index is kept in memory and is not persisted between runs.
+ */
+public class FileSystemS3Client implements S3Client {
+    private static final int DEFAULT_MAX_KEYS = 1000;
+    private static final String BYTES_UNIT = "bytes=";
+
+    private final Path root;
+    private final NavigableMap<String, StoredObject> index = new ConcurrentSkipListMap<>();
+    private final AtomicLong fileSequence = new AtomicLong();
+
+    public FileSystemS3Client(Path root) {
+        this.root = root;
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void put(String key, InputStream content, String contentType) {
+        Path file = root.resolve(Long.toString(fileSequence.incrementAndGet()));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            MessageDigest md5 = MessageDigest.getInstance("MD5");
+            try (InputStream in = new DigestInputStream(content, md5)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            StoredObject previous = index.put(key, new StoredObject(file, Files.size(file), contentType,
+                    HexFormat.of().formatHex(md5.digest()), Instant.now()));
+            if (previous != null) {
+                Files.deleteIfExists(previous.file());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public PutObjectResponse putObject(PutObjectRequest request, RequestBody requestBody) {
+        try (InputStream inputStream = requestBody.contentStreamProvider().newStream()) {
+            put(request.key(), inputStream, request.contentType());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return PutObjectResponse.builder().eTag(quote(index.get(request.key()).etag())).build();
+    }
+
+    @Override
+    public <T> T getObject(GetObjectRequest request, ResponseTransformer<GetObjectResponse, T> transformer) {
+        StoredObject object = find(request.key());
+        if (request.ifMatch() != null && !unquote(request.ifMatch()).equals(object.etag())) {
+            throw (S3Exception) S3Exception.builder().statusCode(412).message("Precondition Failed").build();
+        }
+
+        long start = 0;
+        long end = object.size() - 1;
+        GetObjectResponse.Builder response = GetObjectResponse.builder()
+                .contentType(object.contentType())
+                .eTag(quote(object.etag()))
+                .lastModified(object.lastModified())
+                .acceptRanges("bytes");
+        if (request.range() != null && object.size() > 0) {
+            long[] bounds = parseRange(request.range(), object.size());
+            start = bounds[0];
+            end = bounds[1];
+            response.contentRange("bytes " + start + "-" + end + "/" + object.size());
+        }
+        response.contentLength(end - start + 1);
+
+        try {
+            InputStream in = Files.newInputStream(object.file());
+            in.skipNBytes(start);
+            return transformer.transform(response.build(),
+                    AbortableInputStream.create(new BoundedInputStream(in, end - start + 1)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public ResponseInputStream<GetObjectResponse> getObject(GetObjectRequest request) {
+        return getObject(request, ResponseTransformer.toInputStream());
+    }
+
+    @Override
+    public HeadObjectResponse headObject(HeadObjectRequest request) {
+        StoredObject object = find(request.key());
+        return HeadObjectResponse.builder()
+                .contentType(object.contentType())
+                .contentLength(object.size())
+                .eTag(quote(object.etag()))
+                .lastModified(object.lastModified())
+                .build();
+    }
+
+    @Override
+    public ListObjectsV2Response listObjectsV2(ListObjectsV2Request request) {
+        String prefix = request.prefix() == null ? "" : request.prefix();
+        String startAfter = request.continuationToken() != null ? request.continuationToken() : request.startAfter();
+        int maxKeys = request.maxKeys() == null ? DEFAULT_MAX_KEYS : request.maxKeys();
+
+        NavigableMap<String, StoredObject> range = startAfter == null || startAfter.compareTo(prefix) < 0
+                ? index.tailMap(prefix, true)
+                : index.tailMap(startAfter, false);
+
+        List<S3Object> contents = new ArrayList<>();
+        Set<String> commonPrefixes = new LinkedHashSet<>();
+        String lastKey = null;
+        boolean truncated = false;
+        for (Map.Entry<String, StoredObject> entry : range.entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            if (contents.size() + commonPrefixes.size() == maxKeys) {
+                truncated = true;
+                break;
+            }
+            int delimiterIndex = request.delimiter() == null ? -1 : key.indexOf(request.delimiter(), prefix.length());
+            if (delimiterIndex >= 0) {
+                commonPrefixes.add(key.substring(0, delimiterIndex + 1));
+            } else {
+                contents.add(S3Object.builder()
+                        .key(key)
+                        .size(entry.getValue().size())
+                        .eTag(quote(entry.getValue().etag()))
+                        .lastModified(entry.getValue().lastModified())
+                        .build());
+            }
+            lastKey = key;
+        }
+
+        return ListObjectsV2Response.builder()
+                .contents(contents)
+                .commonPrefixes(commonPrefixes.stream().map(p -> CommonPrefix.builder().prefix(p).build()).toList())
+                .isTruncated(truncated)
+                .nextContinuationToken(truncated ? lastKey : null)
+                .keyCount(contents.size())
+                .build();
+    }
+
+    @Override
+    public DeleteObjectResponse deleteObject(DeleteObjectRequest request) {
+        remove(request.key());
+        return DeleteObjectResponse.builder().build();
+    }
+
+    @Override
+    public DeleteObjectsResponse deleteObjects(DeleteObjectsRequest request) {
+        List<DeletedObject> deleted = new ArrayList<>();
+        for (ObjectIdentifier identifier : request.delete().objects()) {
+            remove(identifier.key());
+            deleted.add(DeletedObject.builder().key(identifier.key()).build());
+        }
+        return DeleteObjectsResponse.builder().deleted(deleted).build();
+    }
+
+    @Override
+    public String serviceName() {
+        return "s3";
+    }
+
+    @Override
+    public void close() {
+        index.clear();
+    }
+
+    private void remove(String key) {
+        StoredObject object = index.remove(key);
+        if (object != null) {
+            try {
+                Files.deleteIfExists(object.file());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private StoredObject find(String key) {
+        StoredObject object = index.get(key);
+        if (object == null) {
+            throw NoSuchKeyException.builder().statusCode(404).message("No such key: " + key).build();
+        }
+        return object;
+    }
+
+    /**
+     * Resolves a single "bytes=" range against the object size, as inclusive start and end offsets.
+     */
+    private static long[] parseRange(String range, long size) {
+        if (!range.startsWith(BYTES_UNIT) || range.indexOf(',') >= 0) {
+            throw invalidRange(range);
+        }
+        String spec = range.substring(BYTES_UNIT.length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            throw invalidRange(range);
+        }
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                start = Math.max(0, size - suffix);
+                end = size - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                end = dash == spec.length() - 1
+                        ? size - 1
+                        : Math.min(Long.parseLong(spec.substring(dash + 1)), size - 1);
+            }
+            if (start > end || start >= size) {
+                throw invalidRange(range);
+            }
+            return new long[] {start, end};
+        } catch (NumberFormatException e) {
+            throw invalidRange(range);
+        }
+    }
+
+    private static S3Exception invalidRange(String range) {
+        return (S3Exception) S3Exception.builder().statusCode(416).message("Invalid range: " + range).build();
+    }
+
+    private static String quote(String etag) {
+        return "\"" + etag + "\"";
+    }
+
+    private static String unquote(String etag) {
+        return etag.replace("\"", "");
+    }
+
+    private record StoredObject(Path file, long size, String contentType, String etag, Instant lastModified) {
+    }
+
+    /**
+     * Limits a file stream to the requested range.
+     */
+    private static final class BoundedInputStream extends InputStream {
+        private final InputStream delegate;
+        private long remaining;
+
+        private BoundedInputStream(InputStream delegate, long limit) {
+            this.delegate = delegate;
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = delegate.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = delegate.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.cloud.storage_service.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Closed-loop HTTP driver: {@code concurrency} workers issue requests back to back until the
+ * scenario's request count is used up. A request counts as failed on a non-2xx status, on a
+ * JSON envelope whose {@code code} is not 2xx, or on an I/O error.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LoadDriver {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Runs the warm-up requests unmeasured, then the measured requests. Request indices
+     * {@code [0, requests)} are measured; warm-up uses {@code [requests, requests + warmup)} so
+     * key-addressed scenarios (upload, delete) never collide with the measured window.
+     */
+    public ScenarioResult run(String scenario, int concurrency, int warmup, int requests,
+                              IntFunction<HttpRequest> requestFactory) throws InterruptedException {
+        if (warmup > 0) {
+            execute(concurrency, warmup, i -> requestFactory.apply(requests + i), new long[warmup]);
+        }
+
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTime();
+
+        long[] latencies = new long[requests];
+        long started = System.nanoTime();
+        Totals totals = execute(concurrency, requests, requestFactory, latencies);
+        long elapsed = System.nanoTime() - started;
+
+        long heapPeak = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        Arrays.sort(latencies);
+
+        return new ScenarioResult(
+                scenario,
+                concurrency,
+                requests,
+                totals.errors().get(),
+                requests / (elapsed / 1_000_000_000.0),
+                percentile(latencies, 0.50),
+                percentile(latencies, 0.99),
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1] / NANOS_PER_MILLI,
+                totals.bytes().get(),
+                heapUsed,
+                heapPeak,
+                gcCount() - gcCountBefore,
+                gcTime() - gcTimeBefore
+        );
+    }
+
+    private Totals execute(int concurrency, int requests, IntFunction<HttpRequest> requestFactory,
+                           long[] latencies) throws InterruptedException {
+        Totals totals = new Totals(new AtomicInteger(), new AtomicLong());
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            for (int w = 0; w < concurrency; w++) {
+                workers.execute(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < requests) {
+                        long started = System.nanoTime();
+                        try {
+                            totals.bytes().addAndGet(send(requestFactory.apply(index)));
+                        } catch (IOException | RuntimeException e) {
+                            if (totals.errors().getAndIncrement() == 0) {
+                                log.warn("First failure in scenario: {}", e.getMessage());
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        latencies[index] = System.nanoTime() - started;
+                    }
+                });
+            }
+        } finally {
+            workers.shutdown();
+        }
+        if (!workers.awaitTermination(1, TimeUnit.HOURS)) {
+            workers.shutdownNow();
+        }
+        return totals;
+    }
+
+    /**
+     * Sends one request and reads the body to the end, so latency includes the transfer.
+     *
+     * @return body bytes received
+     */
+    private long send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException(request.method() + " " + request.uri().getPath()
+                        + " returned " + response.statusCode());
+            }
+            boolean json = response.headers().firstValue("Content-Type").orElse("").contains("json");
+            if (!json) {
+                return body.transferTo(OutputStream.nullOutputStream());
+            }
+            byte[] bytes = body.readAllBytes();
+            JsonNode code = objectMapper.readTree(bytes).path("code");
+            if (!code.isMissingNode() && code.asInt() / 100 != 2) {
+                throw new IOException(request.method() + " " + request.uri().getPath() + " answered code " + code);
+            }
+            return bytes.length;
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, rank)] / NANOS_PER_MILLI;
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .filter(count -> count > 0)
+                .sum();
+    }
+
+    private static long gcTime() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .filter(time -> time > 0)
+                .sum();
+    }
+
+    private record Totals(AtomicInteger errors, AtomicLong bytes) {
+    }
+}
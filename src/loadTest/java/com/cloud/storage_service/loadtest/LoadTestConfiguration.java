@@ -0,0 +1,40 @@
+package com.cloud.storage_service.loadtest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Replaces the network-facing beans for the load-test profile: S3 is served from the local
+ * filesystem and any bearer token is accepted as the load-test user.
+ */
+@Configuration
+@Profile(LoadTestConfiguration.PROFILE)
+public class LoadTestConfiguration {
+    public static final String PROFILE = "loadtest";
+    public static final String SUBJECT = "loadtest-user";
+
+    @Bean
+    @Primary
+    public FileSystemS3Client loadTestS3Client(@Value("${loadtest.data-dir}") Path dataDir) {
+        return new FileSystemS3Client(dataDir);
+    }
+
+    @Bean
+    @Primary
+    public JwtDecoder loadTestJwtDecoder() {
+        return token -> Jwt.withTokenValue(token)
+                .header("alg", "none")
+                .subject(SUBJECT)
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+    }
+}
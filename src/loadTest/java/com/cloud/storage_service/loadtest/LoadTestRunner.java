@@ -0,0 +1,179 @@
+package com.cloud.storage_service.loadtest;
+
+import com.cloud.storage_service.StorageServiceApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Boots the service on a random local port against {@link FileSystemS3Client}, seeds a data
+ * set and drives the upload, view, range, list, zip and delete scenarios over HTTP. Results
+ * are printed as a table and written as JSON to {@code loadtest.report-file}.
+ *
+ * <p>Runs offline: no bucket, identity provider or external config file is contacted.
+ */
+@Slf4j
+@SuppressWarnings({"PMD.SystemPrintln", "PMD.AvoidInstantiatingObjectsInLoops",
+        "PMD.DoNotCallGarbageCollectionExplicitly"})
+public final class LoadTestRunner {
+    private static final String TOKEN = "Bearer loadtest";
+    private static final String SEED_PREFIX = "loadtest/seed/";
+    private static final String ZIP_PREFIX = "loadtest/zip/";
+    private static final String UPLOAD_PREFIX = "loadtest/upload";
+    private static final String CONTENT_TYPE = "application/octet-stream";
+    private static final String BOUNDARY = "loadtest-boundary";
+
+    private final LoadTestSettings settings;
+    private final String baseUrl;
+    private final byte[] payload;
+    private final byte[] multipartHead;
+
+    private LoadTestRunner(LoadTestSettings settings, String baseUrl) {
+        this.settings = settings;
+        this.baseUrl = baseUrl;
+        this.payload = new byte[settings.objectBytes()];
+        // Incompressible bytes, like the images this service mostly stores
+        new Random(42).nextBytes(payload);
+        this.multipartHead = ("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"files\"; filename=\"")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        FileSystemUtils.deleteRecursively(settings.dataDir());
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(StorageServiceApplication.class)
+                .run(
+                        "--spring.profiles.active=" + LoadTestConfiguration.PROFILE,
+                        "--spring.config.on-not-found=ignore",
+                        "--logging.config=classpath:logback-loadtest.xml",
+                        "--server.port=0",
+                        "--loadtest.data-dir=" + settings.dataDir().toAbsolutePath()
+                );
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String privateApiPath = context.getEnvironment().getRequiredProperty("app.privateApiPath");
+            LoadTestRunner runner = new LoadTestRunner(settings, "http://127.0.0.1:" + port + privateApiPath);
+            runner.seed(context.getBean(FileSystemS3Client.class));
+            runner.report(runner.runScenarios());
+        } finally {
+            context.close();
+            FileSystemUtils.deleteRecursively(settings.dataDir());
+        }
+    }
+
+    private void seed(FileSystemS3Client s3Client) {
+        for (int i = 0; i < settings.seedObjects(); i++) {
+            s3Client.put(SEED_PREFIX + objectName(i), new ByteArrayInputStream(payload), CONTENT_TYPE);
+        }
+        for (int i = 0; i < settings.zipObjects(); i++) {
+            s3Client.put(ZIP_PREFIX + objectName(i), new ByteArrayInputStream(payload), CONTENT_TYPE);
+        }
+        log.info("Seeded {} objects of {} bytes", settings.seedObjects() + settings.zipObjects(),
+                settings.objectBytes());
+    }
+
+    private List<ScenarioResult> runScenarios() throws InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        LoadDriver driver = new LoadDriver(httpClient, new ObjectMapper());
+        Map<String, IntFunction<HttpRequest>> scenarios = Map.of(
+                "upload", this::upload,
+                "view", i -> get("s3/viewFile", "fileName", seedKey(i)).build(),
+                "range", i -> get("s3/viewFile", "fileName", seedKey(i))
+                        .header(HttpHeaders.RANGE, "bytes=0-" + (settings.rangeBytes() - 1))
+                        .build(),
+                "list", i -> get("s3/listFiles", "prefix", SEED_PREFIX).build(),
+                "zip", i -> get("s3/downloadFolder", "fileName", ZIP_PREFIX).build(),
+                "delete", i -> request("s3/deleteFile", "fileName", UPLOAD_PREFIX + "/" + objectName(i))
+                        .DELETE()
+                        .build()
+        );
+
+        List<ScenarioResult> results = new ArrayList<>();
+        for (String scenario : settings.scenarios()) {
+            IntFunction<HttpRequest> requestFactory = scenarios.get(scenario);
+            if (requestFactory == null) {
+                throw new IllegalArgumentException("Unknown scenario '" + scenario + "', expected one of "
+                        + LoadTestSettings.ALL_SCENARIOS);
+            }
+            log.info("Running scenario {} ({} requests, concurrency {})", scenario, settings.requests(),
+                    settings.concurrency());
+            System.gc();
+            results.add(driver.run(scenario, settings.concurrency(), settings.warmupRequests(),
+                    settings.requests(), requestFactory));
+        }
+        return results;
+    }
+
+    private HttpRequest upload(int index) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(payload.length + 256);
+        body.writeBytes(multipartHead);
+        body.writeBytes((objectName(index) + "\"\r\nContent-Type: " + CONTENT_TYPE + "\r\n\r\n")
+                .getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(payload);
+        body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return request("s3/uploadFiles", "prefix", UPLOAD_PREFIX)
+                .header(HttpHeaders.CONTENT_TYPE, "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private HttpRequest.Builder get(String path, String param, String value) {
+        return request(path, param, value).GET();
+    }
+
+    private HttpRequest.Builder request(String path, String param, String value) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path + "?" + param + "="
+                        + URLEncoder.encode(value, StandardCharsets.UTF_8)))
+                .timeout(Duration.ofSeconds(60))
+                .header(HttpHeaders.AUTHORIZATION, TOKEN);
+    }
+
+    private String seedKey(int index) {
+        return SEED_PREFIX + objectName(index % settings.seedObjects());
+    }
+
+    private static String objectName(int index) {
+        return String.format("object-%07d.bin", index);
+    }
+
+    private void report(List<ScenarioResult> results) throws IOException {
+        System.out.println();
+        System.out.println(ScenarioResult.header());
+        results.forEach(result -> System.out.println(result.row()));
+
+        Files.createDirectories(settings.reportFile().toAbsolutePath().getParent());
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(settings.reportFile().toFile(), new Report(settings, results));
+        System.out.println();
+        System.out.println("Report written to " + settings.reportFile().toAbsolutePath());
+    }
+
+    record Report(LoadTestSettings settings, List<ScenarioResult> results) {
+    }
+}
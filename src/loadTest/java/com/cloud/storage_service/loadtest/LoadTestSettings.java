@@ -0,0 +1,47 @@
+package com.cloud.storage_service.loadtest;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Load-test knobs, read from {@code loadtest.*} system properties (the Gradle task forwards
+ * {@code -Ploadtest.*} project properties).
+ */
+public record LoadTestSettings(
+        int concurrency,
+        int requests,
+        int warmupRequests,
+        int objectBytes,
+        int rangeBytes,
+        int seedObjects,
+        int zipObjects,
+        List<String> scenarios,
+        Path dataDir,
+        Path reportFile
+) {
+    public static final List<String> ALL_SCENARIOS = List.of("upload", "view", "range", "list", "zip", "delete");
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                intProperty("concurrency", 16),
+                intProperty("requests", 2000),
+                intProperty("warmup", 200),
+                intProperty("object-bytes", 256 * 1024),
+                intProperty("range-bytes", 64 * 1024),
+                intProperty("seed-objects", 500),
+                intProperty("zip-objects", 20),
+                Arrays.stream(System.getProperty("loadtest.scenarios", String.join(",", ALL_SCENARIOS)).split(","))
+                        .map(String::trim)
+                        .filter(name -> !name.isEmpty())
+                        .toList(),
+                Path.of(System.getProperty("loadtest.data-dir",
+                        Path.of(System.getProperty("java.io.tmpdir"), "storage-loadtest").toString())),
+                Path.of(System.getProperty("loadtest.report-file", "build/reports/loadtest/results.json"))
+        );
+    }
+
+    private static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty("loadtest." + name, Integer.toString(defaultValue)));
+    }
+}
@@ -0,0 +1,33 @@
+package com.cloud.storage_service.loadtest;
+
+/**
+ * Measurements for one scenario run. Latencies are in milliseconds; heap and GC figures are
+ * for the whole JVM (the application and the driver share it) over the measured window.
+ */
+public record ScenarioResult(
+        String scenario,
+        int concurrency,
+        int requests,
+        int errors,
+        double throughputPerSecond,
+        double p50Millis,
+        double p99Millis,
+        double maxMillis,
+        long bytesReceived,
+        long heapUsedAfterBytes,
+        long heapPeakBytes,
+        long gcCount,
+        long gcTimeMillis
+) {
+    static String header() {
+        return String.format("%-8s %6s %7s %6s %10s %9s %9s %9s %10s %10s %6s %8s",
+                "scenario", "conc", "reqs", "errors", "req/s", "p50 ms", "p99 ms", "max ms",
+                "heap MB", "peak MB", "gc #", "gc ms");
+    }
+
+    String row() {
+        return String.format("%-8s %6d %7d %6d %10.1f %9.2f %9.2f %9.2f %10.1f %10.1f %6d %8d",
+                scenario, concurrency, requests, errors, throughputPerSecond, p50Millis, p99Millis, maxMillis,
+                heapUsedAfterBytes / 1048576.0, heapPeakBytes / 1048576.0, gcCount, gcTimeMillis);
+    }
+}
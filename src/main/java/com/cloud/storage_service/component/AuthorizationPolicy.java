@@ -21,6 +21,10 @@ public class AuthorizationPolicy {
                 .anyRequest().authenticated();
     }
 
+    /**
+     * The Prometheus endpoint is deliberately not public: it exposes per-URI traffic, cache
+     * and bucket metrics, so scrapers authenticate like any other client.
+     */
     private String[] publicMatchers() {
         return new String[] {
                 appProperties.getPublicApiPath() + DOUBLE_ASTERISKS,
@@ -0,0 +1,315 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.dto.storage.ObjectChangedEvent;
+import com.cloud.storage_service.dto.storage.ObjectSummaryDto;
+import com.cloud.storage_service.properties.KeyIndexProperties;
+import com.cloud.storage_service.util.KeyIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.cloud.storage_service.constants.GeneralConstant.SLASH;
+import static com.cloud.storage_service.constants.MetricConstants.KEY_INDEX_BYTES;
+import static com.cloud.storage_service.constants.MetricConstants.KEY_INDEX_BYTES_PER_MILLION;
+import static com.cloud.storage_service.constants.MetricConstants.KEY_INDEX_KEYS;
+import static com.cloud.storage_service.constants.MetricConstants.TAG_PROVIDER;
+
+/**
+ * In-memory copy of each provider's bucket keys, used to answer folder listings without an
+ * upstream call. Each provider has a compact immutable {@link KeyIndex} built by
+ * {@link KeyIndexScanner} plus a small overlay of this service's own writes and deletes
+ * since the covering key range was last scanned. Listings merge the two.
+ */
+@Component
+public class BucketKeyIndex {
+    /**
+     * Rough heap cost of one overlay entry: the key, the summary and the skip-list node.
+     */
+    private static final int OVERLAY_ENTRY_BYTES = 256;
+    private static final double MILLION = 1_000_000d;
+
+    private final Map<String, ProviderIndex> indexes = new ConcurrentHashMap<>();
+
+    public BucketKeyIndex(KeyIndexProperties properties, MeterRegistry meterRegistry) {
+        if (properties.isEnabled()) {
+            for (String provider : properties.getProviders()) {
+                ProviderIndex index = new ProviderIndex();
+                indexes.put(provider, index);
+                Gauge.builder(KEY_INDEX_KEYS, index, ProviderIndex::keyCount)
+                        .description("Keys held by the in-memory bucket index")
+                        .tag(TAG_PROVIDER, provider)
+                        .register(meterRegistry);
+                Gauge.builder(KEY_INDEX_BYTES, index, ProviderIndex::memoryBytes)
+                        .description("Approximate heap used by the in-memory bucket index")
+                        .baseUnit("bytes")
+                        .tag(TAG_PROVIDER, provider)
+                        .register(meterRegistry);
+                Gauge.builder(KEY_INDEX_BYTES_PER_MILLION, index, ProviderIndex::bytesPerMillionKeys)
+                        .description("Heap used by the in-memory bucket index per million keys")
+                        .baseUnit("bytes")
+                        .tag(TAG_PROVIDER, provider)
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    public boolean isEnabled(String provider) {
+        return indexes.containsKey(provider);
+    }
+
+    public boolean isReady(String provider) {
+        ProviderIndex index = indexes.get(provider);
+        return index != null && index.ready;
+    }
+
+    /**
+     * Lists the immediate children of {@code prefix}, like a delimiter listing on "/".
+     *
+     * @return the listing, or null when the provider's index is disabled or not built yet
+     */
+    public Listing list(String provider, String prefix) {
+        ProviderIndex index = indexes.get(provider);
+        if (index == null || !index.ready) {
+            return null;
+        }
+        String base = prefix == null ? "" : prefix;
+        List<String> folders = new ArrayList<>();
+        List<ObjectSummaryDto> files = new ArrayList<>();
+
+        KeyIndex snapshot = index.base;
+        KeyIndex.Cursor cursor = snapshot.cursor();
+        cursor.seek(base);
+        String overlayFrom = base;
+        while (true) {
+            String baseKey = cursor.valid() ? cursor.key() : null;
+            if (baseKey != null && !baseKey.startsWith(base)) {
+                baseKey = null;
+            }
+            Map.Entry<String, Change> overlay = index.overlay.ceilingEntry(overlayFrom);
+            if (overlay != null && !overlay.getKey().startsWith(base)) {
+                overlay = null;
+            }
+            if (baseKey == null && overlay == null) {
+                break;
+            }
+
+            String key;
+            ObjectSummaryDto summary;
+            int order = baseKey == null ? 1
+                    : overlay == null ? -1
+                    : KeyIndex.compareKeys(baseKey, overlay.getKey());
+            if (order < 0) {
+                key = baseKey;
+                summary = toSummary(snapshot, cursor.index(), key);
+                cursor.advance();
+            } else {
+                key = overlay.getKey();
+                summary = overlay.getValue().summary();
+                if (order == 0) {
+                    cursor.advance();
+                }
+                overlayFrom = key + '\0';
+            }
+            if (summary == null) {
+                continue;
+            }
+
+            int slash = key.indexOf(SLASH, base.length());
+            if (slash < 0) {
+                files.add(summary);
+                continue;
+            }
+            String folder = key.substring(0, slash + 1);
+            folders.add(folder);
+            // Jump past everything under the folder: '0' is the character right after '/'
+            String next = folder.substring(0, folder.length() - 1) + '0';
+            cursor.seek(next);
+            overlayFrom = next;
+        }
+        return new Listing(folders, files);
+    }
+
+    /**
+     * Looks up a single key.
+     *
+     * @return the object, or null when it does not exist or the provider's index is not built yet
+     */
+    public ObjectSummaryDto find(String provider, String key) {
+        ProviderIndex index = indexes.get(provider);
+        if (index == null || !index.ready) {
+            return null;
+        }
+        Change change = index.overlay.get(key);
+        if (change != null) {
+            return change.summary();
+        }
+        KeyIndex snapshot = index.base;
+        KeyIndex.Cursor cursor = snapshot.cursor();
+        cursor.seek(key);
+        return cursor.valid() && cursor.key().equals(key) ? toSummary(snapshot, cursor.index(), key) : null;
+    }
+
+    /**
+     * Visits every key of the provider in key order.
+     *
+     * @return false, without visiting anything, when the provider's index is disabled or not built yet
+     */
+    public boolean forEach(String provider, EntryVisitor visitor) {
+        ProviderIndex index = indexes.get(provider);
+        if (index == null || !index.ready) {
+            return false;
+        }
+        KeyIndex snapshot = index.base;
+        KeyIndex.Cursor cursor = snapshot.cursor();
+        Iterator<Map.Entry<String, Change>> changes = index.overlay.entrySet().iterator();
+        Map.Entry<String, Change> change = changes.hasNext() ? changes.next() : null;
+        while (cursor.valid() || change != null) {
+            String key = cursor.valid() ? cursor.key() : null;
+            int order = key == null ? 1
+                    : change == null ? -1
+                    : KeyIndex.compareKeys(key, change.getKey());
+            if (order < 0) {
+                int i = cursor.index();
+                visitor.visit(key, snapshot.sizeAt(i), snapshot.lastModifiedAt(i));
+                cursor.advance();
+                continue;
+            }
+            ObjectSummaryDto summary = change.getValue().summary();
+            if (summary != null) {
+                visitor.visit(change.getKey(), summary.getSize(),
+                        summary.getLastModified() != null ? summary.getLastModified().toEpochMilli() : 0L);
+            }
+            if (order == 0) {
+                cursor.advance();
+            }
+            change = changes.hasNext() ? changes.next() : null;
+        }
+        return true;
+    }
+
+    /**
+     * Ordered so that listeners needing the object's previous state can run before this one
+     * and listeners reading the index back can run after it.
+     */
+    @EventListener
+    @Order(0)
+    public void onObjectChanged(ObjectChangedEvent event) {
+        ProviderIndex index = indexes.get(event.provider());
+        if (index != null) {
+            index.overlay.put(event.key(), new Change(index.sequence.incrementAndGet(), event.summary()));
+        }
+    }
+
+    /**
+     * Marks the start of a scan; overlay changes made after this survive the scan's install.
+     */
+    long beginScan(String provider) {
+        return indexes.get(provider).sequence.get();
+    }
+
+    /**
+     * Installs a freshly scanned key range {@code (lower, upper]}, where a null bound is open.
+     * Overlay entries in the range that predate the scan are dropped, as the scan saw them.
+     */
+    void install(String provider, String lower, String upper, KeyIndex scanned, long scanSequence) {
+        ProviderIndex index = indexes.get(provider);
+        synchronized (index) {
+            KeyIndex merged = scanned;
+            if (index.ready) {
+                KeyIndex.Builder builder = KeyIndex.builder();
+                KeyIndex.Cursor cursor = index.base.cursor();
+                if (lower != null) {
+                    copyWhile(builder, index.base, cursor, lower);
+                }
+                KeyIndex.Cursor fresh = scanned.cursor();
+                copyWhile(builder, scanned, fresh, null);
+                if (upper != null) {
+                    cursor.seek(upper + '\0');
+                    copyWhile(builder, index.base, cursor, null);
+                }
+                merged = builder.build();
+            }
+            index.base = merged;
+            index.ready = true;
+
+            NavigableMap<String, Change> range = index.overlay;
+            if (lower != null) {
+                range = range.tailMap(lower, false);
+            }
+            if (upper != null) {
+                range = range.headMap(upper, true);
+            }
+            range.values().removeIf(change -> change.sequence() <= scanSequence);
+        }
+    }
+
+    /**
+     * Copies entries from the cursor while they are at or below {@code limit} (null for all).
+     */
+    private static void copyWhile(KeyIndex.Builder builder, KeyIndex source, KeyIndex.Cursor cursor, String limit) {
+        while (cursor.valid()) {
+            String key = cursor.key();
+            if (limit != null && KeyIndex.compareKeys(key, limit) > 0) {
+                return;
+            }
+            int i = cursor.index();
+            builder.add(key, source.sizeAt(i), source.etagAt(i), source.lastModifiedAt(i));
+            cursor.advance();
+        }
+    }
+
+    private static ObjectSummaryDto toSummary(KeyIndex index, int i, String key) {
+        return ObjectSummaryDto.builder()
+                .key(key)
+                .size(index.sizeAt(i))
+                .etag(index.etagAt(i))
+                .lastModified(Instant.ofEpochMilli(index.lastModifiedAt(i)))
+                .build();
+    }
+
+    /**
+     * Immediate children of a listed prefix, each in key order.
+     */
+    public record Listing(List<String> folders, List<ObjectSummaryDto> files) {
+    }
+
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void visit(String key, long size, long lastModifiedMillis);
+    }
+
+    private record Change(long sequence, ObjectSummaryDto summary) {
+    }
+
+    private static final class ProviderIndex {
+        private final ConcurrentSkipListMap<String, Change> overlay = new ConcurrentSkipListMap<>(KeyIndex.KEY_ORDER);
+        private final AtomicLong sequence = new AtomicLong();
+        private volatile KeyIndex base = KeyIndex.EMPTY;
+        private volatile boolean ready;
+
+        private double keyCount() {
+            return base.size() + overlay.size();
+        }
+
+        private double memoryBytes() {
+            return base.memoryBytes() + (double) OVERLAY_ENTRY_BYTES * overlay.size();
+        }
+
+        private double bytesPerMillionKeys() {
+            double keys = keyCount();
+            return keys == 0 ? 0 : memoryBytes() * MILLION / keys;
+        }
+    }
+}
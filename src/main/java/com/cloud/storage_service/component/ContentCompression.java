@@ -0,0 +1,176 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.properties.CompressionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.util.InvalidMimeTypeException;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static com.cloud.storage_service.constants.GeneralConstant.UNCOMPRESSED_SIZE_METADATA;
+import static com.cloud.storage_service.constants.MetricConstants.COMPRESSION_BYTES_SAVED;
+import static com.cloud.storage_service.constants.MetricConstants.COMPRESSION_OBJECTS;
+import static com.cloud.storage_service.constants.MetricConstants.CompressionResult;
+import static com.cloud.storage_service.constants.MetricConstants.TAG_PROVIDER;
+import static com.cloud.storage_service.constants.MetricConstants.TAG_RESULT;
+
+/**
+ * gzip encoding of compressible uploads. The encoding is recorded in the object's standard
+ * Content-Encoding, so presigned and CDN downloads are decoded by the client like any other
+ * gzip response, and the decoded size in its metadata, so readers that decode can still
+ * announce a length and resolve ranges.
+ */
+@Component
+public class ContentCompression {
+    public static final String GZIP = "gzip";
+    /**
+     * Marks a response that was decoded from a stored encoding, so it varies by
+     * Accept-Encoding but carries no Content-Encoding of its own.
+     */
+    public static final String IDENTITY = "identity";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CompressionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final List<MimeType> contentTypes;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public ContentCompression(CompressionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.contentTypes = properties.getContentTypes().stream().map(MimeTypeUtils::parseMimeType).toList();
+    }
+
+    public boolean shouldCompress(String key, String contentType, long size) {
+        return properties.isEnabled()
+                && size >= properties.getMinBytes() && size <= properties.getMaxBytes()
+                && (properties.getPrefixes().isEmpty() || properties.getPrefixes().stream().anyMatch(key::startsWith))
+                && isCompressible(contentType);
+    }
+
+    /**
+     * @return the gzip-encoded content, or null when it would not save enough to be worth
+     *         storing encoded
+     */
+    public byte[] compress(String provider, InputStream inputStream, long size) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream((int) Math.min(size / 2, BUFFER_SIZE));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed, BUFFER_SIZE) {
+            {
+                def.setLevel(properties.getLevel());
+            }
+        }) {
+            inputStream.transferTo(gzip);
+        }
+        if (compressed.size() > size * properties.getMaxStoredRatio()) {
+            record(provider, CompressionResult.INCOMPRESSIBLE, 0);
+            return null;
+        }
+        record(provider, CompressionResult.COMPRESSED, size - compressed.size());
+        return compressed.toByteArray();
+    }
+
+    public static boolean isGzip(String contentEncoding) {
+        return contentEncoding != null && GZIP.equalsIgnoreCase(contentEncoding.trim());
+    }
+
+    public static InputStream decode(InputStream stored) {
+        try {
+            return new GZIPInputStream(stored, BUFFER_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Stored gzip content is unreadable", e);
+        }
+    }
+
+    /**
+     * @return the decoded size recorded when the object was stored, or null when unknown
+     */
+    public static Long decodedSize(Map<String, String> metadata) {
+        String value = metadata != null ? metadata.get(UNCOMPRESSED_SIZE_METADATA) : null;
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Whether an Accept-Encoding header admits the encoding, honouring q=0 and "*".
+     */
+    public static boolean accepts(String acceptEncoding, String encoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = true;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    accepted = !isZero(parameter.substring(2));
+                }
+            }
+            if (name.equals(encoding)) {
+                return accepted;
+            }
+            if ("*".equals(name)) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MimeType type = MimeTypeUtils.parseMimeType(contentType);
+            return contentTypes.stream().anyMatch(pattern -> pattern.includes(type));
+        } catch (InvalidMimeTypeException e) {
+            return false;
+        }
+    }
+
+    private static boolean isZero(String quality) {
+        try {
+            return Double.parseDouble(quality.trim()) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private void record(String provider, String result, long bytesSaved) {
+        counters.computeIfAbsent(COMPRESSION_OBJECTS + '|' + provider + '|' + result, ignored -> Counter
+                .builder(COMPRESSION_OBJECTS)
+                .description("Compressible uploads by whether they were stored encoded")
+                .tag(TAG_PROVIDER, provider)
+                .tag(TAG_RESULT, result)
+                .register(meterRegistry)).increment();
+        if (bytesSaved > 0) {
+            counters.computeIfAbsent(COMPRESSION_BYTES_SAVED + '|' + provider, ignored -> Counter
+                    .builder(COMPRESSION_BYTES_SAVED)
+                    .description("Bytes not stored because uploads were stored compressed")
+                    .baseUnit("bytes")
+                    .tag(TAG_PROVIDER, provider)
+                    .register(meterRegistry)).increment(bytesSaved);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.properties.DedupProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.cloud.storage_service.constants.GeneralConstant.COLON;
+import static com.cloud.storage_service.constants.MetricConstants.DEDUP_BYTES_SAVED;
+import static com.cloud.storage_service.constants.MetricConstants.DEDUP_OBJECTS;
+import static com.cloud.storage_service.constants.MetricConstants.TAG_PROVIDER;
+import static com.cloud.storage_service.constants.MetricConstants.TAG_RESULT;
+
+/**
+ * Local cache from content digest to a key known to hold that content, for upload
+ * deduplication. The authoritative digest lives in each object's metadata; entries here are
+ * only hints and are verified against that metadata before they are relied on, so a stale
+ * entry after a delete or overwrite costs one HEAD and nothing else.
+ */
+@Component
+public class ContentDigestIndex {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DedupProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, String> keysByDigest;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public ContentDigestIndex(DedupProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.keysByDigest = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxEntries())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, keysByDigest, "contentDigests");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * @return a key that held this content when last seen, or null
+     */
+    public String keyFor(String provider, String digest) {
+        return keysByDigest.getIfPresent(provider + COLON + digest);
+    }
+
+    public void remember(String provider, String digest, String key) {
+        keysByDigest.put(provider + COLON + digest, key);
+    }
+
+    public void forget(String provider, String digest) {
+        keysByDigest.invalidate(provider + COLON + digest);
+    }
+
+    public void recordDeduplicated(String provider, String result, long bytes) {
+        counters.computeIfAbsent(DEDUP_OBJECTS + '|' + provider + '|' + result, ignored -> Counter
+                .builder(DEDUP_OBJECTS)
+                .description("Uploads answered from content that was already stored")
+                .tag(TAG_PROVIDER, provider)
+                .tag(TAG_RESULT, result)
+                .register(meterRegistry)).increment();
+        counters.computeIfAbsent(DEDUP_BYTES_SAVED + '|' + provider + '|' + result, ignored -> Counter
+                .builder(DEDUP_BYTES_SAVED)
+                .description("Upload bytes not sent because the content was already stored")
+                .baseUnit("bytes")
+                .tag(TAG_PROVIDER, provider)
+                .tag(TAG_RESULT, result)
+                .register(meterRegistry)).increment(bytes);
+    }
+
+    /**
+     * Hex SHA-256 of the stream, which is read to the end but not closed.
+     */
+    public static String sha256(InputStream inputStream) throws IOException {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (int read = inputStream.read(buffer); read >= 0; read = inputStream.read(buffer)) {
+            digest.update(buffer, 0, read);
+        }
+        return hex(digest);
+    }
+
+    /**
+     * A digest to feed while the content is read for something else, e.g. through a
+     * {@link java.security.DigestInputStream}; {@link #hex(MessageDigest)} gives its value.
+     */
+    public static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String hex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
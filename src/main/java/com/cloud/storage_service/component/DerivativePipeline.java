@@ -0,0 +1,250 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.dto.storage.ObjectChangedEvent;
+import com.cloud.storage_service.dto.storage.ObjectListingDto;
+import com.cloud.storage_service.dto.storage.ObjectSummaryDto;
+import com.cloud.storage_service.properties.DerivativePipelineProperties;
+import com.cloud.storage_service.properties.ImageDerivativeProperties;
+import com.cloud.storage_service.service.ImageDerivativeService;
+import com.cloud.storage_service.service.ObjectStorageService;
+import com.cloud.storage_service.util.image.ImageTranscoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.cloud.storage_service.constants.GeneralConstant.COLON;
+import static com.cloud.storage_service.constants.MetricConstants.DERIVATIVE_PIPELINE_JOBS;
+import static com.cloud.storage_service.constants.MetricConstants.DERIVATIVE_PIPELINE_LAG;
+import static com.cloud.storage_service.constants.MetricConstants.DERIVATIVE_PIPELINE_OLDEST;
+import static com.cloud.storage_service.constants.MetricConstants.DERIVATIVE_PIPELINE_QUEUE;
+import static com.cloud.storage_service.constants.MetricConstants.PipelineResult;
+import static com.cloud.storage_service.constants.MetricConstants.TAG_PROVIDER;
+import static com.cloud.storage_service.constants.MetricConstants.TAG_RESULT;
+
+/**
+ * Renders the configured image variants of newly uploaded images in the background, so the
+ * first readers find them stored. Each variant of an upload is one job on a bounded queue
+ * served by a small worker pool; a full queue makes uploads wait briefly and then leaves
+ * their variants to the periodic rescan, which also recovers jobs lost to a restart.
+ */
+@Slf4j
+@Component
+@SuppressWarnings({"PMD.AvoidCatchingGenericException"})
+public class DerivativePipeline {
+    private static final int RESCAN_PAGE_SIZE = 1000;
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final DerivativePipelineProperties properties;
+    private final ImageDerivativeProperties derivativeProperties;
+    private final ImageDerivativeService derivativeService;
+    private final ObjectStorageRegistry storageRegistry;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Timer lag;
+
+    public DerivativePipeline(DerivativePipelineProperties properties, ImageDerivativeProperties derivativeProperties,
+                              ImageDerivativeService derivativeService, ObjectStorageRegistry storageRegistry,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.derivativeProperties = derivativeProperties;
+        this.derivativeService = derivativeService;
+        this.storageRegistry = storageRegistry;
+        this.meterRegistry = meterRegistry;
+        this.executor = new ThreadPoolExecutor(
+                properties.getWorkerThreads(), properties.getWorkerThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueSize()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "derivative-pipeline");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                this::waitForRoom);
+        this.lag = Timer.builder(DERIVATIVE_PIPELINE_LAG)
+                .description("Time a derivative job waited in the queue before a worker took it")
+                .register(meterRegistry);
+        Gauge.builder(DERIVATIVE_PIPELINE_QUEUE, executor, pool -> pool.getQueue().size())
+                .description("Derivative jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder(DERIVATIVE_PIPELINE_OLDEST, executor, DerivativePipeline::oldestAgeSeconds)
+                .description("Age of the oldest derivative job still waiting for a worker")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Only queues the jobs, so the upload that published the event is not held up by the
+     * renders; it waits only while the queue is full, up to the enqueue timeout.
+     */
+    @EventListener
+    public void onObjectChanged(ObjectChangedEvent event) {
+        if (!event.isDeleted() && isEnabled(event.provider())
+                && isEligible(event.key(), event.summary().getContentType())) {
+            enqueue(event.provider(), event.summary());
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.derivative-pipeline.rescan-delay:PT1M}",
+            fixedDelayString = "${app.derivative-pipeline.rescan-interval:PT6H}")
+    public void rescan() {
+        if (!properties.isEnabled() || !derivativeProperties.isEnabled()) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(properties.getRescanWindow());
+        for (String provider : properties.getProviders()) {
+            try {
+                int queued = rescan(provider, storageRegistry.get(provider), cutoff);
+                if (queued >= 0) {
+                    log.info("Derivative rescan of {} queued {} recent images", provider, queued);
+                } else {
+                    log.info("Derivative queue is full, rescan of {} continues on the next run", provider);
+                }
+            } catch (Exception e) {
+                log.warn("Derivative rescan of {} failed: {}", provider, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return images queued, or -1 when the queue filled up and the scan stopped early
+     */
+    private int rescan(String provider, ObjectStorageService storage, Instant cutoff) {
+        int queued = 0;
+        for (String prefix : properties.getPrefixes()) {
+            String startAfter = null;
+            do {
+                ObjectListingDto page = storage.listObjects(prefix, startAfter, RESCAN_PAGE_SIZE);
+                for (ObjectSummaryDto object : page.getObjects()) {
+                    if (object.getLastModified() == null || object.getLastModified().isBefore(cutoff)
+                            || !isEligible(object.getKey(), object.getContentType())) {
+                        continue;
+                    }
+                    if (!enqueue(provider, object)) {
+                        return -1;
+                    }
+                    queued++;
+                }
+                startAfter = page.getNextStartAfter();
+            } while (startAfter != null);
+        }
+        return queued;
+    }
+
+    private boolean isEnabled(String provider) {
+        return properties.isEnabled() && derivativeProperties.isEnabled()
+                && properties.getProviders().contains(provider);
+    }
+
+    private boolean isEligible(String key, String contentType) {
+        return !key.startsWith(derivativeProperties.getDerivedPrefix())
+                && properties.getPrefixes().stream().anyMatch(key::startsWith)
+                && ImageTranscoder.isReadableImage(key, contentType);
+    }
+
+    /**
+     * Queues one job per configured variant, skipping those already queued.
+     *
+     * @return false when a job could not be queued because the queue stayed full
+     */
+    private boolean enqueue(String provider, ObjectSummaryDto source) {
+        for (DerivativePipelineProperties.Variant variant : properties.getVariants()) {
+            String jobKey = provider + COLON + source.getKey() + COLON + source.getEtag() + COLON + variant.getName();
+            if (!pending.add(jobKey)) {
+                continue;
+            }
+            try {
+                executor.execute(new Job(jobKey, provider, source, variant, System.nanoTime()));
+            } catch (RejectedExecutionException e) {
+                pending.remove(jobKey);
+                record(provider, PipelineResult.DROPPED);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Backpressure: runs on the submitting thread when every worker is busy and the queue is
+     * full, and waits a bounded time for a slot.
+     */
+    private void waitForRoom(Runnable job, ThreadPoolExecutor pool) {
+        try {
+            if (!pool.isShutdown() && pool.getQueue().offer(job, properties.getEnqueueTimeout().toMillis(),
+                    TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new RejectedExecutionException("Derivative queue is full");
+    }
+
+    private void record(String provider, String result) {
+        counters.computeIfAbsent(provider + '|' + result, ignored -> Counter
+                .builder(DERIVATIVE_PIPELINE_JOBS)
+                .description("Background derivative jobs by outcome")
+                .tag(TAG_PROVIDER, provider)
+                .tag(TAG_RESULT, result)
+                .register(meterRegistry)).increment();
+    }
+
+    private static double oldestAgeSeconds(ThreadPoolExecutor pool) {
+        return pool.getQueue().peek() instanceof Job job ? (System.nanoTime() - job.enqueuedAt) / NANOS_PER_SECOND : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private final class Job implements Runnable {
+        private final String jobKey;
+        private final String provider;
+        private final ObjectSummaryDto source;
+        private final DerivativePipelineProperties.Variant variant;
+        private final long enqueuedAt;
+
+        private Job(String jobKey, String provider, ObjectSummaryDto source,
+                    DerivativePipelineProperties.Variant variant, long enqueuedAt) {
+            this.jobKey = jobKey;
+            this.provider = provider;
+            this.source = source;
+            this.variant = variant;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        @Override
+        public void run() {
+            lag.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+            try {
+                boolean rendered = derivativeService.prepare(provider, source, variant.getWidth(),
+                        variant.getQuality(), variant.getFormat());
+                record(provider, rendered ? PipelineResult.RENDERED : PipelineResult.EXISTING);
+            } catch (Exception e) {
+                record(provider, PipelineResult.FAILED);
+                log.warn("Rendering the {} variant of {} failed: {}", variant.getName(), source.getKey(),
+                        e.getMessage());
+            } finally {
+                pending.remove(jobKey);
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.dto.storage.ObjectListingDto;
+import com.cloud.storage_service.dto.storage.ObjectSummaryDto;
+import com.cloud.storage_service.properties.KeyIndexProperties;
+import com.cloud.storage_service.service.ObjectStorageService;
+import com.cloud.storage_service.util.KeyIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fills {@link BucketKeyIndex} from flat listings. The key space is cut into ranges; the
+ * initial build lists every range in parallel, and afterwards one range per provider is
+ * rescanned each interval, so objects written by other clients show up within
+ * {@code partitions x rescan-interval} at a fraction of the listing cost.
+ * <p>
+ * Keys usually share a long prefix (everything may sit under {@code webtoons-content/}), so
+ * the ranges of the initial build are cut below the longest prefix common to all keys, at
+ * the characters that actually follow it, found with a few single-key listings. Once a
+ * build is done the ranges are re-cut at the index's quantiles, so rescans cover equal
+ * numbers of keys.
+ */
+@Slf4j
+@Component
+@SuppressWarnings({"PMD.AvoidInstantiatingObjectsInLoops"})
+public class KeyIndexScanner {
+    /**
+     * Sorts after every key that starts with what it is appended to.
+     */
+    private static final String AFTER_PREFIX = new String(Character.toChars(Character.MAX_CODE_POINT));
+    private static final int MAX_SAMPLES = 256;
+
+    private final ObjectStorageRegistry storageRegistry;
+    private final BucketKeyIndex keyIndex;
+    private final KeyIndexProperties properties;
+    private final Map<String, List<String>> boundaries = new ConcurrentHashMap<>();
+    private final Map<String, Integer> nextPartition = new ConcurrentHashMap<>();
+    private final Set<String> building = ConcurrentHashMap.newKeySet();
+    private final ExecutorService scanExecutor;
+
+    public KeyIndexScanner(ObjectStorageRegistry storageRegistry, BucketKeyIndex keyIndex,
+                           KeyIndexProperties properties) {
+        this.storageRegistry = storageRegistry;
+        this.keyIndex = keyIndex;
+        this.properties = properties;
+        this.scanExecutor = properties.isEnabled()
+                ? Executors.newFixedThreadPool(Math.max(1, properties.getScanParallelism()))
+                : null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndexes() {
+        if (properties.isEnabled()) {
+            properties.getProviders().forEach(this::build);
+        }
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.key-index.rescan-interval:PT1M}",
+            fixedDelayString = "${app.key-index.rescan-interval:PT1M}")
+    public void rescanNextPartition() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (String provider : properties.getProviders()) {
+            if (!keyIndex.isReady(provider)) {
+                // The initial build failed; start over rather than patching an empty index
+                build(provider);
+                continue;
+            }
+            List<String> bounds = boundaries.getOrDefault(provider, List.of());
+            int partition = nextPartition.merge(provider, 1, (current, one) -> (current + one) % (bounds.size() + 1));
+            try {
+                long sequence = keyIndex.beginScan(provider);
+                KeyIndex scanned = scan(provider, lower(bounds, partition), upper(bounds, partition));
+                keyIndex.install(provider, lower(bounds, partition), upper(bounds, partition), scanned, sequence);
+            } catch (RuntimeException e) {
+                log.warn("Rescan of {} key range {} failed: {}", provider, partition, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scanExecutor != null) {
+            scanExecutor.shutdownNow();
+        }
+    }
+
+    private void build(String provider) {
+        if (!building.add(provider)) {
+            return;
+        }
+        long started = System.nanoTime();
+        long sequence = keyIndex.beginScan(provider);
+        CompletableFuture.supplyAsync(() -> boundaries.computeIfAbsent(provider, this::sampleBoundaries), scanExecutor)
+                .thenCompose(bounds -> {
+                    List<CompletableFuture<KeyIndex>> ranges = new ArrayList<>();
+                    for (int partition = 0; partition <= bounds.size(); partition++) {
+                        String lower = lower(bounds, partition);
+                        String upper = upper(bounds, partition);
+                        ranges.add(CompletableFuture.supplyAsync(() -> scan(provider, lower, upper), scanExecutor));
+                    }
+                    return CompletableFuture.allOf(ranges.toArray(CompletableFuture[]::new))
+                            .thenApply(ignored -> merge(ranges));
+                })
+                .thenAccept(index -> {
+                    keyIndex.install(provider, null, null, index, sequence);
+                    boundaries.put(provider, quantiles(index));
+                    log.info("Indexed {} {} keys in {} ms using {} KiB ({} bytes per million keys)",
+                            index.size(), provider, (System.nanoTime() - started) / 1_000_000,
+                            index.memoryBytes() / 1024,
+                            index.size() == 0 ? 0 : index.memoryBytes() * 1_000_000 / index.size());
+                })
+                .whenComplete((ignored, failure) -> {
+                    building.remove(provider);
+                    if (failure != null) {
+                        log.warn("Building the {} key index failed, retrying on the next rescan", provider, failure);
+                    }
+                });
+    }
+
+    private static KeyIndex merge(List<CompletableFuture<KeyIndex>> ranges) {
+        KeyIndex.Builder builder = KeyIndex.builder();
+        for (CompletableFuture<KeyIndex> range : ranges) {
+            KeyIndex part = range.join();
+            for (KeyIndex.Cursor cursor = part.cursor(); cursor.valid(); cursor.advance()) {
+                int i = cursor.index();
+                builder.add(cursor.key(), part.sizeAt(i), part.etagAt(i), part.lastModifiedAt(i));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Boundaries for a provider that has no index yet: the longest prefix common to all keys,
+     * extended by each character that follows it, spread evenly over the partitions.
+     */
+    private List<String> sampleBoundaries(String provider) {
+        int partitions = partitions();
+        ObjectStorageService storage = storageRegistry.get(provider);
+        String first = firstKeyAfter(storage, null);
+        if (partitions == 1 || first == null) {
+            return List.of();
+        }
+        String prefix = commonPrefix(storage, first);
+        List<String> starts = new ArrayList<>();
+        String key = first;
+        while (key != null && starts.size() < MAX_SAMPLES) {
+            if (key.length() == prefix.length()) {
+                key = firstKeyAfter(storage, key);
+                continue;
+            }
+            String start = key.substring(0, key.offsetByCodePoints(prefix.length(), 1));
+            starts.add(start);
+            key = firstKeyAfter(storage, start + AFTER_PREFIX);
+        }
+        List<String> bounds = new ArrayList<>();
+        for (int i = 1; i < partitions && i < starts.size(); i++) {
+            String bound = starts.get(i * starts.size() / partitions);
+            if (bounds.isEmpty() || !bounds.get(bounds.size() - 1).equals(bound)) {
+                bounds.add(bound);
+            }
+        }
+        log.info("Partitioned {} keys under \"{}\" at {}", provider, prefix, bounds);
+        return List.copyOf(bounds);
+    }
+
+    /**
+     * The longest prefix of {@code first}, the first key of the bucket, that every key shares:
+     * no key sorts after the prefix's own range. Binary search, one listing per step.
+     */
+    private static String commonPrefix(ObjectStorageService storage, String first) {
+        int low = 0;
+        int high = first.length();
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (firstKeyAfter(storage, first.substring(0, mid) + AFTER_PREFIX) == null) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (low > 0 && Character.isHighSurrogate(first.charAt(low - 1))) {
+            low--;
+        }
+        return first.substring(0, low);
+    }
+
+    private static String firstKeyAfter(ObjectStorageService storage, String startAfter) {
+        List<ObjectSummaryDto> objects = storage.listObjects("", startAfter, 1).getObjects();
+        return objects.isEmpty() ? null : objects.get(0).getKey();
+    }
+
+    /**
+     * Boundaries that split the index into partitions of equal key counts.
+     */
+    private List<String> quantiles(KeyIndex index) {
+        int partitions = partitions();
+        List<String> bounds = new ArrayList<>();
+        KeyIndex.Cursor cursor = index.cursor();
+        for (int i = 1; i < partitions && index.size() >= partitions; i++) {
+            cursor.moveTo((int) ((long) i * index.size() / partitions));
+            String bound = cursor.key();
+            if (bounds.isEmpty() || !bounds.get(bounds.size() - 1).equals(bound)) {
+                bounds.add(bound);
+            }
+        }
+        return List.copyOf(bounds);
+    }
+
+    /**
+     * Lists the key range {@code (lower, upper]}; a null bound is open.
+     */
+    private KeyIndex scan(String provider, String lower, String upper) {
+        ObjectStorageService storage = storageRegistry.get(provider);
+        KeyIndex.Builder builder = KeyIndex.builder();
+        String startAfter = lower;
+        do {
+            ObjectListingDto page = storage.listObjects("", startAfter, properties.getPageSize());
+            for (ObjectSummaryDto object : page.getObjects()) {
+                if (upper != null && KeyIndex.compareKeys(object.getKey(), upper) > 0) {
+                    return builder.build();
+                }
+                builder.add(object.getKey(), object.getSize(), object.getEtag(),
+                        object.getLastModified() != null ? object.getLastModified().toEpochMilli() : 0L);
+            }
+            startAfter = page.getNextStartAfter();
+        } while (startAfter != null);
+        return builder.build();
+    }
+
+    private int partitions() {
+        return Math.max(1, properties.getPartitions());
+    }
+
+    private static String lower(List<String> bounds, int partition) {
+        return partition == 0 ? null : bounds.get(partition - 1);
+    }
+
+    private static String upper(List<String> bounds, int partition) {
+        return partition == bounds.size() ? null : bounds.get(partition);
+    }
+}
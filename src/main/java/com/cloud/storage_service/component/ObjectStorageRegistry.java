@@ -0,0 +1,31 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.exception.WebException;
+import com.cloud.storage_service.service.ObjectStorageService;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves object store implementations by their provider name.
+ */
+@Component
+public class ObjectStorageRegistry {
+    private final Map<String, ObjectStorageService> providers;
+
+    public ObjectStorageRegistry(List<ObjectStorageService> services) {
+        this.providers = services.stream()
+                .collect(Collectors.toUnmodifiableMap(ObjectStorageService::getProviderName, Function.identity()));
+    }
+
+    public ObjectStorageService get(String providerName) {
+        ObjectStorageService service = providerName == null ? null : providers.get(providerName.toLowerCase());
+        if (service == null) {
+            throw new WebException("Unknown storage provider: " + providerName);
+        }
+        return service;
+    }
+}
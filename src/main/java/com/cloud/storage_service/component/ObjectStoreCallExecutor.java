@@ -0,0 +1,65 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.constants.MetricConstants;
+import com.cloud.storage_service.dto.RequestTiming;
+import com.cloud.storage_service.exception.StorageUnavailableException;
+import com.cloud.storage_service.util.function.ThrowingRunnable;
+import com.cloud.storage_service.util.function.ThrowingSupplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single entry point for every call made to an object store client. Each call is timed
+ * and counted as in flight under its provider and operation, and added to the current
+ * request's {@link RequestTiming} as a {@code provider-operation} phase.
+ *
+ * <p>Calls hold a slot in the provider's bulkhead and pass its circuit breaker. Idempotent
+ * calls are retried on transient failures and slow reads may be hedged; the timing covers
+ * all attempts. A transient failure that outlasts the retries, a full bulkhead and an open
+ * circuit are all rethrown as {@link StorageUnavailableException}.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ObjectStoreCallExecutor {
+    private final StorageMetrics storageMetrics;
+    private final ObjectStoreRetrier retrier;
+    private final ObjectStoreHedger hedger;
+    private final ObjectStoreIsolation isolation;
+
+    public <T, E extends Exception> T execute(String provider, String operation,
+                                              ThrowingSupplier<T, E> call) throws E {
+        AtomicInteger inFlight = storageMetrics.inFlight(provider, operation);
+        inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        String outcome = MetricConstants.Outcome.SUCCESS;
+        try {
+            return isolation.limitConcurrency(provider, () -> retrier.execute(provider, operation,
+                    () -> isolation.guardFailures(provider, () -> hedger.execute(provider, operation, call))));
+        } catch (Exception e) {
+            if (ObjectStoreIsolation.isRejection(e)) {
+                outcome = MetricConstants.Outcome.REJECTED;
+                throw new StorageUnavailableException(provider + " " + operation + " rejected: " + e.getMessage(), e);
+            }
+            outcome = StorageMetrics.outcomeOf(e);
+            if (ObjectStoreRetrier.isRetryable(e)) {
+                throw new StorageUnavailableException(provider + " " + operation + " failed: " + e.getMessage(), e);
+            }
+            throw e;
+        } finally {
+            long duration = System.nanoTime() - start;
+            inFlight.decrementAndGet();
+            storageMetrics.timer(provider, operation, outcome).record(duration, TimeUnit.NANOSECONDS);
+            RequestTiming.current().record(provider + '-' + operation, duration);
+        }
+    }
+
+    public <E extends Exception> void run(String provider, String operation, ThrowingRunnable<E> call) throws E {
+        execute(provider, operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package com.cloud.storage_service.component;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports each provider's circuit breaker and bulkhead under {@code /actuator/health}.
+ * A provider whose circuit is not closed makes the service DEGRADED rather than DOWN: the
+ * other provider still serves traffic, so the instance must not be restarted or pulled
+ * out of rotation because of it.
+ */
+@Component
+@RequiredArgsConstructor
+public class ObjectStoreHealthIndicator implements HealthIndicator {
+    public static final Status DEGRADED = new Status("DEGRADED", "A storage provider is being isolated");
+
+    private final ObjectStoreIsolation isolation;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up();
+        for (String provider : isolation.providers()) {
+            CircuitBreaker circuitBreaker = isolation.circuitBreaker(provider);
+            Bulkhead bulkhead = isolation.bulkhead(provider);
+            CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("circuitState", circuitBreaker.getState());
+            details.put("failureRate", metrics.getFailureRate());
+            details.put("slowCallRate", metrics.getSlowCallRate());
+            details.put("bufferedCalls", metrics.getNumberOfBufferedCalls());
+            details.put("notPermittedCalls", metrics.getNumberOfNotPermittedCalls());
+            details.put("bulkheadAvailable", bulkhead.getMetrics().getAvailableConcurrentCalls());
+            details.put("bulkheadMax", bulkhead.getMetrics().getMaxAllowedConcurrentCalls());
+            builder.withDetail(provider, details);
+
+            if (circuitBreaker.getState() != CircuitBreaker.State.CLOSED
+                    && circuitBreaker.getState() != CircuitBreaker.State.DISABLED) {
+                builder.status(DEGRADED);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,206 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.constants.MetricConstants;
+import com.cloud.storage_service.properties.ResilienceProperties;
+import com.cloud.storage_service.util.LatencyWindow;
+import com.cloud.storage_service.util.TokenBucket;
+import com.cloud.storage_service.util.function.ThrowingSupplier;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.http.Abortable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hedges slow idempotent reads: when a call has not answered within an adaptive delay (a
+ * high percentile of recent latencies for the same provider and operation), a second
+ * identical call is sent and whichever succeeds first is used. The loser's result is
+ * aborted or closed when it arrives. Hedges draw on a budget refilled by ordinary calls,
+ * so they never add more than {@code budget-ratio} extra load.
+ *
+ * <p>For GETs the client returns once response headers arrive, so the delay measures time
+ * to first byte rather than the whole transfer.</p>
+ */
+@Slf4j
+@Component
+@SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.PreserveStackTrace"})
+public class ObjectStoreHedger {
+    private static final long WINDOW_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final ResilienceProperties resilienceProperties;
+    private final StorageMetrics storageMetrics;
+    private final ExecutorService hedgeExecutor;
+    private final ConcurrentMap<String, LatencyWindow> windows = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TokenBucket> budgets = new ConcurrentHashMap<>();
+
+    public ObjectStoreHedger(ResilienceProperties resilienceProperties, StorageMetrics storageMetrics) {
+        this.resilienceProperties = resilienceProperties;
+        this.storageMetrics = storageMetrics;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hedgeExecutor = new ThreadPoolExecutor(0, resilienceProperties.getHedging().getMaxConcurrency(),
+                60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "object-store-hedge-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public <T, E extends Exception> T execute(String provider, String operation,
+                                              ThrowingSupplier<T, E> call) throws E {
+        ResilienceProperties.Hedging hedging = resilienceProperties.getHedging();
+        if (!hedging.isEnabled() || !hedging.getOperations().contains(operation)) {
+            return call.get();
+        }
+
+        String key = provider + '|' + operation;
+        LatencyWindow window = windows.computeIfAbsent(key,
+                ignored -> new LatencyWindow(hedging.getWindowSize(), WINDOW_REFRESH_NANOS));
+        TokenBucket budget = budgets.computeIfAbsent(key, ignored -> new TokenBucket(hedging.getBudgetCapacity()));
+        budget.deposit(hedging.getBudgetRatio());
+
+        long delay = hedgeDelayNanos(hedging, window);
+        CompletableFuture<T> primary = submit(call, window);
+        if (primary == null) {
+            // Hedge pool saturated: run the call unhedged on the caller's thread
+            return call.get();
+        }
+
+        try {
+            if (delay < 0) {
+                return await(primary);
+            }
+            return primary.get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException slow) {
+            return hedge(provider, operation, call, window, budget, primary);
+        } catch (ExecutionException e) {
+            throw this.<E>rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primary.thenAccept(ObjectStoreHedger::discard);
+            throw new IllegalStateException("Interrupted waiting for " + provider + " " + operation, e);
+        }
+    }
+
+    private <T, E extends Exception> T hedge(String provider, String operation, ThrowingSupplier<T, E> call,
+                                             LatencyWindow window, TokenBucket budget,
+                                             CompletableFuture<T> primary) throws E {
+        if (!budget.tryAcquire()) {
+            storageMetrics.recordHedge(provider, operation, MetricConstants.HedgeResult.NO_BUDGET);
+            return await(primary);
+        }
+        CompletableFuture<T> secondary = submit(call, window);
+        if (secondary == null) {
+            return await(primary);
+        }
+
+        CompletableFuture<Answer<T>> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((value, failure) -> settle(winner, failures, new Answer<>(value, false), failure));
+        secondary.whenComplete((value, failure) -> settle(winner, failures, new Answer<>(value, true), failure));
+        Answer<T> answer = this.<Answer<T>, E>await(winner);
+        storageMetrics.recordHedge(provider, operation, answer.hedged()
+                ? MetricConstants.HedgeResult.WON
+                : MetricConstants.HedgeResult.LOST);
+        return answer.value();
+    }
+
+    /**
+     * The first success wins; the call only fails once both requests have failed.
+     */
+    private static <T> void settle(CompletableFuture<Answer<T>> winner, AtomicInteger failures,
+                                   Answer<T> answer, Throwable failure) {
+        if (failure == null) {
+            if (!winner.complete(answer)) {
+                discard(answer.value());
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            winner.completeExceptionally(failure);
+        }
+    }
+
+    private <T, E extends Exception> CompletableFuture<T> submit(ThrowingSupplier<T, E> call, LatencyWindow window) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            hedgeExecutor.execute(() -> {
+                long start = System.nanoTime();
+                try {
+                    T value = call.get();
+                    window.record(System.nanoTime() - start);
+                    future.complete(value);
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+        return future;
+    }
+
+    private <T, E extends Exception> T await(CompletableFuture<T> future) throws E {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw this.<E>rethrow(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.thenAccept(ObjectStoreHedger::discard);
+            throw new IllegalStateException("Interrupted waiting for object store call", e);
+        }
+    }
+
+    private static long hedgeDelayNanos(ResilienceProperties.Hedging hedging, LatencyWindow window) {
+        long percentile = window.percentile(hedging.getDelayPercentile(), hedging.getMinSamples());
+        if (percentile < 0) {
+            return -1;
+        }
+        return Math.max(hedging.getMinDelay().toNanos(), Math.min(hedging.getMaxDelay().toNanos(), percentile));
+    }
+
+    /**
+     * Releases a result nobody will read, e.g. the losing GET stream.
+     */
+    private static void discard(Object value) {
+        try {
+            if (value instanceof Abortable abortable) {
+                abortable.abort();
+            }
+            if (value instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        } catch (Exception e) {
+            log.debug("Failed to release hedged result", e);
+        }
+    }
+
+    /**
+     * Rethrows a failure of the wrapped call. The call only throws {@code E} or unchecked
+     * exceptions, so the cast cannot widen what the caller has to handle.
+     */
+    @SuppressWarnings("unchecked")
+    private <E extends Exception> E rethrow(Throwable failure) throws E {
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        throw (E) failure;
+    }
+
+    private record Answer<T>(T value, boolean hedged) {
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hedgeExecutor.shutdownNow();
+    }
+}
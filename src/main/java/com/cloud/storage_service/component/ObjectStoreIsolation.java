@@ -0,0 +1,129 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.constants.GeneralConstant;
+import com.cloud.storage_service.properties.ResilienceProperties;
+import com.cloud.storage_service.util.function.ThrowingSupplier;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Per-provider bulkheads and circuit breakers, so a degraded backend is cut off instead of
+ * tying up request threads that the other provider's traffic needs.
+ *
+ * <p>The bulkhead caps concurrent calls to a provider and rejects the excess immediately.
+ * The circuit breaker opens when transient failures (see
+ * {@link ObjectStoreRetrier#isRetryable(Throwable)}) or slow calls exceed their thresholds
+ * and rejects calls until trial calls succeed again; missing keys and other client errors
+ * count as successes. Both are published as resilience4j meters and through
+ * {@link ObjectStoreHealthIndicator}.</p>
+ */
+@Component
+public class ObjectStoreIsolation {
+    private static final List<String> PROVIDERS = List.of(GeneralConstant.Provider.MINIO, GeneralConstant.Provider.S3);
+
+    private final ResilienceProperties resilienceProperties;
+    private final BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    public ObjectStoreIsolation(ResilienceProperties resilienceProperties, MeterRegistry meterRegistry) {
+        this.resilienceProperties = resilienceProperties;
+        this.circuitBreakerRegistry = CircuitBreakerRegistry.of(
+                circuitBreakerConfig(resilienceProperties.getCircuitBreaker()));
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        // Register known providers up front so health and metrics show them before the first call
+        PROVIDERS.forEach(provider -> {
+            bulkhead(provider);
+            circuitBreaker(provider);
+        });
+    }
+
+    /**
+     * Runs the call holding one of the provider's bulkhead slots.
+     *
+     * @throws BulkheadFullException when every slot is taken
+     */
+    public <T, E extends Exception> T limitConcurrency(String provider, ThrowingSupplier<T, E> call) throws E {
+        if (!resilienceProperties.getBulkhead().isEnabled()) {
+            return call.get();
+        }
+        Bulkhead bulkhead = bulkhead(provider);
+        bulkhead.acquirePermission();
+        try {
+            return call.get();
+        } finally {
+            bulkhead.onComplete();
+        }
+    }
+
+    /**
+     * Runs the call through the provider's circuit breaker, recording its outcome and duration.
+     *
+     * @throws CallNotPermittedException while the circuit is open
+     */
+    public <T, E extends Exception> T guardFailures(String provider, ThrowingSupplier<T, E> call) throws E {
+        if (!resilienceProperties.getCircuitBreaker().isEnabled()) {
+            return call.get();
+        }
+        CircuitBreaker circuitBreaker = circuitBreaker(provider);
+        circuitBreaker.acquirePermission();
+        long start = circuitBreaker.getCurrentTimestamp();
+        try {
+            T result = call.get();
+            circuitBreaker.onSuccess(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit());
+            return result;
+        } catch (Exception e) {
+            circuitBreaker.onError(circuitBreaker.getCurrentTimestamp() - start, circuitBreaker.getTimestampUnit(), e);
+            throw e;
+        }
+    }
+
+    public Bulkhead bulkhead(String provider) {
+        return bulkheadRegistry.bulkhead(provider, () -> BulkheadConfig.custom()
+                .maxConcurrentCalls(resilienceProperties.getBulkhead().maxConcurrentCallsFor(provider))
+                .maxWaitDuration(resilienceProperties.getBulkhead().getMaxWait())
+                .build());
+    }
+
+    public CircuitBreaker circuitBreaker(String provider) {
+        return circuitBreakerRegistry.circuitBreaker(provider);
+    }
+
+    public List<String> providers() {
+        return PROVIDERS;
+    }
+
+    /**
+     * Whether the failure is a rejection by a bulkhead or an open circuit rather than a backend error.
+     */
+    public static boolean isRejection(Throwable failure) {
+        return failure instanceof BulkheadFullException || failure instanceof CallNotPermittedException;
+    }
+
+    private static CircuitBreakerConfig circuitBreakerConfig(ResilienceProperties.CircuitBreaker settings) {
+        return CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(settings.getSlidingWindowSize())
+                .minimumNumberOfCalls(settings.getMinimumNumberOfCalls())
+                .failureRateThreshold(settings.getFailureRateThreshold())
+                .slowCallRateThreshold(settings.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(settings.getSlowCallDuration())
+                .waitDurationInOpenState(settings.getWaitInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(settings.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(ObjectStoreRetrier::isRetryable)
+                .build();
+    }
+}
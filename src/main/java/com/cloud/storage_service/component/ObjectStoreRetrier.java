@@ -0,0 +1,105 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.properties.ResilienceProperties;
+import com.cloud.storage_service.util.TokenBucket;
+import com.cloud.storage_service.util.function.ThrowingSupplier;
+import io.minio.errors.ErrorResponseException;
+import io.minio.errors.ServerException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Retries idempotent object store calls that failed transiently (I/O errors, timeouts,
+ * throttling, 5xx) with full-jitter exponential backoff. Retries draw on a per-provider
+ * budget refilled by successful calls, so a backend that is failing broadly sees at most
+ * {@code budget-ratio} extra load instead of a retry storm.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ObjectStoreRetrier {
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVER_ERROR = 500;
+    private static final Set<String> RETRYABLE_MINIO_CODES = Set.of(
+            "SlowDown", "InternalError", "ServiceUnavailable", "RequestTimeout");
+
+    private final ResilienceProperties resilienceProperties;
+    private final StorageMetrics storageMetrics;
+    private final ConcurrentMap<String, TokenBucket> budgets = new ConcurrentHashMap<>();
+
+    public <T, E extends Exception> T execute(String provider, String operation,
+                                              ThrowingSupplier<T, E> call) throws E {
+        ResilienceProperties.Retry retry = resilienceProperties.getRetry();
+        if (!retry.isEnabled() || !retry.getOperations().contains(operation)) {
+            return call.get();
+        }
+
+        TokenBucket budget = budgets.computeIfAbsent(provider,
+                ignored -> new TokenBucket(retry.getBudgetCapacity()));
+        int attempt = 1;
+        while (true) {
+            try {
+                T result = call.get();
+                budget.deposit(retry.getBudgetRatio());
+                return result;
+            } catch (Exception e) {
+                if (attempt >= retry.getMaxAttempts() || !isRetryable(e) || !budget.tryAcquire()) {
+                    throw e;
+                }
+                long backoff = backoffMillis(retry, attempt);
+                log.debug("Retrying {} {} after {} ms (attempt {}): {}", provider, operation, backoff, attempt,
+                        e.getMessage());
+                storageMetrics.recordRetry(provider, operation);
+                if (!sleep(backoff)) {
+                    throw e;
+                }
+                attempt++;
+            }
+        }
+    }
+
+    /**
+     * Transient failures only: a missing key, a failed precondition or a rejected request
+     * will fail the same way again.
+     */
+    public static boolean isRetryable(Throwable failure) {
+        if (failure instanceof AwsServiceException awsException) {
+            return awsException.statusCode() >= SERVER_ERROR
+                    || awsException.statusCode() == TOO_MANY_REQUESTS
+                    || awsException.isThrottlingException();
+        }
+        if (failure instanceof ErrorResponseException minioException) {
+            return RETRYABLE_MINIO_CODES.contains(minioException.errorResponse().code());
+        }
+        return failure instanceof SdkClientException
+                || failure instanceof ServerException
+                || failure instanceof IOException
+                || failure instanceof UncheckedIOException;
+    }
+
+    private static long backoffMillis(ResilienceProperties.Retry retry, int attempt) {
+        long ceiling = Math.min(retry.getMaxDelay().toMillis(),
+                retry.getBaseDelay().toMillis() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.constants.GeneralConstant;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.cloud.storage_service.constants.MetricConstants.PoolState;
+
+/**
+ * Feeds the S3Client's per-call HTTP pool samples (leased, available, pending acquires and
+ * acquire wait) into the storage.client.pool.* meters. The SDK only reports pool state while
+ * calls are made, so gauges hold the state seen by the most recent call.
+ */
+@Component
+@RequiredArgsConstructor
+public class S3ConnectionPoolMetricPublisher implements MetricPublisher {
+    private static final String PROVIDER = GeneralConstant.Provider.S3;
+
+    private final StorageMetrics storageMetrics;
+
+    @Override
+    public void publish(MetricCollection metricCollection) {
+        record(metricCollection.metricValues(HttpMetric.LEASED_CONCURRENCY), PoolState.LEASED);
+        record(metricCollection.metricValues(HttpMetric.AVAILABLE_CONCURRENCY), PoolState.IDLE);
+        record(metricCollection.metricValues(HttpMetric.PENDING_CONCURRENCY_ACQUIRES), PoolState.PENDING);
+        record(metricCollection.metricValues(HttpMetric.MAX_CONCURRENCY), PoolState.MAX);
+        for (Duration acquire : metricCollection.metricValues(HttpMetric.CONCURRENCY_ACQUIRE_DURATION)) {
+            storageMetrics.connectionAcquire(PROVIDER).record(acquire);
+        }
+        metricCollection.children().forEach(this::publish);
+    }
+
+    private void record(List<Integer> samples, String state) {
+        if (!samples.isEmpty()) {
+            storageMetrics.connectionPool(PROVIDER, state).set(samples.get(samples.size() - 1));
+        }
+    }
+
+    @Override
+    public void close() {
+        // Meters are owned by the registry
+    }
+}
@@ -0,0 +1,465 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.config.aws.S3Configuration;
+import com.cloud.storage_service.constants.GeneralConstant;
+import com.cloud.storage_service.constants.MetricConstants;
+import com.cloud.storage_service.properties.ChecksumProperties;
+import com.cloud.storage_service.properties.CoalescingProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ChecksumMode;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Single-flight GETs against S3. Concurrent reads of the same key, version and range
+ * share one upstream request: a pump thread copies the body into a bounded ring of chunks
+ * and every reader consumes it at its own pace. The pump only reuses a slot once every
+ * reader has consumed it, so it never reads further ahead of the leading reader than the
+ * ring holds, and a single reader streams like a plain GET. A reader a full ring behind the
+ * leader is let go and transparently continues with its own ranged GET, pinned to the same
+ * ETag, so a slow client stalls the others for at most one ring.
+ */
+@Slf4j
+@Component
+@SuppressWarnings({
+        "PMD.AvoidCatchingGenericException",
+        "PMD.CloseResource"})
+public class S3ReadCoalescer {
+    private static final Pattern SIMPLE_RANGE = Pattern.compile("^bytes=(\\d+)-(\\d*)$");
+
+    private final S3Client s3Client;
+    private final S3Configuration s3Configuration;
+    private final CoalescingProperties properties;
+    private final ObjectStoreCallExecutor callExecutor;
+    private final ChecksumProperties checksumProperties;
+    private final ConcurrentHashMap<FlightKey, Flight> flights = new ConcurrentHashMap<>();
+    private final ExecutorService pumpExecutor;
+
+    public S3ReadCoalescer(S3Client s3Client, S3Configuration s3Configuration, CoalescingProperties properties,
+                           ObjectStoreCallExecutor callExecutor, ChecksumProperties checksumProperties) {
+        this.s3Client = s3Client;
+        this.s3Configuration = s3Configuration;
+        this.properties = properties;
+        this.callExecutor = callExecutor;
+        this.checksumProperties = checksumProperties;
+        this.pumpExecutor = new ThreadPoolExecutor(0, properties.getMaxFlights(), 30L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "s3-read-coalescer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Opens the object, joining an in-flight fetch of the same key, version and range when
+     * its beginning is still buffered.
+     *
+     * @param key       object key
+     * @param versionId optional object version
+     * @param range     optional HTTP range, e.g. {@code bytes=0-1023}
+     * @return the object stream; the caller must close it
+     */
+    public ResponseInputStream<GetObjectResponse> open(String key, String versionId, String range) {
+        if (!properties.isEnabled() || range != null && !SIMPLE_RANGE.matcher(range).matches()) {
+            return getObject(request(key, versionId, range, null));
+        }
+
+        FlightKey flightKey = new FlightKey(key, versionId, range);
+        while (true) {
+            Flight flight = flights.computeIfAbsent(flightKey, Flight::new);
+            Subscriber subscriber = new Subscriber(flight);
+            if (!flight.join(subscriber)) {
+                // Raced with the flight becoming unjoinable; it removes itself, so retry
+                flights.remove(flightKey, flight);
+                continue;
+            }
+            if (flight.startIfNew()) {
+                try {
+                    pumpExecutor.execute(flight::pump);
+                } catch (RejectedExecutionException e) {
+                    flights.remove(flightKey, flight);
+                    flight.fail(e);
+                    return getObject(request(key, versionId, range, null));
+                }
+            }
+            GetObjectResponse response = flight.awaitResponse(subscriber);
+            return new ResponseInputStream<>(response, AbortableInputStream.create(subscriber));
+        }
+    }
+
+    private ResponseInputStream<GetObjectResponse> getObject(GetObjectRequest request) {
+        return callExecutor.execute(GeneralConstant.Provider.S3, MetricConstants.Operation.GET,
+                () -> s3Client.getObject(request));
+    }
+
+    private GetObjectRequest request(String key, String versionId, String range, String ifMatch) {
+        return GetObjectRequest.builder()
+                .bucket(s3Configuration.getBucketName())
+                .key(key)
+                .versionId(versionId)
+                .range(range)
+                .ifMatch(ifMatch)
+                // Whole-object reads ask for the stored CRC32C so the caller can verify the body
+                .checksumMode(range == null && checksumProperties.isEnabled() ? ChecksumMode.ENABLED : null)
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pumpExecutor.shutdownNow();
+    }
+
+    private record FlightKey(String key, String versionId, String range) {
+    }
+
+    /**
+     * One shared upstream GET and its ring buffer of chunks.
+     */
+    private final class Flight {
+        private final FlightKey flightKey;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final Condition consumed = lock.newCondition();
+        private final int chunkSize = properties.getChunkBytes();
+        private final byte[][] ring = new byte[Math.max(2, properties.getBufferBytes() / chunkSize)][];
+        private final List<Subscriber> subscribers = new ArrayList<>();
+        private GetObjectResponse response;
+        private RuntimeException failure;
+        private long written;
+        private long evictedBytes;
+        private boolean complete;
+        private boolean started;
+
+        Flight(FlightKey flightKey) {
+            this.flightKey = flightKey;
+        }
+
+        boolean join(Subscriber subscriber) {
+            lock.lock();
+            try {
+                if (evictedBytes > 0 || failure != null || complete && subscribers.isEmpty()) {
+                    return false;
+                }
+                subscribers.add(subscriber);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        boolean startIfNew() {
+            lock.lock();
+            try {
+                boolean isNew = !started;
+                started = true;
+                return isNew;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void pump() {
+            ResponseInputStream<GetObjectResponse> upstream = null;
+            try {
+                upstream = getObject(request(flightKey.key(), flightKey.versionId(), flightKey.range(), null));
+                publishResponse(upstream.response());
+
+                int read;
+                do {
+                    byte[] chunk = currentChunk();
+                    if (chunk == null) {
+                        upstream.abort();
+                        return;
+                    }
+                    int offset = (int) (written % chunkSize);
+                    read = upstream.read(chunk, offset, chunkSize - offset);
+                    if (read > 0) {
+                        publish(read);
+                    }
+                } while (read >= 0);
+                finish();
+            } catch (IOException e) {
+                fail(new UncheckedIOException(e));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(new IllegalStateException("Shared S3 fetch interrupted", e));
+            } catch (RuntimeException e) {
+                fail(e);
+            } finally {
+                flights.remove(flightKey, this);
+                closeQuietly(upstream);
+            }
+        }
+
+        /**
+         * Returns the chunk the pump writes next, or null once every subscriber has gone. When
+         * the ring is full the oldest chunk is reused, but only after every subscriber has read
+         * it: until then the pump waits, which paces it by its readers. A subscriber still on
+         * the oldest chunk once the leading one has read everything buffered is a full ring
+         * behind; it is let go, to continue with its own GET, rather than stall the rest.
+         */
+        private byte[] currentChunk() throws InterruptedException {
+            lock.lock();
+            try {
+                long chunkNumber = written / chunkSize;
+                int slot = (int) (chunkNumber % ring.length);
+                if (written % chunkSize == 0 && chunkNumber >= ring.length) {
+                    long oldestEnd = written - (long) (ring.length - 1) * chunkSize;
+                    while (!releaseSlot(oldestEnd)) {
+                        consumed.await();
+                    }
+                    evictedBytes = oldestEnd;
+                    flights.remove(flightKey, this);
+                }
+                if (subscribers.isEmpty()) {
+                    return abandon();
+                }
+                if (ring[slot] == null) {
+                    ring[slot] = new byte[chunkSize];
+                }
+                return ring[slot];
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * @param oldestEnd end of the chunk about to be overwritten
+         * @return whether no subscriber still needs it
+         */
+        private boolean releaseSlot(long oldestEnd) {
+            long leader = 0;
+            for (Subscriber subscriber : subscribers) {
+                leader = Math.max(leader, subscriber.position);
+            }
+            boolean free = true;
+            for (int i = subscribers.size() - 1; i >= 0; i--) {
+                Subscriber subscriber = subscribers.get(i);
+                if (subscriber.position < oldestEnd) {
+                    if (leader == written) {
+                        subscriber.behind = true;
+                        subscribers.remove(i);
+                    } else {
+                        free = false;
+                    }
+                }
+            }
+            return free;
+        }
+
+        private byte[] abandon() {
+            // Abandoned by every reader; make sure nobody joins a fetch that is being aborted
+            failure = new IllegalStateException("Shared S3 fetch abandoned");
+            changed.signalAll();
+            return null;
+        }
+
+        private void publishResponse(GetObjectResponse upstreamResponse) {
+            lock.lock();
+            try {
+                response = upstreamResponse;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void publish(int bytes) {
+            lock.lock();
+            try {
+                written += bytes;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void finish() {
+            lock.lock();
+            try {
+                complete = true;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void fail(RuntimeException e) {
+            lock.lock();
+            try {
+                failure = e;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        GetObjectResponse awaitResponse(Subscriber subscriber) {
+            lock.lock();
+            try {
+                while (response == null && failure == null) {
+                    changed.awaitUninterruptibly();
+                }
+                if (response == null) {
+                    subscribers.remove(subscriber);
+                    throw failure;
+                }
+                return response;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Copies buffered bytes at the subscriber's position and advances it.
+         *
+         * @return bytes copied, -1 at end of stream, or -2 when the subscriber was let go
+         */
+        int read(Subscriber subscriber, byte[] target, int offset, int length) throws IOException {
+            lock.lock();
+            try {
+                long position = subscriber.position;
+                while (position >= written && !complete && failure == null) {
+                    changed.await();
+                }
+                if (subscriber.behind || position < evictedBytes) {
+                    return -2;
+                }
+                if (position < written) {
+                    int slot = (int) ((position / chunkSize) % ring.length);
+                    int chunkOffset = (int) (position % chunkSize);
+                    int available = (int) Math.min(written - position, chunkSize - chunkOffset);
+                    int count = Math.min(length, available);
+                    System.arraycopy(ring[slot], chunkOffset, target, offset, count);
+                    subscriber.position += count;
+                    consumed.signal();
+                    return count;
+                }
+                if (failure != null) {
+                    throw new IOException("Shared S3 fetch failed", failure);
+                }
+                return -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for S3 data");
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void leave(Subscriber subscriber) {
+            lock.lock();
+            try {
+                if (subscribers.remove(subscriber)) {
+                    consumed.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * A reader of a flight. Switches to an independent ranged GET once it has been let go for
+     * falling a full ring behind. Its position is guarded by the flight's lock.
+     */
+    private final class Subscriber extends InputStream {
+        private final Flight flight;
+        private long position;
+        private boolean behind;
+        private InputStream fallback;
+        private boolean closed;
+
+        Subscriber(Flight flight) {
+            this.flight = flight;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            int read = read(single, 0, 1);
+            return read == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            Objects.checkFromIndexSize(offset, length, target.length);
+            if (length == 0) {
+                return 0;
+            }
+            if (fallback == null) {
+                int read = flight.read(this, target, offset, length);
+                if (read != -2) {
+                    return read;
+                }
+                // The pump already dropped it from the flight's subscribers
+                fallback = openFallback();
+            }
+            return fallback.read(target, offset, length);
+        }
+
+        private InputStream openFallback() {
+            FlightKey key = flight.flightKey;
+            long start = position;
+            String end = "";
+            if (key.range() != null) {
+                Matcher matcher = SIMPLE_RANGE.matcher(key.range());
+                if (matcher.matches()) {
+                    start += Long.parseLong(matcher.group(1));
+                    end = matcher.group(2);
+                }
+            }
+            log.debug("Reader of {} fell a full ring behind at byte {}, fetching independently",
+                    key.key(), position);
+            return getObject(request(key.key(), key.versionId(), "bytes=" + start + "-" + end,
+                    flight.response.eTag()));
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (fallback != null) {
+                fallback.close();
+            } else {
+                flight.leave(this);
+            }
+        }
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        if (inputStream == null) {
+            return;
+        }
+        try {
+            inputStream.close();
+        } catch (IOException e) {
+            log.debug("Ignoring failure closing upstream stream: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.dto.RequestTiming;
+import com.cloud.storage_service.properties.TimingProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Starts a {@link RequestTiming} for every request, ahead of the security filters so JWT
+ * decoding is included. The {@code Server-Timing} header is added just before the response
+ * commits; whatever happens after that (body serialization or streaming) only reaches the
+ * per-request log line.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final TimingProperties timingProperties;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !timingProperties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        RequestTiming timing = RequestTiming.begin();
+        TimingResponseWrapper wrapper = new TimingResponseWrapper(response, timing,
+                timingProperties.isHeaderEnabled());
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            if (wrapper.commitNanos > 0 && !timing.hasPhase(RequestTiming.TRANSFER)) {
+                timing.record(RequestTiming.SERIALIZE, System.nanoTime() - wrapper.commitNanos);
+            }
+            if (timingProperties.isLogEnabled()) {
+                log.info("request_timing requestId={} method={} uri={} status={} {}",
+                        timing.getRequestId(), request.getMethod(), request.getRequestURI(),
+                        response.getStatus(), timing.toLogString());
+            }
+            RequestTiming.clear();
+        }
+    }
+
+    private static final class TimingResponseWrapper extends HttpServletResponseWrapper {
+        private final RequestTiming timing;
+        private final boolean headerEnabled;
+        private long commitNanos;
+
+        TimingResponseWrapper(HttpServletResponse response, RequestTiming timing, boolean headerEnabled) {
+            super(response);
+            this.timing = timing;
+            this.headerEnabled = headerEnabled;
+        }
+
+        private void beforeCommit() {
+            if (commitNanos == 0) {
+                commitNanos = System.nanoTime();
+                if (headerEnabled && !isCommitted()) {
+                    setHeader(SERVER_TIMING_HEADER, timing.toServerTimingHeader());
+                }
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            beforeCommit();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            beforeCommit();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            beforeCommit();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            beforeCommit();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            beforeCommit();
+            super.sendError(sc);
+        }
+    }
+}
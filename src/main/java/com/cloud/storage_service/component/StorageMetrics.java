@@ -0,0 +1,172 @@
+package com.cloud.storage_service.component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.minio.errors.ErrorResponseException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.cloud.storage_service.constants.MetricConstants.CHECKSUM_VERIFICATIONS;
+import static com.cloud.storage_service.constants.MetricConstants.CLIENT_HEDGES;
+import static com.cloud.storage_service.constants.MetricConstants.CLIENT_IN_FLIGHT;
+import static com.cloud.storage_service.constants.MetricConstants.CLIENT_REQUESTS;
+import static com.cloud.storage_service.constants.MetricConstants.CLIENT_RETRIES;
+import static com.cloud.storage_service.constants.MetricConstants.ChecksumResult;
+import static com.cloud.storage_service.constants.MetricConstants.Direction;
+import static com.cloud.storage_service.constants.MetricConstants.Outcome;
+import static com.cloud.storage_service.constants.MetricConstants.POOL_ACQUIRE;
+import static com.cloud.storage_service.constants.MetricConstants.POOL_CONNECTIONS;
+import static com.cloud.storage_service.constants.MetricConstants.TAG_DIRECTION;
+import static com.cloud.storage_service.constants.MetricConstants.TAG_OPERATION;
+import static com.cloud.storage_service.constants.MetricConstants.TAG_OUTCOME;
+import static com.cloud.storage_service.constants.MetricConstants.TAG_PROVIDER;
+import static com.cloud.storage_service.constants.MetricConstants.TAG_RESULT;
+import static com.cloud.storage_service.constants.MetricConstants.TAG_STATE;
+import static com.cloud.storage_service.constants.MetricConstants.TRANSFER_BYTES;
+
+/**
+ * Meters for object store calls: latency histograms per provider/operation/outcome,
+ * in-flight gauges, transferred byte counters and HTTP connection pool usage.
+ */
+@Component
+@RequiredArgsConstructor
+public class StorageMetrics {
+    private static final Duration[] SLO_BOUNDARIES = {
+            Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+            Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(5)
+    };
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> byteCounters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicInteger> poolStates = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> callCounters = new ConcurrentHashMap<>();
+
+    public Timer timer(String provider, String operation, String outcome) {
+        return timers.computeIfAbsent(provider + '|' + operation + '|' + outcome, ignored -> Timer
+                .builder(CLIENT_REQUESTS)
+                .description("Latency of object store calls, up to the first response byte for reads")
+                .tag(TAG_PROVIDER, provider)
+                .tag(TAG_OPERATION, operation)
+                .tag(TAG_OUTCOME, outcome)
+                .publishPercentileHistogram()
+                .serviceLevelObjectives(SLO_BOUNDARIES)
+                .register(meterRegistry));
+    }
+
+    public AtomicInteger inFlight(String provider, String operation) {
+        return inFlight.computeIfAbsent(provider + '|' + operation, ignored -> {
+            AtomicInteger value = new AtomicInteger();
+            Gauge.builder(CLIENT_IN_FLIGHT, value, AtomicInteger::get)
+                    .description("Object store calls currently in progress")
+                    .tag(TAG_PROVIDER, provider)
+                    .tag(TAG_OPERATION, operation)
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+
+    /**
+     * Pool gauge fed by pushed samples, for clients that report pool state per call.
+     */
+    public AtomicInteger connectionPool(String provider, String state) {
+        return poolStates.computeIfAbsent(provider + '|' + state, ignored -> {
+            AtomicInteger value = new AtomicInteger();
+            connectionPool(provider, state, value::get);
+            return value;
+        });
+    }
+
+    /**
+     * Pool gauge read on scrape, for clients whose pool can be queried directly.
+     */
+    public void connectionPool(String provider, String state, Supplier<Number> value) {
+        Gauge.builder(POOL_CONNECTIONS, value)
+                .description("HTTP connections to the object store by pool state")
+                .tag(TAG_PROVIDER, provider)
+                .tag(TAG_STATE, state)
+                .register(meterRegistry);
+    }
+
+    public Timer connectionAcquire(String provider) {
+        return timers.computeIfAbsent(provider + "|pool-acquire", ignored -> Timer
+                .builder(POOL_ACQUIRE)
+                .description("Time spent waiting for a pooled HTTP connection")
+                .tag(TAG_PROVIDER, provider)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    public void recordRetry(String provider, String operation) {
+        callCounters.computeIfAbsent(CLIENT_RETRIES + '|' + provider + '|' + operation, ignored -> Counter
+                .builder(CLIENT_RETRIES)
+                .description("Object store calls retried after a transient failure")
+                .tag(TAG_PROVIDER, provider)
+                .tag(TAG_OPERATION, operation)
+                .register(meterRegistry)).increment();
+    }
+
+    public void recordHedge(String provider, String operation, String result) {
+        callCounters.computeIfAbsent(CLIENT_HEDGES + '|' + provider + '|' + operation + '|' + result, ignored -> Counter
+                .builder(CLIENT_HEDGES)
+                .description("Slow object store reads that triggered a hedged request, by which request answered")
+                .tag(TAG_PROVIDER, provider)
+                .tag(TAG_OPERATION, operation)
+                .tag(TAG_RESULT, result)
+                .register(meterRegistry)).increment();
+    }
+
+    public void recordChecksum(String provider, String direction, boolean match) {
+        String result = match ? ChecksumResult.MATCH : ChecksumResult.MISMATCH;
+        callCounters.computeIfAbsent(CHECKSUM_VERIFICATIONS + '|' + provider + '|' + direction + '|' + result,
+                ignored -> Counter
+                        .builder(CHECKSUM_VERIFICATIONS)
+                        .description("Transfers whose checksum was verified, by whether it matched")
+                        .tag(TAG_PROVIDER, provider)
+                        .tag(TAG_DIRECTION, direction)
+                        .tag(TAG_RESULT, result)
+                        .register(meterRegistry)).increment();
+    }
+
+    public void recordUpload(String provider, long bytes) {
+        bytes(provider, Direction.UPLOAD).increment(bytes);
+    }
+
+    public void recordDownload(String provider, long bytes) {
+        bytes(provider, Direction.DOWNLOAD).increment(bytes);
+    }
+
+    private Counter bytes(String provider, String direction) {
+        return byteCounters.computeIfAbsent(provider + '|' + direction, ignored -> Counter
+                .builder(TRANSFER_BYTES)
+                .description("Bytes transferred to or from the object store")
+                .baseUnit("bytes")
+                .tag(TAG_PROVIDER, provider)
+                .tag(TAG_DIRECTION, direction)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Classifies a failure: missing objects and rejected requests are client errors,
+     * everything else (timeouts, 5xx, I/O) is an error.
+     */
+    public static String outcomeOf(Throwable failure) {
+        if (failure instanceof AwsServiceException awsException && awsException.statusCode() < 500) {
+            return Outcome.CLIENT_ERROR;
+        }
+        if (failure instanceof ErrorResponseException) {
+            return Outcome.CLIENT_ERROR;
+        }
+        return Outcome.ERROR;
+    }
+}
@@ -0,0 +1,64 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.properties.SyncProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Persists the last key a sync has fully processed, so an interrupted sync can
+ * resume its merge-join from that key instead of rescanning both prefixes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SyncCheckpointStore {
+    private final SyncProperties syncProperties;
+
+    public String load(String syncId) {
+        Path path = checkpointPath(syncId);
+        if (!Files.exists(path)) {
+            return null;
+        }
+
+        try {
+            String checkpoint = Files.readString(path, StandardCharsets.UTF_8);
+            return checkpoint.isEmpty() ? null : checkpoint;
+        } catch (IOException e) {
+            log.warn("Unable to read sync checkpoint {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    public void save(String syncId, String lastKey) {
+        Path path = checkpointPath(syncId);
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            Files.writeString(temp, lastKey, StandardCharsets.UTF_8);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // A lost checkpoint only costs a rescan, so the sync itself keeps going
+            log.warn("Unable to write sync checkpoint {}: {}", path, e.getMessage());
+        }
+    }
+
+    public void clear(String syncId) {
+        try {
+            Files.deleteIfExists(checkpointPath(syncId));
+        } catch (IOException e) {
+            log.warn("Unable to clear sync checkpoint {}: {}", syncId, e.getMessage());
+        }
+    }
+
+    private Path checkpointPath(String syncId) {
+        return Paths.get(syncProperties.getCheckpointDir(), syncId + ".checkpoint");
+    }
+}
@@ -0,0 +1,138 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.exception.ServiceOverloadedException;
+import com.cloud.storage_service.properties.AdmissionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.cloud.storage_service.constants.MetricConstants.ADMISSION_REJECTED;
+import static com.cloud.storage_service.constants.MetricConstants.ADMISSION_RESERVED;
+import static com.cloud.storage_service.constants.MetricConstants.ADMISSION_WAIT;
+
+/**
+ * Global memory budget for in-flight transfers. Uploads, streamed downloads and ZIP builds
+ * reserve the bytes they will hold before doing any work; when the budget is exhausted a
+ * request queues for up to {@code queue-timeout} and is then refused with
+ * {@link ServiceOverloadedException}, so a burst degrades into 503s instead of an OOM.
+ *
+ * <p>The budget is a fair semaphore counted in KiB, so large reservations are not starved
+ * by a stream of small ones. A reservation larger than the whole budget is clamped to it
+ * and runs alone.</p>
+ */
+@Slf4j
+@Component
+public class TransferAdmissionController {
+    public static final String REQUEST_RESERVATIONS = TransferAdmissionController.class.getName() + ".reservations";
+    private static final int KIB = 1024;
+
+    private final AdmissionProperties admissionProperties;
+    private final int budgetKib;
+    private final Semaphore budget;
+    private final Counter rejected;
+    private final Timer waits;
+
+    public TransferAdmissionController(AdmissionProperties admissionProperties, MeterRegistry meterRegistry) {
+        this.admissionProperties = admissionProperties;
+        this.budgetKib = (int) Math.min(Integer.MAX_VALUE,
+                Math.max(1, admissionProperties.resolveMemoryBudgetBytes() / KIB));
+        this.budget = new Semaphore(budgetKib, true);
+        Gauge.builder(ADMISSION_RESERVED, budget, b -> (double) (budgetKib - b.availablePermits()) * KIB)
+                .description("Bytes currently reserved by in-flight transfers")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(ADMISSION_REJECTED)
+                .description("Transfers refused because the memory budget stayed exhausted")
+                .register(meterRegistry);
+        this.waits = Timer.builder(ADMISSION_WAIT)
+                .description("Time transfers queued for memory budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserves budget for the caller, who must close the reservation.
+     *
+     * @throws ServiceOverloadedException when the budget does not free up within the queue timeout
+     */
+    public Reservation acquire(long bytes) {
+        if (!admissionProperties.isEnabled()) {
+            return new Reservation(0);
+        }
+        int permits = (int) Math.min(budgetKib, Math.max(1, (bytes + KIB - 1) / KIB));
+        if (budget.tryAcquire(permits)) {
+            return new Reservation(permits);
+        }
+
+        long start = System.nanoTime();
+        try {
+            boolean acquired = budget.tryAcquire(permits, admissionProperties.getQueueTimeout().toNanos(),
+                    TimeUnit.NANOSECONDS);
+            waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (acquired) {
+                return new Reservation(permits);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        throw new ServiceOverloadedException("Server is busy, " + bytes + " bytes of transfer budget unavailable",
+                admissionProperties.getRetryAfter());
+    }
+
+    /**
+     * Reserves budget that is held until the current HTTP request completes, for transfers
+     * whose buffers outlive the service call (e.g. a ZIP the controller writes afterwards).
+     * Outside a request the reservation is released immediately.
+     */
+    public void acquireForRequest(long bytes) {
+        Reservation reservation = acquire(bytes);
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            log.debug("No current request to hold a {} byte reservation", bytes);
+            reservation.close();
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Reservation> reservations = (List<Reservation>) attributes.getAttribute(REQUEST_RESERVATIONS,
+                RequestAttributes.SCOPE_REQUEST);
+        if (reservations == null) {
+            reservations = new ArrayList<>();
+            attributes.setAttribute(REQUEST_RESERVATIONS, reservations, RequestAttributes.SCOPE_REQUEST);
+        }
+        reservations.add(reservation);
+    }
+
+    public long streamReservationBytes() {
+        return admissionProperties.getStreamReservationBytes();
+    }
+
+    /**
+     * Budget held by one transfer; closing it more than once is harmless.
+     */
+    public final class Reservation implements AutoCloseable {
+        private final int permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Reservation(int permits) {
+            this.permits = permits;
+        }
+
+        @Override
+        public void close() {
+            if (permits > 0 && released.compareAndSet(false, true)) {
+                budget.release(permits);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.exception.ServiceOverloadedException;
+import com.cloud.storage_service.properties.AdmissionProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Admits multipart uploads against the transfer budget by their declared length before the
+ * body is parsed, and releases every reservation a request took once it completes.
+ */
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class TransferAdmissionFilter extends OncePerRequestFilter {
+    private final AdmissionProperties admissionProperties;
+    private final TransferAdmissionController admissionController;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !admissionProperties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        TransferAdmissionController.Reservation upload = null;
+        try {
+            if (isMultipart(request) && request.getContentLengthLong() > 0) {
+                upload = admissionController.acquire(request.getContentLengthLong());
+            }
+        } catch (ServiceOverloadedException e) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfter().toSeconds()));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write(e.getMessage());
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (upload != null) {
+                upload.close();
+            }
+            releaseRequestReservations(request);
+        }
+    }
+
+    private static boolean isMultipart(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.toLowerCase().startsWith(MediaType.MULTIPART_FORM_DATA_VALUE);
+    }
+
+    private static void releaseRequestReservations(HttpServletRequest request) {
+        Object reservations = request.getAttribute(TransferAdmissionController.REQUEST_RESERVATIONS);
+        if (reservations instanceof List<?> list) {
+            list.forEach(reservation -> ((TransferAdmissionController.Reservation) reservation).close());
+            request.removeAttribute(TransferAdmissionController.REQUEST_RESERVATIONS);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.dto.storage.UploadSession;
+import com.cloud.storage_service.properties.ResumableUploadProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Open resumable upload sessions, held in memory and mirrored to one small JSON file each,
+ * so uploads can resume and idle sessions still get cleaned up after a restart.
+ * Callers mutate a session only while holding its monitor and then {@link #save} it.
+ */
+@Slf4j
+@Component
+public class UploadSessionStore {
+    private static final String EXTENSION = ".json";
+
+    private final ObjectMapper objectMapper;
+    private final Path sessionDir;
+    private final ConcurrentHashMap<String, UploadSession> sessions = new ConcurrentHashMap<>();
+
+    public UploadSessionStore(ResumableUploadProperties properties, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.sessionDir = Paths.get(properties.getSessionDir());
+        load();
+    }
+
+    public UploadSession get(String sessionId) {
+        return sessionId == null ? null : sessions.get(sessionId);
+    }
+
+    public void save(UploadSession session) {
+        sessions.put(session.getSessionId(), session);
+        Path path = sessionPath(session.getSessionId());
+        try {
+            Files.createDirectories(sessionDir);
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), session);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // The session keeps working from memory; only a restart would lose it
+            log.warn("Unable to persist upload session {}: {}", session.getSessionId(), e.getMessage());
+        }
+    }
+
+    public void remove(String sessionId) {
+        sessions.remove(sessionId);
+        try {
+            Files.deleteIfExists(sessionPath(sessionId));
+        } catch (IOException e) {
+            log.warn("Unable to remove upload session {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    public List<UploadSession> idleSince(Instant cutoff) {
+        return sessions.values().stream()
+                .filter(session -> session.getLastActivity().isBefore(cutoff))
+                .toList();
+    }
+
+    private void load() {
+        if (!Files.isDirectory(sessionDir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(sessionDir, "*" + EXTENSION)) {
+            for (Path file : files) {
+                try {
+                    UploadSession session = objectMapper.readValue(file.toFile(), UploadSession.class);
+                    session.refreshCommittedOffset();
+                    sessions.put(session.getSessionId(), session);
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable upload session {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to read upload sessions from {}: {}", sessionDir, e.getMessage());
+        }
+        log.info("Loaded {} open upload sessions", sessions.size());
+    }
+
+    private Path sessionPath(String sessionId) {
+        return sessionDir.resolve(sessionId + EXTENSION);
+    }
+}
@@ -0,0 +1,148 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.properties.AppProperties;
+import com.cloud.storage_service.properties.QuotaProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link UserQuotaManager} to API requests: a request over the user's rate is
+ * answered with 429 and {@code Retry-After}; an admitted request gets an output stream that
+ * paces every write to the user's bandwidth, so the controllers' streaming copy loops and
+ * ZIP writes are throttled smoothly instead of being cut off.
+ * <p>
+ * Runs after the Spring Security chain and keys quotas on the authenticated subject, never
+ * on anything the client merely asserts; anonymous requests are keyed on the remote address.
+ */
+@Component
+@RequiredArgsConstructor
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class UserQuotaFilter extends OncePerRequestFilter {
+    private final QuotaProperties quotaProperties;
+    private final AppProperties appProperties;
+    private final UserQuotaManager quotaManager;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!quotaProperties.isEnabled()) {
+            return true;
+        }
+        String uri = request.getRequestURI();
+        return !startsWith(uri, appProperties.getPrivateApiPath())
+                && !startsWith(uri, appProperties.getPublicApiPath());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String userKey = userKey(request);
+
+        long wait = quotaManager.tryAcquireRequest(userKey);
+        if (wait > 0) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(TimeUnit.NANOSECONDS.toSeconds(wait) + 1));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Request rate limit exceeded");
+            return;
+        }
+        filterChain.doFilter(request, new ThrottledResponseWrapper(response, userKey));
+    }
+
+    private static String userKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return "ip:" + request.getRemoteAddr();
+        }
+        // The JWT subject for bearer-token requests
+        return "user:" + authentication.getName();
+    }
+
+    private static boolean startsWith(String uri, String path) {
+        return path != null && !path.isEmpty() && uri.startsWith(path);
+    }
+
+    private final class ThrottledResponseWrapper extends HttpServletResponseWrapper {
+        private final String userKey;
+        private ServletOutputStream outputStream;
+
+        ThrottledResponseWrapper(HttpServletResponse response, String userKey) {
+            super(response);
+            this.userKey = userKey;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new ThrottledOutputStream(super.getOutputStream(), userKey);
+            }
+            return outputStream;
+        }
+    }
+
+    private final class ThrottledOutputStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private final String userKey;
+
+        ThrottledOutputStream(ServletOutputStream delegate, String userKey) {
+            this.delegate = delegate;
+            this.userKey = userKey;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            quotaManager.awaitBandwidth(userKey, 1);
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) throws IOException {
+            int chunk = quotaProperties.getThrottleChunkBytes();
+            for (int written = 0; written < length; written += chunk) {
+                int size = Math.min(chunk, length - written);
+                quotaManager.awaitBandwidth(userKey, size);
+                delegate.write(buffer, offset + written, size);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
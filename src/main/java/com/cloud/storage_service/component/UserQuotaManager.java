@@ -0,0 +1,85 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.properties.QuotaProperties;
+import com.cloud.storage_service.util.TokenRateLimiter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import static com.cloud.storage_service.constants.MetricConstants.QUOTA_REJECTED;
+import static com.cloud.storage_service.constants.MetricConstants.QUOTA_THROTTLED;
+
+/**
+ * Per-user request-rate and egress bandwidth limiters. Users are tracked in a size-bounded
+ * cache and dropped once idle, so memory stays flat however many distinct users appear; a
+ * returning user simply starts with a full bucket.
+ */
+@Component
+public class UserQuotaManager {
+    private final QuotaProperties quotaProperties;
+    private final Cache<String, UserQuota> quotas;
+    private final Counter rejected;
+    private final Timer throttled;
+
+    public UserQuotaManager(QuotaProperties quotaProperties, MeterRegistry meterRegistry) {
+        this.quotaProperties = quotaProperties;
+        this.quotas = Caffeine.newBuilder()
+                .maximumSize(quotaProperties.getMaxUsers())
+                .expireAfterAccess(quotaProperties.getIdleExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, quotas, "userQuotas");
+        this.rejected = Counter.builder(QUOTA_REJECTED)
+                .description("Requests rejected by the per-user request-rate quota")
+                .register(meterRegistry);
+        this.throttled = Timer.builder(QUOTA_THROTTLED)
+                .description("Time responses were held back by the per-user bandwidth quota")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Counts one request against the user's rate.
+     *
+     * @return 0 if admitted, otherwise nanoseconds until the user may retry
+     */
+    public long tryAcquireRequest(String userKey) {
+        long wait = quota(userKey).requests().tryAcquire(1);
+        if (wait > 0) {
+            rejected.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Blocks until the user's bandwidth allows sending {@code bytes} more.
+     */
+    public void awaitBandwidth(String userKey, long bytes) throws InterruptedIOException {
+        long wait = quota(userKey).bytes().reserve(bytes);
+        if (wait <= 0) {
+            return;
+        }
+        throttled.record(wait, TimeUnit.NANOSECONDS);
+        try {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while throttling response for " + userKey);
+        }
+    }
+
+    private UserQuota quota(String userKey) {
+        return quotas.get(userKey, ignored -> new UserQuota(
+                new TokenRateLimiter(quotaProperties.getRequestsPerSecond(), quotaProperties.getRequestBurst()),
+                new TokenRateLimiter(quotaProperties.getBytesPerSecond(), quotaProperties.getByteBurst())));
+    }
+
+    private record UserQuota(TokenRateLimiter requests, TokenRateLimiter bytes) {
+    }
+}
@@ -27,7 +27,8 @@ public class CorsConfig {
         config.setAllowedHeaders(corsProperties.getAllowedHeaders());
         config.setAllowCredentials(corsProperties.isAllowCredentials());
         config.setExposedHeaders(List.of(
-                "Content-Disposition"
+                "Content-Disposition",
+                "Server-Timing"
         ));
         config.setMaxAge(corsProperties.getMaxAge());
 
@@ -1,20 +1,83 @@
 package com.cloud.storage_service.config;
 
+import com.cloud.storage_service.dto.RequestTiming;
 import com.cloud.storage_service.properties.AuthProperties;
+import com.cloud.storage_service.properties.JwtProperties;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.jwk.source.JWKSourceBuilder;
+import com.nimbusds.jose.proc.DefaultJOSEObjectTypeVerifier;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+
 import static com.cloud.storage_service.constants.ApiConstant.AUTH0.JWKS_JSON;
 
+@Slf4j
 @Configuration
 public class JwtDecoderConfig {
 
     @Bean
-    public JwtDecoder jwtDecoder(AuthProperties authProperties) {
-        return NimbusJwtDecoder.withJwkSetUri(
-                authProperties.getIssuer() + JWKS_JSON
-        ).build();
+    public JwtDecoder jwtDecoder(AuthProperties authProperties, JwtProperties jwtProperties,
+                                 MeterRegistry meterRegistry) {
+        JwtDecoder nimbus = new NimbusJwtDecoder(jwtProcessor(jwkSource(authProperties, jwtProperties)));
+        JwtDecoder decoder = jwtProperties.isCacheEnabled()
+                ? new CachingJwtDecoder(nimbus, jwtProperties, meterRegistry)
+                : nimbus;
+
+        return token -> {
+            try (RequestTiming.Phase ignored = RequestTiming.current().phase(RequestTiming.AUTH)) {
+                return decoder.decode(token);
+            }
+        };
+    }
+
+    /**
+     * JWKS keys are fetched once at startup and then refreshed by a background task ahead of
+     * their expiry, so token validation only blocks on the endpoint for an unknown key id.
+     */
+    private static JWKSource<SecurityContext> jwkSource(AuthProperties authProperties, JwtProperties jwtProperties) {
+        URL jwkSetUrl;
+        try {
+            jwkSetUrl = URI.create(authProperties.getIssuer() + JWKS_JSON).toURL();
+        } catch (MalformedURLException e) {
+            throw new IllegalStateException("Invalid JWKS URL for issuer " + authProperties.getIssuer(), e);
+        }
+        JWKSource<SecurityContext> jwkSource = JWKSourceBuilder.<SecurityContext>create(jwkSetUrl)
+                .cache(jwtProperties.getJwksTtl().toMillis(), jwtProperties.getJwksRefreshTimeout().toMillis())
+                .refreshAheadCache(jwtProperties.getJwksRefreshAhead().toMillis(), true)
+                .retrying(true)
+                .build();
+
+        try {
+            jwkSource.get(new JWKSelector(new JWKMatcher.Builder().build()), null);
+        } catch (KeySourceException e) {
+            log.warn("JWKS prefetch from {} failed, keys will be fetched on first use", jwkSetUrl, e);
+        }
+        return jwkSource;
+    }
+
+    private static DefaultJWTProcessor<SecurityContext> jwtProcessor(JWKSource<SecurityContext> jwkSource) {
+        DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        processor.setJWSTypeVerifier(new DefaultJOSEObjectTypeVerifier<>(
+                JOSEObjectType.JWT, new JOSEObjectType("at+jwt"), null));
+        // Claims are validated by Spring's OAuth2TokenValidator, as with the builder-made decoder
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+        return processor;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.cloud.storage_service.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Scheduled tasks share Spring Boot's scheduler, sized by {@code spring.task.scheduling.pool.size};
+ * jobs that can run for long, such as search index rebuilds, hand their work to an executor of
+ * their own.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -1,5 +1,8 @@
 package com.cloud.storage_service.config.aws;
 
+import com.cloud.storage_service.component.S3ConnectionPoolMetricPublisher;
+import com.cloud.storage_service.properties.ResilienceProperties;
+import com.cloud.storage_service.properties.TransportProperties;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -7,6 +10,10 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
@@ -23,7 +30,9 @@ public class S3Configuration {
     private String rootFolder;
 
     @Bean
-    public S3Client s3Client() {
+    public S3Client s3Client(TransportProperties transportProperties, ResilienceProperties resilienceProperties,
+                             S3ConnectionPoolMetricPublisher poolMetricPublisher) {
+        TransportProperties.Client transport = transportProperties.getS3();
         try {
             return S3Client.builder()
                     .region(Region.of(region))
@@ -32,12 +41,40 @@ public class S3Configuration {
                                     AwsBasicCredentials.create(accessKey, secretKey)
                             )
                     )
+                    .httpClientBuilder(httpClientBuilder(transport))
+                    .overrideConfiguration(override -> {
+                        if (transport.isMetricsEnabled()) {
+                            override.addMetricPublisher(poolMetricPublisher);
+                        }
+                        if (resilienceProperties.getRetry().isEnabled()) {
+                            // Retries are applied once, by ObjectStoreRetrier, not again inside the SDK
+                            override.retryPolicy(RetryPolicy.none());
+                        }
+                    })
                     .build();
         } catch (Exception e) {
             throw new RuntimeException("Failed to create S3Client: " + e.getMessage(), e);
         }
     }
 
+    private static SdkHttpClient.Builder<?> httpClientBuilder(TransportProperties.Client transport) {
+        if (transport.getHttpClient() == TransportProperties.HttpClientType.URL_CONNECTION) {
+            // No pool of its own: keep-alive reuse is left to the JDK
+            return UrlConnectionHttpClient.builder()
+                    .connectionTimeout(transport.getConnectionTimeout())
+                    .socketTimeout(transport.getSocketTimeout());
+        }
+        return ApacheHttpClient.builder()
+                .maxConnections(transport.getMaxConnections())
+                .connectionAcquisitionTimeout(transport.getConnectionAcquisitionTimeout())
+                .connectionTimeout(transport.getConnectionTimeout())
+                .socketTimeout(transport.getSocketTimeout())
+                .connectionTimeToLive(transport.getConnectionTimeToLive())
+                .connectionMaxIdleTime(transport.getConnectionMaxIdleTime())
+                .useIdleConnectionReaper(true)
+                .tcpKeepAlive(transport.isTcpKeepAlive());
+    }
+
     @Bean
     public S3Presigner s3Presigner() {
         return S3Presigner.builder()
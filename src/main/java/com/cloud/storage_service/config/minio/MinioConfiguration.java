@@ -1,12 +1,27 @@
 package com.cloud.storage_service.config.minio;
 
+import com.cloud.storage_service.component.StorageMetrics;
+import com.cloud.storage_service.constants.GeneralConstant;
+import com.cloud.storage_service.properties.TransportProperties;
+import com.cloud.storage_service.util.net.KeepAliveSocketFactory;
+import io.minio.MinioAsyncClient;
 import io.minio.MinioClient;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.net.SocketFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.cloud.storage_service.constants.MetricConstants.PoolState;
+
 @Data
 @NoArgsConstructor
 @Configuration
@@ -20,14 +35,76 @@ public class MinioConfiguration {
     private String password;
 
     @Bean
-    public MinioClient minioClient() {
+    public OkHttpClient minioHttpClient(TransportProperties transportProperties, StorageMetrics storageMetrics) {
+        TransportProperties.Client transport = transportProperties.getMinio();
+        OkHttpClient httpClient = httpClient(transport);
+        if (transport.isMetricsEnabled()) {
+            registerPoolMetrics(httpClient, transport, storageMetrics);
+        }
+        return httpClient;
+    }
+
+    @Bean
+    public MinioClient minioClient(OkHttpClient minioHttpClient) {
         try {
             return MinioClient.builder()
                     .endpoint(endpoint)
                     .credentials(accessKey, secretKey)
+                    .httpClient(minioHttpClient)
                     .build();
         } catch (Exception e) {
             throw new RuntimeException("Failed to create MinioClient: " + e.getMessage(), e);
         }
     }
+
+    /**
+     * Shares the {@link MinioClient}'s connection pool.
+     */
+    @Bean
+    public MinioListingClient minioListingClient(OkHttpClient minioHttpClient) {
+        try {
+            return new MinioListingClient(MinioAsyncClient.builder()
+                    .endpoint(endpoint)
+                    .credentials(accessKey, secretKey)
+                    .httpClient(minioHttpClient)
+                    .build());
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create MinioListingClient: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * MinIO runs its calls through OkHttp's async dispatcher, which by default admits only
+     * five concurrent requests per host; the dispatcher limits are raised to the pool size.
+     * OkHttp has no acquisition timeout or connection TTL, so those settings do not apply.
+     */
+    private static OkHttpClient httpClient(TransportProperties.Client transport) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(transport.getMaxConnections());
+        dispatcher.setMaxRequestsPerHost(transport.getMaxConnections());
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(transport.getMaxConnections(),
+                        transport.getConnectionMaxIdleTime().toMillis(), TimeUnit.MILLISECONDS))
+                .connectTimeout(transport.getConnectionTimeout())
+                .readTimeout(transport.getSocketTimeout())
+                .writeTimeout(transport.getSocketTimeout())
+                .protocols(List.of(Protocol.HTTP_1_1));
+        if (transport.isTcpKeepAlive()) {
+            builder.socketFactory(new KeepAliveSocketFactory(SocketFactory.getDefault()));
+        }
+        return builder.build();
+    }
+
+    private static void registerPoolMetrics(OkHttpClient httpClient, TransportProperties.Client transport,
+                                            StorageMetrics storageMetrics) {
+        String provider = GeneralConstant.Provider.MINIO;
+        Dispatcher dispatcher = httpClient.dispatcher();
+        ConnectionPool pool = httpClient.connectionPool();
+        storageMetrics.connectionPool(provider, PoolState.LEASED, dispatcher::runningCallsCount);
+        storageMetrics.connectionPool(provider, PoolState.PENDING, dispatcher::queuedCallsCount);
+        storageMetrics.connectionPool(provider, PoolState.IDLE, pool::idleConnectionCount);
+        storageMetrics.connectionPool(provider, PoolState.MAX, transport::getMaxConnections);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+package com.cloud.storage_service.config.minio;
+
+import io.minio.MinioAsyncClient;
+import io.minio.errors.MinioException;
+import io.minio.messages.ListBucketResultV2;
+
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Lists one ListObjectsV2 page per call. {@link io.minio.MinioClient#listObjects} hides the
+ * page's truncation flag behind an iterator, which can only tell whether more objects remain
+ * by requesting the next page.
+ */
+public class MinioListingClient extends MinioAsyncClient {
+
+    public MinioListingClient(MinioAsyncClient client) {
+        super(client);
+    }
+
+    /**
+     * @param startAfter key to resume after, or null to start from the beginning
+     * @return the page, whose {@code isTruncated()} tells whether more objects remain
+     */
+    public ListBucketResultV2 listPage(String bucket, String prefix, String startAfter, int maxKeys)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        try {
+            return listObjectsV2Async(bucket, null, null, null, startAfter, maxKeys, prefix, null, false, false,
+                    null, null).get().result();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while listing " + bucket, e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof MinioException minioException) {
+                throw minioException;
+            }
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("Listing " + bucket + " failed", cause);
+        }
+    }
+}
@@ -9,10 +9,13 @@ public class ApiConstant {
     public static final String WEBTOONS_TITLE = "webtoons/{title}";
     public static final String WEBTOONS_TITLE_CHAPTERS = "webtoons/{title}/chapters";
     public static final String WEBTOONS_SYNC = "webtoon-sync";
+    public static final String WEBTOONS_SYNC_STATUS = WEBTOONS_SYNC + "/{syncId}";
     public static final String DOWNLOAD_WEBTOON = "download-webtoon";
     public static final String DOWNLOAD_WEBTOON_CHAPTERS = "download-webtoon-chapters";
     public static final String UPLOAD_WEBTOON = "upload-webtoon";
     public static final String LATEST_CHAPTER_WEBTOON = "latest-chapter-webtoon";
+    public static final String FILE_SEARCH = "files/search";
+    public static final String CHAPTER_MANIFEST = "chapter-manifest";
     public static final String ID_PATH = "/{id}";
 
     @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -49,5 +52,36 @@ public class ApiConstant {
         public static final String VIEW_FILE = BASE + "/viewFile";
         public static final String LIST_FILES = BASE + "/listFiles";
         public static final String PRESIGN_URL = BASE + "/presignUrl";
+        public static final String PRESIGN_UPLOAD = BASE + "/presignUpload";
+        public static final String PRESIGN_UPLOAD_COMPLETE = PRESIGN_UPLOAD + "/complete";
+        public static final String MULTIPART_INITIATE = BASE + "/multipart/initiate";
+        public static final String MULTIPART_COMPLETE = BASE + "/multipart/complete";
+        public static final String MULTIPART_ABORT = BASE + "/multipart/abort";
     }
-}
\ No newline at end of file
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class UPLOADS {
+        public static final String BASE = "uploads";
+        public static final String SESSION = BASE + "/{sessionId}";
+        public static final String COMPLETE = SESSION + "/complete";
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class TIERED {
+        public static final String BASE = "tiered";
+        public static final String VIEW_FILE = BASE + "/viewFile";
+        public static final String DEMOTE = BASE + "/demote";
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class FOLDER_STATS {
+        public static final String BASE = "folder-stats";
+        public static final String LARGEST = BASE + "/largest";
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class IMAGES {
+        public static final String BASE = "images";
+        public static final String DERIVATIVE = BASE + "/derivative";
+    }
+}
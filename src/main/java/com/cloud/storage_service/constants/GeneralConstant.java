@@ -26,6 +26,9 @@ public final class GeneralConstant {
     public static final String ALIAS_KEY = "alias";
     public static final String TYPE_KEY = "type";
     public static final String ORIGINAL_NAME_KEY = "originalName";
+    public static final String CONTENT_SHA256_METADATA = "content-sha256";
+    public static final String UNCOMPRESSED_SIZE_METADATA = "uncompressed-size";
+    public static final String SYNC_SOURCE_ETAG_METADATA = "sync-source-etag";
 
     public static final String WEBTOONS = "Webtoons";
 
@@ -39,6 +42,7 @@ public final class GeneralConstant {
     public static final String OCTET_STREAM_CONTENT_TYPE = "application/octet-stream";
 
     public static final String CHAPTER_SEPARATOR = "-chapter-";
+    public static final String NO_SUCH_KEY = "NoSuchKey";
 
     @NoArgsConstructor(access = AccessLevel.PRIVATE)
     public static final class Language {
@@ -46,6 +50,12 @@ public final class GeneralConstant {
         public static final String IN_ID = "in_ID";
     }
 
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Provider {
+        public static final String MINIO = "minio";
+        public static final String S3 = "s3";
+    }
+
     @NoArgsConstructor(access = AccessLevel.PRIVATE)
     public static final class LOG4j {
         public static final String REQUEST_ID = "requestId";
@@ -28,6 +28,7 @@ public class MessageConstants {
         public static final String CONFLICT = "409";
         public static final String UNPROCESSABLE_ENTITY = "422";
         public static final String INTERNAL_SERVER_ERROR = "500";
+        public static final String SERVICE_UNAVAILABLE = "503";
     }
 
     @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -0,0 +1,116 @@
+package com.cloud.storage_service.constants;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MetricConstants {
+    public static final String CLIENT_REQUESTS = "storage.client.requests";
+    public static final String CLIENT_IN_FLIGHT = "storage.client.inflight";
+    public static final String TRANSFER_BYTES = "storage.transfer.bytes";
+    public static final String POOL_CONNECTIONS = "storage.client.pool.connections";
+    public static final String POOL_ACQUIRE = "storage.client.pool.acquire";
+    public static final String CLIENT_RETRIES = "storage.client.retries";
+    public static final String CLIENT_HEDGES = "storage.client.hedges";
+    public static final String QUOTA_REJECTED = "storage.quota.rejected";
+    public static final String QUOTA_THROTTLED = "storage.quota.throttled";
+    public static final String ADMISSION_RESERVED = "storage.admission.reserved";
+    public static final String ADMISSION_REJECTED = "storage.admission.rejected";
+    public static final String ADMISSION_WAIT = "storage.admission.wait";
+    public static final String KEY_INDEX_KEYS = "storage.key_index.keys";
+    public static final String KEY_INDEX_BYTES = "storage.key_index.bytes";
+    public static final String KEY_INDEX_BYTES_PER_MILLION = "storage.key_index.bytes_per_million_keys";
+    public static final String DEDUP_OBJECTS = "storage.dedup.objects";
+    public static final String DEDUP_BYTES_SAVED = "storage.dedup.bytes_saved";
+    public static final String CHECKSUM_VERIFICATIONS = "storage.checksum.verifications";
+    public static final String IMAGE_DERIVATIVES = "storage.image.derivatives";
+    public static final String IMAGE_RENDER = "storage.image.render";
+    public static final String IMAGE_RENDER_QUEUE = "storage.image.render.queue";
+    public static final String DERIVATIVE_PIPELINE_JOBS = "storage.derivative_pipeline.jobs";
+    public static final String DERIVATIVE_PIPELINE_QUEUE = "storage.derivative_pipeline.queue";
+    public static final String DERIVATIVE_PIPELINE_LAG = "storage.derivative_pipeline.lag";
+    public static final String DERIVATIVE_PIPELINE_OLDEST = "storage.derivative_pipeline.oldest_age";
+    public static final String COMPRESSION_OBJECTS = "storage.compression.objects";
+    public static final String COMPRESSION_BYTES_SAVED = "storage.compression.bytes_saved";
+
+    public static final String TAG_PROVIDER = "provider";
+    public static final String TAG_OPERATION = "operation";
+    public static final String TAG_OUTCOME = "outcome";
+    public static final String TAG_DIRECTION = "direction";
+    public static final String TAG_STATE = "state";
+    public static final String TAG_RESULT = "result";
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Operation {
+        public static final String PUT = "put";
+        public static final String GET = "get";
+        public static final String HEAD = "head";
+        public static final String LIST = "list";
+        public static final String DELETE = "delete";
+        public static final String PRESIGN = "presign";
+        public static final String COPY = "copy";
+        public static final String MULTIPART = "multipart";
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Outcome {
+        public static final String SUCCESS = "success";
+        public static final String CLIENT_ERROR = "client_error";
+        public static final String ERROR = "error";
+        public static final String REJECTED = "rejected";
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Direction {
+        public static final String UPLOAD = "upload";
+        public static final String DOWNLOAD = "download";
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class PoolState {
+        public static final String LEASED = "leased";
+        public static final String IDLE = "idle";
+        public static final String PENDING = "pending";
+        public static final String MAX = "max";
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class HedgeResult {
+        public static final String WON = "won";
+        public static final String LOST = "lost";
+        public static final String NO_BUDGET = "no_budget";
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class DedupResult {
+        public static final String SKIPPED = "skipped";
+        public static final String COPIED = "copied";
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class ChecksumResult {
+        public static final String MATCH = "match";
+        public static final String MISMATCH = "mismatch";
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class DerivativeResult {
+        public static final String HIT = "hit";
+        public static final String RENDERED = "rendered";
+        public static final String JOINED = "joined";
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class PipelineResult {
+        public static final String RENDERED = "rendered";
+        public static final String EXISTING = "existing";
+        public static final String FAILED = "failed";
+        public static final String DROPPED = "dropped";
+    }
+
+    @NoArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class CompressionResult {
+        public static final String COMPRESSED = "compressed";
+        public static final String INCOMPRESSIBLE = "incompressible";
+    }
+}
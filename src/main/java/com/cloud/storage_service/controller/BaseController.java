@@ -3,7 +3,10 @@ package com.cloud.storage_service.controller;
 import com.cloud.storage_service.constants.GeneralConstant;
 import com.cloud.storage_service.constants.MessageConstants;
 import com.cloud.storage_service.dto.RequestContext;
+import com.cloud.storage_service.dto.RequestTiming;
 import com.cloud.storage_service.dto.response.ApiResponseDto;
+import com.cloud.storage_service.exception.ServiceOverloadedException;
+import com.cloud.storage_service.exception.StorageUnavailableException;
 import com.cloud.storage_service.exception.WebException;
 import io.swagger.v3.oas.annotations.Parameter;
 import lombok.NoArgsConstructor;
@@ -14,6 +17,9 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.UUID;
 import java.util.function.Supplier;
 
@@ -78,6 +84,8 @@ public abstract class BaseController {
         context.setLanguage(language != null ? language : GeneralConstant.Language.IN_ID);
         context.setChannel(channel != null ? channel : "web");
         context.setRequestId(resolveRequestId(requestId));
+        context.setTiming(RequestTiming.current());
+        context.getTiming().setRequestId(context.getRequestId());
         return context;
     }
 
@@ -105,6 +113,7 @@ public abstract class BaseController {
     /**
      * Centralized handler to execute a service call and wrap the response in ApiResponseDto.
      * Handles logging, exception catching, and response formatting.
+     * Backend unavailability and overload propagate so clients get a 503 with Retry-After.
      *
      * @param context RequestContext containing request metadata
      * @param serviceCall Supplier with the service logic
@@ -113,7 +122,10 @@ public abstract class BaseController {
      */
     protected <T> ApiResponseDto<T> handleRequest(RequestContext context, Supplier<T> serviceCall) {
         try {
-            T data = serviceCall.get();
+            T data;
+            try (RequestTiming.Phase ignored = context.getTiming().phase(RequestTiming.HANDLER)) {
+                data = serviceCall.get();
+            }
             return getResponseMessage(
                     context.getLanguage(),
                     context.getChannel(),
@@ -134,6 +146,10 @@ public abstract class BaseController {
                     null,
                     we.getMessage()
             );
+        } catch (StorageUnavailableException | ServiceOverloadedException sue) {
+            // Left to GlobalExceptionHandler, which answers 503 with Retry-After
+            logRequest(context.getRequestId(), "handleRequest", sue);
+            throw sue;
         } catch (BadCredentialsException bce) {
             logRequest(context.getRequestId(), "handleRequest", bce);
             return getResponseMessage(
@@ -159,6 +175,27 @@ public abstract class BaseController {
         }
     }
 
+    /**
+     * Streams a response body, recording the copy as the request's transfer phase.
+     *
+     * @return number of bytes copied
+     */
+    protected static long transfer(InputStream inputStream, OutputStream outputStream) throws IOException {
+        try (RequestTiming.Phase ignored = RequestTiming.current().phase(RequestTiming.TRANSFER)) {
+            return inputStream.transferTo(outputStream);
+        }
+    }
+
+    /**
+     * Status for a failed streaming response: 503 when the backend is temporarily
+     * unavailable or the service is at capacity, so clients retry, otherwise 500.
+     */
+    protected static int errorStatus(Exception e) {
+        return e instanceof StorageUnavailableException || e instanceof ServiceOverloadedException
+                ? HttpStatus.SERVICE_UNAVAILABLE.value()
+                : HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
     /**
      * Logs the start of the request processing, including the method name and request ID.
      *
@@ -1,21 +1,330 @@
 package com.cloud.storage_service.controller;
 
+import com.cloud.storage_service.config.swagger.DefaultApiResponses;
+import com.cloud.storage_service.dto.RequestContext;
+import com.cloud.storage_service.constants.GeneralConstant;
+import com.cloud.storage_service.dto.request.SyncRequestDto;
+import com.cloud.storage_service.dto.response.ApiResponseDto;
+import com.cloud.storage_service.dto.response.ChapterManifestDto;
+import com.cloud.storage_service.dto.response.FolderStatsDto;
+import com.cloud.storage_service.dto.response.SyncResultDto;
+import com.cloud.storage_service.dto.response.UploadResponseDto;
+import com.cloud.storage_service.dto.response.UploadSessionDto;
+import com.cloud.storage_service.dto.storage.ImageDerivativeDto;
+import com.cloud.storage_service.dto.storage.ObjectListingDto;
+import com.cloud.storage_service.dto.storage.TieredObjectDto;
+import com.cloud.storage_service.service.ChapterManifestService;
+import com.cloud.storage_service.service.FileSearchService;
+import com.cloud.storage_service.exception.WebException;
+import com.cloud.storage_service.service.FolderStatsService;
+import com.cloud.storage_service.service.ImageDerivativeService;
+import com.cloud.storage_service.service.ResumableUploadService;
+import com.cloud.storage_service.service.SyncService;
+import com.cloud.storage_service.service.TieredStorageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static com.cloud.storage_service.constants.ApiConstant.CHAPTER_MANIFEST;
+import static com.cloud.storage_service.constants.ApiConstant.FILE_SEARCH;
+import static com.cloud.storage_service.constants.ApiConstant.FOLDER_STATS;
+import static com.cloud.storage_service.constants.ApiConstant.IMAGES;
+import static com.cloud.storage_service.constants.ApiConstant.TIERED;
+import static com.cloud.storage_service.constants.ApiConstant.UPLOADS;
+import static com.cloud.storage_service.constants.ApiConstant.WEBTOONS_SYNC;
+import static com.cloud.storage_service.constants.ApiConstant.WEBTOONS_SYNC_STATUS;
+
 @Slf4j
 @Validated
 @RestController
 @RequiredArgsConstructor
 @RequestMapping(path = "${app.privateApiPath}")
 @CrossOrigin(origins = "${app.basePath}")
+@Tag(name = "Storage", description = "Cross-provider storage management APIs")
 public class StorageController extends BaseController {
+    private final SyncService syncService;
+    private final TieredStorageService tieredStorageService;
+    private final ResumableUploadService resumableUploadService;
+    private final FolderStatsService folderStatsService;
+    private final FileSearchService fileSearchService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final ChapterManifestService chapterManifestService;
+
     @Override
     protected String getControllerName() {
         return "StorageController";
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Sync a prefix between MinIO and S3",
+            description = "Copies new and changed objects from the source prefix to the target prefix. "
+                    + "Supports dry-run, delete propagation and resuming an interrupted sync. The sync runs "
+                    + "in the background; poll its status with the returned syncId."
+    )
+    @DefaultApiResponses
+    @PostMapping(path = WEBTOONS_SYNC)
+    public ApiResponseDto<SyncResultDto> sync(RequestContext context, @RequestBody SyncRequestDto request) {
+        logRequest(context.getRequestId(), "StorageController.sync()");
+        return handleRequest(context, () -> syncService.sync(context.getRequestId(), request));
+    }
+
+    @Operation(summary = "Progress of a running sync, or the outcome of a finished one")
+    @DefaultApiResponses
+    @GetMapping(path = WEBTOONS_SYNC_STATUS)
+    public ApiResponseDto<SyncResultDto> syncStatus(RequestContext context, @PathVariable("syncId") String syncId) {
+        logRequest(context.getRequestId(), "StorageController.syncStatus()");
+        return handleRequest(context, () -> syncService.status(syncId));
+    }
+
+    @Operation(
+            summary = "View a file inline from tiered storage",
+            description = "Serves from MinIO when the object is hot and falls back to S3 on a miss."
+    )
+    @DefaultApiResponses
+    @GetMapping(path = TIERED.VIEW_FILE)
+    public void viewTieredFile(RequestContext context, HttpServletResponse response) {
+        logRequest(context.getRequestId(), "StorageController.viewTieredFile()");
+
+        try {
+            TieredObjectDto object = tieredStorageService.read(context.getRequestId(), context.getFileName());
+            try (InputStream inputStream = object.getInputStream()) {
+                response.setStatus(HttpStatus.OK.value());
+                response.setContentType(object.getSummary().getContentType());
+                response.setContentLengthLong(object.getSummary().getSize());
+                response.setHeader("X-Storage-Tier", object.getTier());
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\""
+                        + context.getFileName() + "\"");
+                transfer(inputStream, response.getOutputStream());
+                response.flushBuffer();
+            }
+        } catch (Exception e) {
+            logRequest(context.getRequestId(), "StorageController.viewTieredFile()", e);
+            response.setStatus(errorStatus(e));
+        }
+    }
+
+    @Operation(summary = "Demote idle objects from the hot tier to the cold tier now")
+    @DefaultApiResponses
+    @PostMapping(path = TIERED.DEMOTE)
+    public ApiResponseDto<Integer> demote(RequestContext context) {
+        logRequest(context.getRequestId(), "StorageController.demote()");
+        return handleRequest(context, tieredStorageService::demoteIdleObjects);
+    }
+
+    @Operation(
+            summary = "Start a resumable upload",
+            description = "Opens an upload session for fileName under the prefix. Send the file in chunks of "
+                    + "the returned chunkSize, then complete the session. Idle sessions are aborted."
+    )
+    @DefaultApiResponses
+    @PostMapping(path = UPLOADS.BASE)
+    public ApiResponseDto<UploadSessionDto> createUploadSession(
+            RequestContext context,
+            @Parameter(description = "Storage provider, s3 or minio. Defaults to the configured provider.")
+            @RequestParam(value = "provider", required = false) String provider,
+            @Parameter(description = "MIME type of the file")
+            @RequestParam(value = "contentType", required = false) String contentType,
+            @Parameter(description = "Total size of the file in bytes", required = true)
+            @RequestParam("size") long size
+    ) {
+        logRequest(context.getRequestId(), "StorageController.createUploadSession()");
+        return handleRequest(context, () -> resumableUploadService.createSession(context.getRequestId(),
+                context.getUserId(), provider, context.getPrefix(), context.getFileName(), contentType, size));
+    }
+
+    @Operation(summary = "Get the committed offset of a resumable upload")
+    @DefaultApiResponses
+    @GetMapping(path = UPLOADS.SESSION)
+    public ApiResponseDto<UploadSessionDto> getUploadSession(RequestContext context,
+                                                             @PathVariable("sessionId") String sessionId) {
+        logRequest(context.getRequestId(), "StorageController.getUploadSession()");
+        return handleRequest(context, () -> resumableUploadService.getSession(context.getUserId(), sessionId));
+    }
+
+    @Operation(
+            summary = "Upload one chunk of a resumable upload",
+            description = "The request body is the raw chunk. offset must be a multiple of chunkSize no later "
+                    + "than the committed offset; re-sending an already committed chunk replaces it."
+    )
+    @DefaultApiResponses
+    @PutMapping(path = UPLOADS.SESSION)
+    public ApiResponseDto<UploadSessionDto> uploadChunk(
+            RequestContext context,
+            @PathVariable("sessionId") String sessionId,
+            @Parameter(description = "Offset of the chunk within the file", required = true)
+            @RequestParam("offset") long offset,
+            HttpServletRequest request
+    ) {
+        logRequest(context.getRequestId(), "StorageController.uploadChunk()");
+        return handleRequest(context, () -> {
+            try {
+                return resumableUploadService.uploadChunk(context.getUserId(), sessionId, offset,
+                        request.getInputStream(), request.getContentLengthLong());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Operation(summary = "Complete a resumable upload once every chunk is committed")
+    @DefaultApiResponses
+    @PostMapping(path = UPLOADS.COMPLETE)
+    public ApiResponseDto<UploadResponseDto> completeUploadSession(RequestContext context,
+                                                                   @PathVariable("sessionId") String sessionId) {
+        logRequest(context.getRequestId(), "StorageController.completeUploadSession()");
+        return handleRequest(context, () -> resumableUploadService.completeSession(
+                context.getRequestId(), context.getUserId(), sessionId));
+    }
+
+    @Operation(summary = "Abort a resumable upload and discard its chunks")
+    @DefaultApiResponses
+    @DeleteMapping(path = UPLOADS.SESSION)
+    public ApiResponseDto<String> abortUploadSession(RequestContext context,
+                                                     @PathVariable("sessionId") String sessionId) {
+        logRequest(context.getRequestId(), "StorageController.abortUploadSession()");
+        return handleRequest(context, () -> {
+            resumableUploadService.abortSession(context.getUserId(), sessionId);
+            return null;
+        });
+    }
+
+    @Operation(
+            summary = "Get usage statistics of a folder",
+            description = "Total bytes, object count and last modification of everything under the prefix, "
+                    + "served from in-memory aggregates."
+    )
+    @DefaultApiResponses
+    @GetMapping(path = FOLDER_STATS.BASE)
+    public ApiResponseDto<FolderStatsDto> getFolderStats(
+            RequestContext context,
+            @Parameter(description = "Storage provider, s3 or minio")
+            @RequestParam(value = "provider", defaultValue = GeneralConstant.Provider.S3) String provider
+    ) {
+        logRequest(context.getRequestId(), "StorageController.getFolderStats()");
+        return handleRequest(context, () -> folderStatsService.getStats(provider, context.getPrefix()));
+    }
+
+    @Operation(
+            summary = "List the largest folders under a prefix",
+            description = "Immediate subfolders of the prefix ordered by total bytes, largest first."
+    )
+    @DefaultApiResponses
+    @GetMapping(path = FOLDER_STATS.LARGEST)
+    public ApiResponseDto<List<FolderStatsDto>> getLargestFolders(
+            RequestContext context,
+            @Parameter(description = "Storage provider, s3 or minio")
+            @RequestParam(value = "provider", defaultValue = GeneralConstant.Provider.S3) String provider,
+            @Parameter(description = "Number of folders to return")
+            @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        logRequest(context.getRequestId(), "StorageController.getLargestFolders()");
+        return handleRequest(context, () -> folderStatsService.getLargestFolders(provider, context.getPrefix(),
+                limit));
+    }
+
+    @Operation(
+            summary = "Search files by name",
+            description = "Finds files under the prefix whose name contains, or starts with, the search term. "
+                    + "Results are in key order; pass the returned nextStartAfter to get the next page."
+    )
+    @DefaultApiResponses
+    @GetMapping(path = FILE_SEARCH)
+    public ApiResponseDto<ObjectListingDto> searchFiles(
+            RequestContext context,
+            @Parameter(description = "Storage provider, s3 or minio")
+            @RequestParam(value = "provider", defaultValue = GeneralConstant.Provider.S3) String provider,
+            @Parameter(description = "Part of the file name to look for, at least 3 characters", required = true)
+            @RequestParam("q") String term,
+            @Parameter(description = "substring or prefix")
+            @RequestParam(value = "match", defaultValue = "substring") String match,
+            @RequestParam(value = "caseSensitive", defaultValue = "false") boolean caseSensitive,
+            @Parameter(description = "Key after which to continue, from the previous page")
+            @RequestParam(value = "startAfter", required = false) String startAfter,
+            @RequestParam(value = "limit", defaultValue = "50") int limit
+    ) {
+        logRequest(context.getRequestId(), "StorageController.searchFiles()");
+        return handleRequest(context, () -> fileSearchService.search(provider, context.getPrefix(), term, match,
+                caseSensitive, startAfter, limit));
+    }
+
+    @Operation(
+            summary = "View a resized variant of an image",
+            description = "Scales the image down to at most the given width and re-encodes it. Each variant "
+                    + "is rendered once, stored next to the bucket's other derived files and served from there."
+    )
+    @DefaultApiResponses
+    @GetMapping(path = IMAGES.DERIVATIVE)
+    public void viewImageDerivative(
+            RequestContext context,
+            @Parameter(description = "Storage provider, s3 or minio")
+            @RequestParam(value = "provider", defaultValue = GeneralConstant.Provider.S3) String provider,
+            @Parameter(description = "Maximum width in pixels; narrower images keep their size", required = true)
+            @RequestParam("width") int width,
+            @Parameter(description = "Encoding quality from 1 to 100, for jpeg")
+            @RequestParam(value = "quality", defaultValue = "80") int quality,
+            @Parameter(description = "jpeg or png")
+            @RequestParam(value = "format", defaultValue = "jpeg") String format,
+            HttpServletResponse response
+    ) {
+        logRequest(context.getRequestId(), "StorageController.viewImageDerivative()");
+
+        try {
+            ImageDerivativeDto derivative = imageDerivativeService.open(provider, context.getFileName(), width,
+                    quality, format);
+            try (InputStream inputStream = derivative.getInputStream()) {
+                response.setStatus(HttpStatus.OK.value());
+                response.setContentType(derivative.getSummary().getContentType());
+                response.setContentLengthLong(derivative.getSummary().getSize());
+                response.setHeader("X-Derivative-Cache", derivative.isCached() ? "hit" : "miss");
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\""
+                        + context.getFileName() + "\"");
+                transfer(inputStream, response.getOutputStream());
+                response.flushBuffer();
+            }
+        } catch (WebException e) {
+            logRequest(context.getRequestId(), "StorageController.viewImageDerivative()", e);
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+        } catch (Exception e) {
+            logRequest(context.getRequestId(), "StorageController.viewImageDerivative()", e);
+            response.setStatus(errorStatus(e));
+        }
+    }
+
+    @Operation(
+            summary = "Get the page manifest of a chapter",
+            description = "Images directly under the prefix in natural order, with size, dimensions, ETag and a "
+                    + "URL per page. Served from cache until something in the chapter changes."
+    )
+    @DefaultApiResponses
+    @GetMapping(path = CHAPTER_MANIFEST)
+    public ApiResponseDto<ChapterManifestDto> getChapterManifest(
+            RequestContext context,
+            @Parameter(description = "Storage provider, s3 or minio")
+            @RequestParam(value = "provider", defaultValue = GeneralConstant.Provider.S3) String provider
+    ) {
+        logRequest(context.getRequestId(), "StorageController.getChapterManifest()");
+        return handleRequest(context, () -> chapterManifestService.getManifest(provider, context.getPrefix()));
+    }
+}
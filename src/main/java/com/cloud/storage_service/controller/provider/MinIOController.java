@@ -99,7 +99,7 @@ public class MinIOController extends BaseController {
             return ResponseEntity.ok().build(); // No content to return for the download
         } catch (Exception e) {
             log.error("Error downloading file", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+            return ResponseEntity.status(errorStatus(e)).build();
         }
     }
 
@@ -1,11 +1,18 @@
 package com.cloud.storage_service.controller.provider;
 
+import com.cloud.storage_service.component.ContentCompression;
 import com.cloud.storage_service.config.swagger.DefaultApiResponses;
 import com.cloud.storage_service.constants.MessageConstants;
 import com.cloud.storage_service.controller.BaseController;
 import com.cloud.storage_service.dto.RequestContext;
+import com.cloud.storage_service.dto.RequestTiming;
+import com.cloud.storage_service.dto.request.CompleteMultipartUploadDto;
 import com.cloud.storage_service.dto.response.ApiResponseDto;
+import com.cloud.storage_service.dto.response.MultipartUploadDto;
+import com.cloud.storage_service.dto.response.PresignedUploadDto;
 import com.cloud.storage_service.dto.response.UploadListResponseDto;
+import com.cloud.storage_service.dto.response.UploadResponseDto;
+import com.cloud.storage_service.service.DirectUploadService;
 import com.cloud.storage_service.service.impl.S3ServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,6 +27,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
 
 import java.util.List;
 import java.util.Map;
@@ -35,6 +43,7 @@ import static com.cloud.storage_service.constants.ApiConstant.S3;
 @Tag(name = "File Storage", description = "S3 file provider management APIs")
 public class S3Controller extends BaseController {
     private final S3ServiceImpl s3Service;
+    private final DirectUploadService directUploadService;
 
     @Override
     protected String getControllerName() {
@@ -100,37 +109,46 @@ public class S3Controller extends BaseController {
     @Operation(summary = "Download a file from S3 using filename")
     @DefaultApiResponses
     @GetMapping(path = S3.DOWNLOAD_FILE)
-    public void downloadFile(RequestContext context, HttpServletResponse response) {
+    public void downloadFile(
+            RequestContext context,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) {
 
         response.setStatus(HttpStatus.OK.value());
 
-        try (ResponseInputStream<GetObjectResponse> s3Object = s3Service.viewDownloadFile(context.getFileName())) {
+        try (ResponseInputStream<GetObjectResponse> s3Object = s3Service.viewFile(context.getFileName(), null, null,
+                acceptEncoding)) {
             response.setContentType(s3Object.response().contentType());
+            setEncodingHeaders(s3Object.response(), response);
             response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\""
                     + context.getFileName() + "\"");
-            s3Object.transferTo(response.getOutputStream());
+            transfer(s3Object, response.getOutputStream());
             response.flushBuffer();
         } catch (Exception e) {
             log.error("Download failed", e);
-            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            response.setStatus(errorStatus(e));
         }
     }
 
     @Operation(summary = "Download a file from S3 using key")
     @DefaultApiResponses
     @GetMapping(path = S3.DOWNLOAD_FILE_BY_DOCUMENT_KEY)
-    public void downloadFileByDocumentKey(@RequestParam("documentKey") String key, HttpServletResponse response) {
-        try (ResponseInputStream<GetObjectResponse> s3Object = s3Service.viewDownloadFile(key)) {
+    public void downloadFileByDocumentKey(
+            @RequestParam("documentKey") String key,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) {
+        try (ResponseInputStream<GetObjectResponse> s3Object = s3Service.viewFile(key, null, null, acceptEncoding)) {
             String downloadName = key.substring(key.lastIndexOf('/') + 1);
 
             response.setContentType(s3Object.response().contentType());
+            setEncodingHeaders(s3Object.response(), response);
             response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + downloadName + "\"");
-            s3Object.transferTo(response.getOutputStream());
+            transfer(s3Object, response.getOutputStream());
             response.flushBuffer();
 
         } catch (Exception e) {
             log.error("Download failed", e);
-            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            response.setStatus(errorStatus(e));
         }
     }
 
@@ -148,12 +166,14 @@ public class S3Controller extends BaseController {
                     + context.getFileName() + ".zip\"");
             response.setContentLength(zipBytes.length);
 
-            response.getOutputStream().write(zipBytes);
+            try (RequestTiming.Phase ignored = RequestTiming.current().phase(RequestTiming.TRANSFER)) {
+                response.getOutputStream().write(zipBytes);
+            }
             response.flushBuffer();
 
         } catch (Exception e) {
             log.error("Download failed", e);
-            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            response.setStatus(errorStatus(e));
         }
     }
 
@@ -162,18 +182,55 @@ public class S3Controller extends BaseController {
     @GetMapping(path = S3.VIEW_FILE)
     public void viewFile(
             RequestContext context,
+            @RequestParam(value = "versionId", required = false)
+            @Parameter(name = "versionId", description = "Optional object version to view.") String versionId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
             HttpServletResponse response) {
 
-        response.setStatus(HttpStatus.OK.value());
-        try (ResponseInputStream<GetObjectResponse> s3Object = s3Service.viewDownloadFile(context.getFileName())) {
-            response.setContentType(s3Object.response().contentType());
+        try (ResponseInputStream<GetObjectResponse> s3Object = s3Service.viewFile(
+                context.getFileName(), versionId, range, acceptEncoding)) {
+            GetObjectResponse object = s3Object.response();
+            // A range that could not be applied, e.g. to encoded content of unknown decoded size,
+            // is answered with the whole object
+            response.setStatus(object.contentRange() != null
+                    ? HttpStatus.PARTIAL_CONTENT.value()
+                    : HttpStatus.OK.value());
+            response.setContentType(object.contentType());
+            setEncodingHeaders(object, response);
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            if (object.contentLength() != null) {
+                response.setContentLengthLong(object.contentLength());
+            }
+            if (object.contentRange() != null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, object.contentRange());
+            }
             response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\""
                     + context.getFileName() + "\"");
-            s3Object.transferTo(response.getOutputStream());
+            transfer(s3Object, response.getOutputStream());
             response.flushBuffer();
+        } catch (S3Exception e) {
+            if (range != null && e.statusCode() == HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value()) {
+                rejectRange(context.getFileName(), versionId, acceptEncoding, response);
+                return;
+            }
+            log.error("View file failed", e);
+            response.setStatus(errorStatus(e));
         } catch (Exception e) {
             log.error("View file failed", e);
-            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            response.setStatus(errorStatus(e));
+        }
+    }
+
+    private void rejectRange(String key, String versionId, String acceptEncoding, HttpServletResponse response) {
+        response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        try {
+            Long size = s3Service.servedSize(key, versionId, acceptEncoding);
+            if (size != null) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+            }
+        } catch (Exception e) {
+            log.warn("Could not size {} for an unsatisfiable range", key, e);
         }
     }
 
@@ -196,4 +253,93 @@ public class S3Controller extends BaseController {
         logRequest(context.getRequestId(), "S3Controller.getPresignedUrl()");
         return handleRequest(context, () -> s3Service.generatePresignedUrl(key));
     }
+
+    @Operation(
+            summary = "Generate presigned URL to upload a file directly to S3",
+            description = "Signs a single PUT for fileName under the prefix. The client must send the returned "
+                    + "headers unchanged, then call the complete endpoint; files above the single-PUT limit "
+                    + "must use a multipart upload."
+    )
+    @DefaultApiResponses
+    @PostMapping(path = S3.PRESIGN_UPLOAD)
+    public ApiResponseDto<PresignedUploadDto> presignUpload(
+            RequestContext context,
+            @Parameter(description = "MIME type the file will be uploaded with")
+            @RequestParam(value = "contentType", required = false) String contentType,
+            @Parameter(description = "Exact size of the file in bytes", required = true)
+            @RequestParam("size") long size
+    ) {
+        logRequest(context.getRequestId(), "S3Controller.presignUpload()");
+        return handleRequest(context, () -> directUploadService.presignUpload(
+                context.getPrefix(), context.getFileName(), contentType, size));
+    }
+
+    @Operation(summary = "Confirm a presigned single PUT to S3 once the upload has finished")
+    @DefaultApiResponses
+    @PostMapping(path = S3.PRESIGN_UPLOAD_COMPLETE)
+    public ApiResponseDto<UploadResponseDto> completeUpload(RequestContext context) {
+        logRequest(context.getRequestId(), "S3Controller.completeUpload()");
+        return handleRequest(context, () -> directUploadService.completeUpload(
+                context.getPrefix(), context.getFileName()));
+    }
+
+    @Operation(
+            summary = "Start a direct multipart upload to S3",
+            description = "Creates a multipart upload for fileName under the prefix and returns a presigned URL "
+                    + "per part. Upload each part with PUT, keep its ETag, then call the complete endpoint."
+    )
+    @DefaultApiResponses
+    @PostMapping(path = S3.MULTIPART_INITIATE)
+    public ApiResponseDto<MultipartUploadDto> initiateMultipartUpload(
+            RequestContext context,
+            @Parameter(description = "MIME type of the file")
+            @RequestParam(value = "contentType", required = false) String contentType,
+            @Parameter(description = "Total size of the file in bytes", required = true)
+            @RequestParam("size") long size
+    ) {
+        logRequest(context.getRequestId(), "S3Controller.initiateMultipartUpload()");
+        return handleRequest(context, () -> directUploadService.initiateMultipartUpload(
+                context.getPrefix(), context.getFileName(), contentType, size));
+    }
+
+    @Operation(summary = "Complete a direct multipart upload to S3")
+    @DefaultApiResponses
+    @PostMapping(path = S3.MULTIPART_COMPLETE)
+    public ApiResponseDto<UploadResponseDto> completeMultipartUpload(
+            RequestContext context,
+            @RequestBody CompleteMultipartUploadDto request
+    ) {
+        logRequest(context.getRequestId(), "S3Controller.completeMultipartUpload()");
+        return handleRequest(context, () -> directUploadService.completeMultipartUpload(
+                context.getPrefix(), context.getFileName(), request));
+    }
+
+    @Operation(summary = "Abort a direct multipart upload to S3 and discard its parts")
+    @DefaultApiResponses
+    @DeleteMapping(path = S3.MULTIPART_ABORT)
+    public ApiResponseDto<String> abortMultipartUpload(
+            RequestContext context,
+            @RequestParam("uploadId") String uploadId
+    ) {
+        logRequest(context.getRequestId(), "S3Controller.abortMultipartUpload()");
+        return handleRequest(context, () -> {
+            directUploadService.abortMultipartUpload(context.getPrefix(), context.getFileName(), uploadId);
+            return null;
+        });
+    }
+
+    /**
+     * Objects stored with a content encoding are sent either as stored or decoded, depending
+     * on the client's Accept-Encoding, so caches must key them on it.
+     */
+    private static void setEncodingHeaders(GetObjectResponse object, HttpServletResponse response) {
+        String encoding = object.contentEncoding();
+        if (encoding == null) {
+            return;
+        }
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (!ContentCompression.IDENTITY.equals(encoding)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+    }
 }
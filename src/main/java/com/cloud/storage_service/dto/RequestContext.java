@@ -2,7 +2,9 @@ package com.cloud.storage_service.dto;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.util.UUID;
 
@@ -16,4 +18,7 @@ public class RequestContext {
     private String language = "in_ID";
     private String channel = "web";
     private String requestId = UUID.randomUUID().toString();
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private RequestTiming timing = RequestTiming.current();
 }
\ No newline at end of file
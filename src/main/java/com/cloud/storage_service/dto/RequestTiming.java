@@ -0,0 +1,153 @@
+package com.cloud.storage_service.dto;
+
+import java.util.Arrays;
+
+/**
+ * Per-request phase timings, emitted as a {@code Server-Timing} header and a log line.
+ * The timing of the request being served on the current thread is available through
+ * {@link #current()}; outside a request a no-op instance is returned, so callers never
+ * need to null-check. Repeated phases (e.g. several list calls) are summed.
+ */
+@SuppressWarnings({"PMD.AvoidSynchronizedAtMethodLevel"})
+public final class RequestTiming {
+    public static final String AUTH = "auth";
+    public static final String HANDLER = "handler";
+    public static final String TRANSFER = "transfer";
+    public static final String SERIALIZE = "serialize";
+    public static final String TOTAL = "total";
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final RequestTiming NOOP = new RequestTiming(false);
+    private static final int MAX_PHASES = 16;
+
+    private final boolean enabled;
+    private final long startNanos = System.nanoTime();
+    private final String[] names;
+    private final long[] durations;
+    private final int[] counts;
+    private int size;
+    private String requestId;
+
+    private RequestTiming(boolean enabled) {
+        this.enabled = enabled;
+        int capacity = enabled ? MAX_PHASES : 0;
+        this.names = new String[capacity];
+        this.durations = new long[capacity];
+        this.counts = new int[capacity];
+    }
+
+    /**
+     * Starts timing a request on the current thread.
+     */
+    public static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming(true);
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static RequestTiming current() {
+        RequestTiming timing = CURRENT.get();
+        return timing != null ? timing : NOOP;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Starts a phase that is recorded when closed, for use in try-with-resources.
+     */
+    public Phase phase(String name) {
+        return new Phase(name, enabled ? System.nanoTime() : 0L);
+    }
+
+    public synchronized void record(String name, long durationNanos) {
+        if (!enabled) {
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            if (names[i].equals(name)) {
+                durations[i] += durationNanos;
+                counts[i]++;
+                return;
+            }
+        }
+        if (size < MAX_PHASES) {
+            names[size] = name;
+            durations[size] = durationNanos;
+            counts[size] = 1;
+            size++;
+        }
+    }
+
+    public synchronized boolean hasPhase(String name) {
+        return Arrays.asList(names).subList(0, size).contains(name);
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    /**
+     * Formats the recorded phases plus the elapsed total, e.g.
+     * {@code auth;dur=1.2, s3-list;dur=8.4;desc="2 calls", total;dur=10.1}.
+     */
+    public synchronized String toServerTimingHeader() {
+        StringBuilder header = new StringBuilder(32 * (size + 1));
+        for (int i = 0; i < size; i++) {
+            header.append(names[i]).append(";dur=").append(millis(durations[i]));
+            if (counts[i] > 1) {
+                header.append(";desc=\"").append(counts[i]).append(" calls\"");
+            }
+            header.append(", ");
+        }
+        return header.append(TOTAL).append(";dur=").append(millis(elapsedNanos())).toString();
+    }
+
+    /**
+     * Formats the recorded phases as space separated {@code name=millis} pairs for logging.
+     */
+    public synchronized String toLogString() {
+        StringBuilder line = new StringBuilder(24 * (size + 1));
+        for (int i = 0; i < size; i++) {
+            line.append(names[i]).append("Ms=").append(millis(durations[i]));
+            if (counts[i] > 1) {
+                line.append(' ').append(names[i]).append("Calls=").append(counts[i]);
+            }
+            line.append(' ');
+        }
+        return line.append(TOTAL).append("Ms=").append(millis(elapsedNanos())).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.valueOf(nanos / 10_000 / 100.0);
+    }
+
+    /**
+     * A running phase; closing it records its duration.
+     */
+    public final class Phase implements AutoCloseable {
+        private final String name;
+        private final long phaseStart;
+
+        private Phase(String name, long phaseStart) {
+            this.name = name;
+            this.phaseStart = phaseStart;
+        }
+
+        @Override
+        public void close() {
+            if (enabled) {
+                record(name, System.nanoTime() - phaseStart);
+            }
+        }
+    }
+}
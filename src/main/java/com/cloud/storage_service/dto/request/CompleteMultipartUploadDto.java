@@ -0,0 +1,17 @@
+package com.cloud.storage_service.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class CompleteMultipartUploadDto {
+    private String uploadId;
+    private List<UploadedPartDto> parts;
+}
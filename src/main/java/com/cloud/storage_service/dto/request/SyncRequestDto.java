@@ -0,0 +1,21 @@
+package com.cloud.storage_service.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class SyncRequestDto {
+    private String source;
+    private String target;
+    private String sourcePrefix;
+    private String targetPrefix;
+    private boolean dryRun;
+    private boolean deleteExtraneous;
+    @Builder.Default
+    private boolean resume = true;
+}
@@ -0,0 +1,15 @@
+package com.cloud.storage_service.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Builder
+public class UploadedPartDto {
+    private int partNumber;
+    private String etag;
+}
@@ -0,0 +1,26 @@
+package com.cloud.storage_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChapterManifestDto {
+    private String provider;
+    private String prefix;
+    private int pageCount;
+    private long totalBytes;
+    private Instant generatedAt;
+    /**
+     * When the presigned page URLs stop working, or null for CDN URLs.
+     */
+    private Instant urlsExpireAt;
+    private List<ManifestPageDto> pages;
+}
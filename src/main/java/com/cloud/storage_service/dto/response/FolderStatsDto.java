@@ -0,0 +1,20 @@
+package com.cloud.storage_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FolderStatsDto {
+    private String provider;
+    private String prefix;
+    private long totalBytes;
+    private long objectCount;
+    private Instant lastModified;
+}
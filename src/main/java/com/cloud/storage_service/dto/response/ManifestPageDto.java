@@ -0,0 +1,23 @@
+package com.cloud.storage_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ManifestPageDto {
+    private String key;
+    private String name;
+    private long size;
+    /**
+     * Pixel dimensions, or null when the image header could not be read.
+     */
+    private Integer width;
+    private Integer height;
+    private String etag;
+    private String url;
+}
@@ -0,0 +1,21 @@
+package com.cloud.storage_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MultipartUploadDto {
+    private String key;
+    private String uploadId;
+    private long partSize;
+    private List<PresignedPartDto> parts;
+    private Instant expiresAt;
+}
@@ -0,0 +1,17 @@
+package com.cloud.storage_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PresignedPartDto {
+    private int partNumber;
+    private long offset;
+    private long size;
+    private String url;
+}
@@ -0,0 +1,24 @@
+package com.cloud.storage_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PresignedUploadDto {
+    private String key;
+    private String method;
+    private String url;
+    /**
+     * Headers that were signed and must be sent unchanged with the upload.
+     */
+    private Map<String, String> headers;
+    private Instant expiresAt;
+}
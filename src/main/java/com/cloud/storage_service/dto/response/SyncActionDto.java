@@ -0,0 +1,20 @@
+package com.cloud.storage_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SyncActionDto {
+    public static final String COPY = "COPY";
+    public static final String DELETE = "DELETE";
+
+    private String action;
+    private String sourceKey;
+    private String targetKey;
+    private long size;
+}
@@ -0,0 +1,29 @@
+package com.cloud.storage_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder(toBuilder = true)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SyncResultDto {
+    private String syncId;
+    private String status;
+    private String error;
+    private boolean dryRun;
+    private String resumedFrom;
+    private String checkpoint;
+    private long scanned;
+    private long copied;
+    private long deleted;
+    private long skipped;
+    private long failed;
+    private long bytesTransferred;
+    private boolean planTruncated;
+    private List<SyncActionDto> plan;
+}
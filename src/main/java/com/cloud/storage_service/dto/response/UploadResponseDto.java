@@ -15,4 +15,9 @@ public class UploadResponseDto {
     private Long size;
     private String mimeType;
     private String url;
+    /**
+     * True when the content was already stored and the upload was skipped or served by a
+     * server-side copy.
+     */
+    private boolean deduplicated;
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.cloud.storage_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UploadSessionDto {
+    private String sessionId;
+    private String provider;
+    private String key;
+    private long size;
+    private long chunkSize;
+    private long committedOffset;
+    private Instant expiresAt;
+}
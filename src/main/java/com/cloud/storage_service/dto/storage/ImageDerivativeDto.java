@@ -0,0 +1,24 @@
+package com.cloud.storage_service.dto.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.InputStream;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImageDerivativeDto {
+    /**
+     * The stored variant; its key is the derived key.
+     */
+    private ObjectSummaryDto summary;
+    private InputStream inputStream;
+    /**
+     * Whether the variant was already stored, rather than rendered for this request.
+     */
+    private boolean cached;
+}
@@ -0,0 +1,22 @@
+package com.cloud.storage_service.dto.storage;
+
+/**
+ * Published by the provider services after they write or delete an object, so in-process
+ * caches of bucket contents can follow the service's own changes without re-listing.
+ *
+ * @param summary the object as written, or null when it was deleted
+ */
+public record ObjectChangedEvent(String provider, String key, ObjectSummaryDto summary) {
+
+    public static ObjectChangedEvent written(String provider, ObjectSummaryDto summary) {
+        return new ObjectChangedEvent(provider, summary.getKey(), summary);
+    }
+
+    public static ObjectChangedEvent deleted(String provider, String key) {
+        return new ObjectChangedEvent(provider, key, null);
+    }
+
+    public boolean isDeleted() {
+        return summary == null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.cloud.storage_service.dto.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ObjectListingDto {
+    private List<ObjectSummaryDto> objects;
+    private String nextStartAfter;
+
+    public boolean isTruncated() {
+        return nextStartAfter != null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.cloud.storage_service.dto.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ObjectSummaryDto {
+    private String key;
+    private long size;
+    private String etag;
+    private Instant lastModified;
+    private String contentType;
+    /**
+     * SHA-256 of the content as read back, from the object's metadata; only set by a HEAD, and
+     * only when the object was stored with it.
+     */
+    private String contentSha256;
+    /**
+     * ETag of the object a sync copied this one from, from the object's metadata; only set by a
+     * HEAD, and only on sync copies.
+     */
+    private String syncSourceEtag;
+}
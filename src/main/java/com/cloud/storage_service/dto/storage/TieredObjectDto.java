@@ -0,0 +1,21 @@
+package com.cloud.storage_service.dto.storage;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.InputStream;
+
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TieredObjectDto {
+    public static final String HOT = "hot";
+    public static final String COLD = "cold";
+
+    private String tier;
+    private ObjectSummaryDto summary;
+    private InputStream inputStream;
+}
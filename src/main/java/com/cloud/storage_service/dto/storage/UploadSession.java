@@ -0,0 +1,69 @@
+package com.cloud.storage_service.dto.storage;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server-side state of a resumable upload. Part i (1-based) covers bytes
+ * {@code [(i - 1) * chunkSize, i * chunkSize)}; its ETag is null until the part is stored.
+ * <p>
+ * The part list is only touched under the session's monitor, but the committed offset and
+ * whether a chunk is being stored can be read without it, so status polls never wait behind
+ * a part upload.
+ */
+@Builder
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UploadSession {
+    private String sessionId;
+    private String ownerId;
+    private String provider;
+    private String key;
+    private String uploadId;
+    private String contentType;
+    private long size;
+    private long chunkSize;
+    private List<String> partEtags;
+    private Instant createdAt;
+    private volatile Instant lastActivity;
+    @JsonIgnore
+    private final AtomicLong committedOffset = new AtomicLong();
+    @JsonIgnore
+    private final AtomicBoolean chunkInFlight = new AtomicBoolean();
+
+    /**
+     * Bytes stored without gaps from the start of the file; the client resumes from here.
+     */
+    public long committedOffset() {
+        return committedOffset.get();
+    }
+
+    /**
+     * Records a stored part. Called with the session's monitor held.
+     */
+    public void commitPart(int partNumber, String etag) {
+        partEtags.set(partNumber - 1, etag);
+        refreshCommittedOffset();
+    }
+
+    /**
+     * Recomputes the committed offset from the part list, e.g. after the session was read back
+     * from disk.
+     */
+    public void refreshCommittedOffset() {
+        int contiguous = 0;
+        while (contiguous < partEtags.size() && partEtags.get(contiguous) != null) {
+            contiguous++;
+        }
+        committedOffset.set(Math.min(size, contiguous * chunkSize));
+    }
+}
@@ -0,0 +1,14 @@
+package com.cloud.storage_service.exception;
+
+import java.io.IOException;
+
+/**
+ * Bytes read from or written to the object store do not match the checksum recorded for
+ * them. An {@link IOException} so it can be raised from inside a stream read.
+ */
+public class ChecksumMismatchException extends IOException {
+
+    public ChecksumMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.cloud.storage_service.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * The service is at capacity and did not admit the request. Surfaced to clients as 503
+ * with {@code Retry-After}.
+ */
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
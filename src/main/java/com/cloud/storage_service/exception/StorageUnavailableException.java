@@ -0,0 +1,12 @@
+package com.cloud.storage_service.exception;
+
+/**
+ * An object store could not serve a call because of a transient condition (timeouts,
+ * throttling, 5xx) that persisted through retries. Surfaced to clients as 503.
+ */
+public class StorageUnavailableException extends RuntimeException {
+
+    public StorageUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,39 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.admission")
+public class AdmissionProperties {
+    /**
+     * Admits uploads, downloads and ZIP builds only while their reserved bytes fit the memory budget.
+     */
+    private boolean enabled = true;
+    /**
+     * Total bytes that in-flight transfers may reserve; 0 derives it from heap-fraction of the max heap.
+     */
+    private long memoryBudgetBytes;
+    private double heapFraction = 0.5;
+    /**
+     * Bytes reserved by a streamed download for its buffers, independent of object size.
+     */
+    private long streamReservationBytes = 256 * 1024;
+    /**
+     * How long a request may queue for budget before it is answered with 503.
+     */
+    private Duration queueTimeout = Duration.ofSeconds(2);
+    private Duration retryAfter = Duration.ofSeconds(2);
+
+    public long resolveMemoryBudgetBytes() {
+        return memoryBudgetBytes > 0
+                ? memoryBudgetBytes
+                : (long) (Runtime.getRuntime().maxMemory() * heapFraction);
+    }
+}
@@ -0,0 +1,25 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.checksum")
+public class ChecksumProperties {
+    /**
+     * Checksums uploads and whole-object downloads on the streaming path and fails transfers
+     * whose bytes do not match: CRC32C additional checksums on S3, and on MinIO the MD5 ETag
+     * of single-part objects and staged multipart parts unless {@link #minioMd5} is cleared.
+     */
+    private boolean enabled = true;
+    /**
+     * Verifies MinIO transfers against their MD5 ETag, the only checksum MinIO returns. MD5
+     * costs about 40 times as much CPU per byte as CRC32C; clearing this saves that CPU but
+     * leaves MinIO transfers unverified.
+     */
+    private boolean minioMd5 = true;
+}
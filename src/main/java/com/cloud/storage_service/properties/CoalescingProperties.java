@@ -0,0 +1,28 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.coalescing")
+public class CoalescingProperties {
+    /**
+     * Shares one upstream GET between concurrent reads of the same key, version and range.
+     */
+    private boolean enabled = true;
+    /**
+     * Bytes of each shared fetch kept for fan-out, which is also as far as the fetch reads
+     * ahead of its leading reader; readers that fall this far behind the leader switch to
+     * their own ranged GET.
+     */
+    private int bufferBytes = 4 * 1024 * 1024;
+    private int chunkBytes = 64 * 1024;
+    /**
+     * Maximum number of shared fetches in progress; further keys are fetched directly.
+     */
+    private int maxFlights = 64;
+}
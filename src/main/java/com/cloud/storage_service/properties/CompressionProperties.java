@@ -0,0 +1,49 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.compression")
+public class CompressionProperties {
+    /**
+     * Stores uploads of compressible content types gzip-encoded. They are served as stored to
+     * clients that accept gzip and decoded on the fly for the others.
+     */
+    private boolean enabled;
+    /**
+     * Key prefixes whose uploads are compressed; empty compresses under every prefix.
+     */
+    private List<String> prefixes = new ArrayList<>();
+    /**
+     * Compressible content types; wildcards such as text/* and application/*+json match.
+     */
+    private List<String> contentTypes = new ArrayList<>(List.of(
+            "application/json", "application/*+json", "application/xml", "application/*+xml",
+            "application/javascript", "image/svg+xml", "text/*"));
+    /**
+     * Smaller files are stored as they are; gzip framing outweighs the savings.
+     */
+    private long minBytes = 1024;
+    /**
+     * Larger files are stored as they are. Files are compressed in memory, since the stored
+     * size must be known before the upload starts, and the buffer is reserved against the
+     * transfer admission budget for as long as it is held.
+     */
+    private long maxBytes = 16L * 1024 * 1024;
+    /**
+     * gzip level from 1 (fastest) to 9 (smallest).
+     */
+    private int level = 6;
+    /**
+     * A file whose compressed size is above this fraction of the original is stored as it is.
+     */
+    private double maxStoredRatio = 0.9;
+}
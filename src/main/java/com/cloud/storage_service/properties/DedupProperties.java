@@ -0,0 +1,22 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.dedup")
+public class DedupProperties {
+    /**
+     * Hashes uploaded files and skips or server-side copies those whose content is already
+     * stored, instead of uploading the bytes again.
+     */
+    private boolean enabled;
+    /**
+     * Digests remembered locally, each pointing at one key that holds that content.
+     */
+    private long cacheMaxEntries = 100_000;
+}
@@ -0,0 +1,54 @@
+package com.cloud.storage_service.properties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.derivative-pipeline")
+public class DerivativePipelineProperties {
+    /**
+     * Renders the configured image variants in the background as soon as an image is
+     * uploaded, instead of on its first read. Needs app.image-derivatives.
+     */
+    private boolean enabled;
+    private List<String> providers = List.of("s3");
+    /**
+     * Only uploads under these prefixes get variants.
+     */
+    private List<String> prefixes = List.of("webtoons-content/");
+    private List<Variant> variants = List.of(
+            new Variant("thumbnail", 240, 75, "jpeg"),
+            new Variant("mobile", 720, 80, "jpeg"));
+    private int workerThreads = 2;
+    private int queueSize = 500;
+    /**
+     * How long an upload waits for room in a full queue before its variants are left to
+     * the next rescan.
+     */
+    private Duration enqueueTimeout = Duration.ofMillis(100);
+    /**
+     * Objects modified within this window are checked for missing variants on each rescan,
+     * which picks up jobs lost to a restart or a full queue.
+     */
+    private Duration rescanWindow = Duration.ofDays(1);
+    private Duration rescanDelay = Duration.ofMinutes(1);
+    private Duration rescanInterval = Duration.ofHours(6);
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Data
+    public static class Variant {
+        private String name;
+        private int width;
+        private int quality = 80;
+        private String format = "jpeg";
+    }
+}
@@ -0,0 +1,22 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.folder-stats")
+public class FolderStatsProperties {
+    /**
+     * Keeps total bytes, object count and last-modified for every folder. Needs the key
+     * index (app.key-index) for the same providers.
+     */
+    private boolean enabled;
+    /**
+     * Upper bound on the size of a largest-folders view.
+     */
+    private int maxTopFolders = 100;
+}
@@ -0,0 +1,43 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.image-derivatives")
+public class ImageDerivativeProperties {
+    /**
+     * Serves resized and re-encoded variants of stored images, rendering each variant once
+     * and keeping it in the bucket.
+     */
+    private boolean enabled;
+    /**
+     * Bucket prefix the rendered variants are stored under.
+     */
+    private String derivedPrefix = "derived/";
+    private int workerThreads = 4;
+    /**
+     * Renders waiting for a worker; further requests for unrendered variants are rejected.
+     */
+    private int queueSize = 64;
+    /**
+     * How long a request waits for its variant to be rendered.
+     */
+    private Duration renderTimeout = Duration.ofSeconds(30);
+    private int maxWidth = 2048;
+    /**
+     * Larger sources are not resized, which bounds the heap one render can take.
+     */
+    private long maxSourceBytes = 32L * 1024 * 1024;
+    private long maxSourcePixels = 40_000_000;
+    /**
+     * Variants remembered locally as already rendered, so serving them skips the HEAD.
+     */
+    private long cacheMaxEntries = 100_000;
+}
@@ -0,0 +1,32 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.jwt")
+public class JwtProperties {
+    /**
+     * Reuses validated tokens instead of re-verifying their signature on every request.
+     * Entries never outlive the token's own exp claim.
+     */
+    private boolean cacheEnabled = true;
+    private long cacheMaxEntries = 50_000;
+    private Duration cacheMaxTtl = Duration.ofMinutes(10);
+    /**
+     * How long fetched JWKS keys are trusted, and how long before expiry they are refreshed
+     * in the background so requests never wait on the JWKS endpoint.
+     */
+    private Duration jwksTtl = Duration.ofMinutes(15);
+    private Duration jwksRefreshAhead = Duration.ofMinutes(2);
+    /**
+     * Longest a caller may wait for an in-progress JWKS fetch, e.g. on an unknown key id.
+     */
+    private Duration jwksRefreshTimeout = Duration.ofSeconds(15);
+}
@@ -0,0 +1,30 @@
+package com.cloud.storage_service.properties;
+
+import com.cloud.storage_service.constants.GeneralConstant;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.key-index")
+public class KeyIndexProperties {
+    /**
+     * Keeps every bucket key in memory and answers folder listings from it.
+     */
+    private boolean enabled;
+    private List<String> providers = new ArrayList<>(List.of(GeneralConstant.Provider.S3,
+            GeneralConstant.Provider.MINIO));
+    /**
+     * Key ranges scanned independently. The initial build scans them in parallel; afterwards
+     * one range per provider is rescanned every rescan-interval.
+     */
+    private int partitions = 16;
+    private int scanParallelism = 8;
+    private int pageSize = 1000;
+}
@@ -0,0 +1,45 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.manifest")
+public class ManifestProperties {
+    /**
+     * Serves chapter manifests: a chapter's pages in reading order with their URLs, cached
+     * until something under the chapter is written or deleted.
+     */
+    private boolean enabled;
+    private long cacheMaxEntries = 10_000;
+    /**
+     * Upper bound on a manifest's age, which picks up changes made by other clients. With
+     * presigned URLs it is also capped at half the URL lifetime, so cached URLs stay usable.
+     */
+    private Duration cacheTtl = Duration.ofMinutes(10);
+    /**
+     * Lifetime of presigned page URLs.
+     */
+    private Duration urlExpiry = Duration.ofMinutes(30);
+    /**
+     * When set, page URLs point at this CDN origin followed by the object key instead of
+     * being presigned.
+     */
+    private String cdnBaseUrl;
+    /**
+     * Bytes read from the start of each page to find its dimensions.
+     */
+    private long probeBytes = 64 * 1024;
+    private int probeThreads = 8;
+    private Duration probeTimeout = Duration.ofSeconds(10);
+    /**
+     * Page dimensions remembered by key and ETag, so rebuilding a manifest only probes new pages.
+     */
+    private long dimensionCacheMaxEntries = 500_000;
+}
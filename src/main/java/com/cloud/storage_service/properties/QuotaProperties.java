@@ -0,0 +1,41 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.quota")
+public class QuotaProperties {
+    /**
+     * Enforces per-user request-rate and egress bandwidth limits, keyed on the
+     * authenticated subject (falling back to the client address).
+     */
+    private boolean enabled = true;
+    /**
+     * Sustained requests per second per user, and how many may arrive at once; requests
+     * beyond it are rejected with 429.
+     */
+    private double requestsPerSecond = 50;
+    private double requestBurst = 100;
+    /**
+     * Sustained response bytes per second per user, and how many may be sent at full speed;
+     * beyond it responses are slowed down rather than rejected.
+     */
+    private long bytesPerSecond = 50L * 1024 * 1024;
+    private long byteBurst = 16L * 1024 * 1024;
+    /**
+     * Largest write paced as one unit, so throttled downloads flow smoothly.
+     */
+    private int throttleChunkBytes = 64 * 1024;
+    /**
+     * Bound on tracked users; idle users are forgotten after idle-expiry.
+     */
+    private long maxUsers = 100_000;
+    private Duration idleExpiry = Duration.ofMinutes(10);
+}
@@ -0,0 +1,124 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.resilience")
+public class ResilienceProperties {
+    private Retry retry = new Retry();
+    private Hedging hedging = new Hedging();
+    private Bulkhead bulkhead = new Bulkhead();
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    @NoArgsConstructor
+    @Data
+    public static class Retry {
+        private boolean enabled = true;
+        /**
+         * Attempts per call, including the first one.
+         */
+        private int maxAttempts = 3;
+        /**
+         * Backoff before retry n is a random delay up to base-delay * 2^(n-1), capped at max-delay.
+         */
+        private Duration baseDelay = Duration.ofMillis(50);
+        private Duration maxDelay = Duration.ofSeconds(2);
+        /**
+         * Retry tokens earned per successful call; one token is spent per retry, so retries
+         * stay under this share of traffic when a backend is failing broadly.
+         */
+        private double budgetRatio = 0.1;
+        private double budgetCapacity = 20;
+        /**
+         * Idempotent operations that may be retried; uploads stream their body once and are never retried.
+         */
+        private List<String> operations = List.of("get", "head", "list", "delete", "copy");
+    }
+
+    @NoArgsConstructor
+    @Data
+    public static class Hedging {
+        /**
+         * Sends a second request for slow idempotent reads and uses whichever answers first.
+         */
+        private boolean enabled;
+        private List<String> operations = List.of("get", "head", "list");
+        /**
+         * A hedge is sent once the call has been waiting longer than this percentile of recent latencies.
+         */
+        private double delayPercentile = 0.95;
+        private Duration minDelay = Duration.ofMillis(20);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        /**
+         * Samples kept per provider and operation, and how many are needed before hedging starts.
+         */
+        private int windowSize = 1024;
+        private int minSamples = 100;
+        /**
+         * Hedges allowed as a share of calls.
+         */
+        private double budgetRatio = 0.05;
+        private double budgetCapacity = 10;
+        /**
+         * Upper bound on concurrently running hedged calls; beyond it calls run unhedged.
+         */
+        private int maxConcurrency = 256;
+    }
+
+    @NoArgsConstructor
+    @Data
+    public static class Bulkhead {
+        /**
+         * Caps concurrent calls per provider so a slow backend cannot hold every request thread.
+         */
+        private boolean enabled = true;
+        private int maxConcurrentCalls = 64;
+        /**
+         * Per-provider overrides of max-concurrent-calls, keyed by provider name.
+         */
+        private Map<String, Integer> providerMaxConcurrentCalls = new HashMap<>();
+        /**
+         * How long a call may wait for a free slot; zero rejects immediately when full.
+         */
+        private Duration maxWait = Duration.ZERO;
+
+        public int maxConcurrentCallsFor(String provider) {
+            return providerMaxConcurrentCalls.getOrDefault(provider, maxConcurrentCalls);
+        }
+    }
+
+    @NoArgsConstructor
+    @Data
+    public static class CircuitBreaker {
+        private boolean enabled = true;
+        /**
+         * Percentage of transient failures (timeouts, throttling, 5xx) in the window that opens the circuit.
+         */
+        private float failureRateThreshold = 50;
+        /**
+         * Percentage of calls slower than slow-call-duration in the window that opens the circuit.
+         */
+        private float slowCallRateThreshold = 80;
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+        /**
+         * Number of most recent calls the rates are computed over, and the minimum before they apply.
+         */
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        /**
+         * Time calls are rejected before a few trial calls are let through.
+         */
+        private Duration waitInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 5;
+    }
+}
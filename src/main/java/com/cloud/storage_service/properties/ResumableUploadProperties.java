@@ -0,0 +1,33 @@
+package com.cloud.storage_service.properties;
+
+import com.cloud.storage_service.constants.GeneralConstant;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.resumable")
+public class ResumableUploadProperties {
+    /**
+     * Provider used when a session does not name one.
+     */
+    private String defaultProvider = GeneralConstant.Provider.S3;
+    /**
+     * Chunk size handed to clients; each chunk becomes one multipart part, so it is never
+     * below the 5 MiB part minimum and grows to keep uploads within 10,000 parts.
+     */
+    private long chunkSizeBytes = 8L * 1024 * 1024;
+    /**
+     * Sessions without a chunk for this long are aborted and their parts discarded.
+     */
+    private Duration idleTimeout = Duration.ofHours(24);
+    /**
+     * Directory where open sessions are persisted, so they survive a restart.
+     */
+    private String sessionDir = System.getProperty("java.io.tmpdir") + "/storage-uploads";
+}
@@ -0,0 +1,26 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.search")
+public class SearchProperties {
+    /**
+     * Serves filename search from a trigram index. Needs the key index (app.key-index) for the
+     * same providers.
+     */
+    private boolean enabled;
+    /**
+     * Age after which the trigram index is rebuilt from the key index, picking up objects
+     * changed by other clients. The service's own writes are searchable immediately.
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(5);
+    private int maxPageSize = 200;
+}
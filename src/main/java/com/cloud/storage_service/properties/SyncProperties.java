@@ -0,0 +1,43 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.sync")
+public class SyncProperties {
+    /**
+     * Maximum number of objects copied or deleted concurrently.
+     */
+    private int parallelism = 4;
+    /**
+     * Number of keys requested per listing page from each side.
+     */
+    private int pageSize = 1000;
+    /**
+     * Number of planned actions executed before the checkpoint is advanced.
+     */
+    private int batchSize = 200;
+    /**
+     * Maximum number of actions returned in a dry-run plan.
+     */
+    private int planLimit = 1000;
+    /**
+     * Directory holding resume checkpoints of interrupted syncs.
+     */
+    private String checkpointDir = System.getProperty("java.io.tmpdir") + "/storage-sync";
+    /**
+     * Syncs run in the background; further requests are refused with a 503 while this many run.
+     */
+    private int maxConcurrentSyncs = 2;
+    /**
+     * How long the progress or outcome of a sync can be fetched after it last changed.
+     */
+    private Duration resultTtl = Duration.ofHours(24);
+}
@@ -0,0 +1,55 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.tiering")
+public class TieringProperties {
+    /**
+     * Enables the MinIO (hot) / S3 (cold) tiered read path and its background jobs.
+     */
+    private boolean enabled;
+    /**
+     * Copies objects read from the cold tier into the hot tier once they become popular.
+     */
+    private boolean promoteOnRead = true;
+    /**
+     * Estimated recent reads needed before a cold object is promoted.
+     */
+    private int promoteThreshold = 2;
+    /**
+     * Objects larger than this are always served from the cold tier.
+     */
+    private long promoteMaxBytes = 32L * 1024 * 1024;
+    private int promotionThreads = 2;
+    private int promotionQueueSize = 100;
+    /**
+     * Moves hot objects that have not been read recently down to the cold tier.
+     */
+    private boolean demoteEnabled = true;
+    private Duration demoteInterval = Duration.ofHours(1);
+    /**
+     * Interval at which read counts are halved; an object idle for about this long reads as cold.
+     */
+    private Duration agingInterval = Duration.ofHours(6);
+    /**
+     * Hot objects younger than this are never demoted, whatever their read count.
+     */
+    private Duration minResidency = Duration.ofDays(1);
+    /**
+     * Prefixes of the hot tier scanned by the demoter.
+     */
+    private List<String> demotePrefixes = List.of("webtoons-content/");
+    /**
+     * Number of counters per sketch row; memory use is width * 2 bytes.
+     */
+    private int sketchWidth = 1 << 16;
+}
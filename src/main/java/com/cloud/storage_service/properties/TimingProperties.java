@@ -0,0 +1,25 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.timing")
+public class TimingProperties {
+    /**
+     * Records per-phase request timings.
+     */
+    private boolean enabled = true;
+    /**
+     * Emits the timings as a Server-Timing response header.
+     */
+    private boolean headerEnabled = true;
+    /**
+     * Emits one timing log line per request.
+     */
+    private boolean logEnabled = true;
+}
@@ -0,0 +1,61 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.transport")
+public class TransportProperties {
+    /**
+     * HTTP transport of the AWS SDK S3Client.
+     */
+    private Client s3 = new Client();
+    /**
+     * HTTP transport of the MinioClient (always OkHttp; {@code http-client} is ignored).
+     */
+    private Client minio = new Client();
+
+    public enum HttpClientType {
+        APACHE,
+        URL_CONNECTION
+    }
+
+    @NoArgsConstructor
+    @Data
+    public static class Client {
+        private HttpClientType httpClient = HttpClientType.APACHE;
+        /**
+         * Pooled connections, and for MinIO also the cap on concurrent calls to the endpoint.
+         */
+        private int maxConnections = 128;
+        /**
+         * How long a call waits for a pooled connection before failing (Apache client only).
+         */
+        private Duration connectionAcquisitionTimeout = Duration.ofSeconds(10);
+        private Duration connectionTimeout = Duration.ofSeconds(5);
+        /**
+         * Read/write inactivity timeout on an established connection.
+         */
+        private Duration socketTimeout = Duration.ofSeconds(60);
+        /**
+         * Maximum age of a pooled connection, so load spreads over new endpoint addresses
+         * (Apache client only; zero keeps connections indefinitely).
+         */
+        private Duration connectionTimeToLive = Duration.ofMinutes(5);
+        /**
+         * Idle connections older than this are evicted from the pool.
+         */
+        private Duration connectionMaxIdleTime = Duration.ofSeconds(60);
+        private boolean tcpKeepAlive = true;
+        /**
+         * Publishes storage.client.pool.* gauges for this client.
+         */
+        private boolean metricsEnabled = true;
+    }
+}
@@ -0,0 +1,28 @@
+package com.cloud.storage_service.properties;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@NoArgsConstructor
+@Data
+@ConfigurationProperties("app.upload")
+public class UploadProperties {
+    /**
+     * How long presigned upload URLs stay valid.
+     */
+    private Duration presignTtl = Duration.ofMinutes(15);
+    /**
+     * Largest file issued a single presigned PUT; bigger files must use multipart.
+     */
+    private long maxSinglePutBytes = 100L * 1024 * 1024;
+    /**
+     * Preferred multipart part size. Raised automatically so no upload needs more than
+     * the S3 limit of 10,000 parts; S3 requires at least 5 MiB for all but the last part.
+     */
+    private long partSizeBytes = 16L * 1024 * 1024;
+}
@@ -0,0 +1,11 @@
+package com.cloud.storage_service.service;
+
+import com.cloud.storage_service.dto.response.ChapterManifestDto;
+
+public interface ChapterManifestService {
+    /**
+     * Images directly under the chapter prefix in natural order ("2" before "10"), with
+     * their size, dimensions, ETag and a URL to fetch each one directly.
+     */
+    ChapterManifestDto getManifest(String provider, String prefix);
+}
@@ -0,0 +1,26 @@
+package com.cloud.storage_service.service;
+
+import com.cloud.storage_service.dto.request.CompleteMultipartUploadDto;
+import com.cloud.storage_service.dto.response.MultipartUploadDto;
+import com.cloud.storage_service.dto.response.PresignedUploadDto;
+import com.cloud.storage_service.dto.response.UploadResponseDto;
+
+/**
+ * Uploads that go from the client straight to the bucket. The service only signs URLs
+ * for keys under the caller's prefix; the bytes never pass through it.
+ */
+public interface DirectUploadService {
+    PresignedUploadDto presignUpload(String prefix, String fileName, String contentType, long size);
+
+    /**
+     * Confirms a presigned single PUT once the client has finished it, so the object is
+     * picked up like any other upload.
+     */
+    UploadResponseDto completeUpload(String prefix, String fileName);
+
+    MultipartUploadDto initiateMultipartUpload(String prefix, String fileName, String contentType, long size);
+
+    UploadResponseDto completeMultipartUpload(String prefix, String fileName, CompleteMultipartUploadDto request);
+
+    void abortMultipartUpload(String prefix, String fileName, String uploadId);
+}
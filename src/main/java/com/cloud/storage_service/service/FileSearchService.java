@@ -0,0 +1,8 @@
+package com.cloud.storage_service.service;
+
+import com.cloud.storage_service.dto.storage.ObjectListingDto;
+
+public interface FileSearchService {
+    ObjectListingDto search(String provider, String prefix, String term, String match, boolean caseSensitive,
+                            String startAfter, int limit);
+}
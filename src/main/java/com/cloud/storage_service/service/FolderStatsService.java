@@ -0,0 +1,11 @@
+package com.cloud.storage_service.service;
+
+import com.cloud.storage_service.dto.response.FolderStatsDto;
+
+import java.util.List;
+
+public interface FolderStatsService {
+    FolderStatsDto getStats(String provider, String prefix);
+
+    List<FolderStatsDto> getLargestFolders(String provider, String prefix, int limit);
+}
@@ -0,0 +1,25 @@
+package com.cloud.storage_service.service;
+
+import com.cloud.storage_service.dto.storage.ImageDerivativeDto;
+import com.cloud.storage_service.dto.storage.ObjectSummaryDto;
+
+public interface ImageDerivativeService {
+    /**
+     * Opens a resized, re-encoded variant of a stored image, rendering and storing it first
+     * when it does not exist yet. The caller must close the returned stream.
+     *
+     * @param width   maximum width in pixels; narrower images keep their size
+     * @param quality 1-100, for lossy formats
+     * @param format  jpeg or png
+     */
+    ImageDerivativeDto open(String provider, String key, int width, int quality, String format);
+
+    /**
+     * Renders and stores a variant of {@code source} unless it is stored already. The render
+     * runs on the calling thread, joining one already in progress for the same variant.
+     *
+     * @param source the source object; it is looked up again when its ETag is unknown
+     * @return true when this call rendered the variant
+     */
+    boolean prepare(String provider, ObjectSummaryDto source, int width, int quality, String format);
+}
@@ -1,4 +1,4 @@
 package com.cloud.storage_service.service;
 
-public interface MinioService {
+public interface MinioService extends ObjectStorageService {
 }
@@ -0,0 +1,89 @@
+package com.cloud.storage_service.service;
+
+import com.cloud.storage_service.dto.storage.ObjectListingDto;
+import com.cloud.storage_service.dto.storage.ObjectSummaryDto;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Provider-neutral view of an object store (MinIO, S3).
+ * Keys are always absolute bucket keys; listings are flat (no delimiter) and
+ * returned in the store's lexicographic key order.
+ */
+public interface ObjectStorageService {
+    /**
+     * Short provider name, e.g. "minio" or "s3".
+     */
+    String getProviderName();
+
+    /**
+     * Lists one page of objects under the prefix, starting strictly after the given key.
+     *
+     * @param prefix     key prefix to list, may be empty
+     * @param startAfter key to resume after, or null to start from the beginning
+     * @param maxKeys    maximum number of objects in the page
+     * @return the page, with {@code nextStartAfter} set when more objects remain
+     */
+    ObjectListingDto listObjects(String prefix, String startAfter, int maxKeys);
+
+    /**
+     * Returns object metadata, or null when the object does not exist.
+     */
+    ObjectSummaryDto headObject(String key);
+
+    /**
+     * Opens a stream over the object content. The caller must close it.
+     */
+    InputStream getObject(String key);
+
+    /**
+     * Opens a stream over {@code length} bytes of the object starting at {@code offset}.
+     * The caller must close it.
+     */
+    InputStream getObject(String key, long offset, long length);
+
+    /**
+     * Signs a URL that lets a client GET the object directly until it expires.
+     */
+    String presignGetObject(String key, Duration expiry);
+
+    default void putObject(String key, InputStream inputStream, long size, String contentType) {
+        putObject(key, inputStream, size, contentType, Map.of());
+    }
+
+    /**
+     * Stores the object with user metadata, such as {@code content-sha256}.
+     */
+    void putObject(String key, InputStream inputStream, long size, String contentType, Map<String, String> metadata);
+
+    void deleteObject(String key);
+
+    /**
+     * Starts an upload whose parts are sent independently and stitched into one object on
+     * completion. Every part but the last must be at least 5 MiB.
+     *
+     * @return handle identifying the upload in the other multipart calls
+     */
+    String startMultipartUpload(String key, String contentType);
+
+    /**
+     * Uploads, or replaces, one part of a multipart upload.
+     *
+     * @param partNumber 1-based part number
+     * @return the part's ETag
+     */
+    String uploadPart(String key, String uploadId, int partNumber, InputStream inputStream, long size);
+
+    /**
+     * Assembles the object from its parts, given in part-number order starting at 1.
+     */
+    void completeMultipartUpload(String key, String uploadId, String contentType, List<String> partEtags);
+
+    /**
+     * Discards a multipart upload and every part uploaded for it.
+     */
+    void abortMultipartUpload(String key, String uploadId);
+}
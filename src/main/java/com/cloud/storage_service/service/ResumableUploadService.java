@@ -0,0 +1,19 @@
+package com.cloud.storage_service.service;
+
+import com.cloud.storage_service.dto.response.UploadResponseDto;
+import com.cloud.storage_service.dto.response.UploadSessionDto;
+
+import java.io.InputStream;
+
+public interface ResumableUploadService {
+    UploadSessionDto createSession(String requestId, String userId, String provider, String prefix, String fileName,
+                                   String contentType, long size);
+
+    UploadSessionDto getSession(String userId, String sessionId);
+
+    UploadSessionDto uploadChunk(String userId, String sessionId, long offset, InputStream inputStream, long length);
+
+    UploadResponseDto completeSession(String requestId, String userId, String sessionId);
+
+    void abortSession(String userId, String sessionId);
+}
@@ -5,6 +5,6 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 
-public interface S3Service {
+public interface S3Service extends ObjectStorageService {
     UploadListResponseDto processUploadFiles(String requestId, List<MultipartFile> files, String prefix);
-}
\ No newline at end of file
+}
@@ -0,0 +1,15 @@
+package com.cloud.storage_service.service;
+
+import com.cloud.storage_service.dto.request.SyncRequestDto;
+import com.cloud.storage_service.dto.response.SyncResultDto;
+
+public interface SyncService {
+    /**
+     * Starts a sync in the background.
+     *
+     * @return the sync's id, with which {@link #status(String)} reports its progress
+     */
+    SyncResultDto sync(String requestId, SyncRequestDto request);
+
+    SyncResultDto status(String syncId);
+}
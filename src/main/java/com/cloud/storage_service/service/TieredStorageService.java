@@ -0,0 +1,18 @@
+package com.cloud.storage_service.service;
+
+import com.cloud.storage_service.dto.storage.TieredObjectDto;
+
+public interface TieredStorageService {
+    /**
+     * Opens the object from the hot tier, falling back to the cold tier on a miss.
+     * The caller must close the returned stream.
+     */
+    TieredObjectDto read(String requestId, String key);
+
+    /**
+     * Moves hot objects that have not been read recently down to the cold tier only.
+     *
+     * @return the number of demoted objects
+     */
+    int demoteIdleObjects();
+}
@@ -0,0 +1,263 @@
+package com.cloud.storage_service.service.impl;
+
+import com.cloud.storage_service.component.BucketKeyIndex;
+import com.cloud.storage_service.component.ObjectStorageRegistry;
+import com.cloud.storage_service.dto.response.ChapterManifestDto;
+import com.cloud.storage_service.dto.response.ManifestPageDto;
+import com.cloud.storage_service.dto.storage.ObjectChangedEvent;
+import com.cloud.storage_service.dto.storage.ObjectListingDto;
+import com.cloud.storage_service.dto.storage.ObjectSummaryDto;
+import com.cloud.storage_service.exception.WebException;
+import com.cloud.storage_service.properties.ManifestProperties;
+import com.cloud.storage_service.service.ChapterManifestService;
+import com.cloud.storage_service.service.ObjectStorageService;
+import com.cloud.storage_service.util.TrigramIndex;
+import com.cloud.storage_service.util.common.NaturalOrderComparator;
+import com.cloud.storage_service.util.image.ImageTranscoder;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriUtils;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.cloud.storage_service.constants.GeneralConstant.COLON;
+import static com.cloud.storage_service.constants.GeneralConstant.SLASH;
+import static com.cloud.storage_service.service.impl.S3ServiceImpl.ensureTrailingSlash;
+import static com.cloud.storage_service.util.common.StringUtils.normalizePrefix;
+
+/**
+ * Chapter manifests, so a reader opens a chapter with one call instead of a listing plus a
+ * presign per page. A manifest is built once (a listing, served from the key index when it
+ * is ready, plus a small ranged read per new page for its dimensions) and cached until the
+ * service writes or deletes something directly under the chapter, or until it ages out.
+ */
+@Slf4j
+@Service
+@SuppressWarnings({"PMD.AvoidCatchingGenericException"})
+public class ChapterManifestServiceImpl implements ChapterManifestService {
+    private static final int LIST_PAGE_SIZE = 1000;
+
+    private final ObjectStorageRegistry storageRegistry;
+    private final BucketKeyIndex keyIndex;
+    private final ManifestProperties properties;
+    private final AsyncCache<String, ChapterManifestDto> manifests;
+    private final Cache<String, ImageTranscoder.Dimensions> dimensions;
+    private final ExecutorService probeExecutor;
+
+    public ChapterManifestServiceImpl(ObjectStorageRegistry storageRegistry, BucketKeyIndex keyIndex,
+                                      ManifestProperties properties, MeterRegistry meterRegistry) {
+        this.storageRegistry = storageRegistry;
+        this.keyIndex = keyIndex;
+        this.properties = properties;
+        Duration ttl = usesCdn()
+                ? properties.getCacheTtl()
+                : min(properties.getCacheTtl(), properties.getUrlExpiry().dividedBy(2));
+        this.manifests = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxEntries())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.dimensions = Caffeine.newBuilder()
+                .maximumSize(properties.getDimensionCacheMaxEntries())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, manifests, "chapterManifests");
+        CaffeineCacheMetrics.monitor(meterRegistry, dimensions, "pageDimensions");
+        this.probeExecutor = Executors.newFixedThreadPool(properties.getProbeThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "manifest-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public ChapterManifestDto getManifest(String provider, String prefix) {
+        if (!properties.isEnabled()) {
+            throw new WebException("Chapter manifests are disabled");
+        }
+        String chapter = ensureTrailingSlash(normalizePrefix(prefix));
+        if (chapter.isEmpty()) {
+            throw new WebException("prefix is required");
+        }
+        ObjectStorageService storage = storageRegistry.get(provider);
+        // The first open of a chapter builds it on its own thread, outside the cache's lock, and
+        // concurrent opens wait on its future; a failed build is not cached
+        CompletableFuture<ChapterManifestDto> created = new CompletableFuture<>();
+        CompletableFuture<ChapterManifestDto> manifest = manifests.get(provider + COLON + chapter,
+                (ignored, executor) -> created);
+        if (manifest == created) {
+            try {
+                created.complete(build(provider, storage, chapter));
+            } catch (RuntimeException | Error e) {
+                created.completeExceptionally(e);
+            }
+        }
+        return join(manifest);
+    }
+
+    /**
+     * Drops the manifest of the folder the object is directly in. A build that is still running when this fires is dropped without waiting
+     * for it, so it cannot cache a listing taken before the change and the write that
+     * published the event is not held up.
+     */
+    @EventListener
+    public void onObjectChanged(ObjectChangedEvent event) {
+        String key = event.key();
+        String folder = key.substring(0, key.lastIndexOf(SLASH) + 1);
+        manifests.synchronous().invalidate(event.provider() + COLON + folder);
+    }
+
+    private ChapterManifestDto build(String provider, ObjectStorageService storage, String chapter) {
+        long started = System.nanoTime();
+        List<ObjectSummaryDto> files = listFiles(provider, storage, chapter);
+        files.removeIf(file -> !ImageTranscoder.isReadableImage(file.getKey(), file.getContentType()));
+        files.sort(Comparator.comparing(file -> TrigramIndex.fileName(file.getKey()),
+                NaturalOrderComparator.INSTANCE));
+
+        List<CompletableFuture<ImageTranscoder.Dimensions>> probes = new ArrayList<>(files.size());
+        for (ObjectSummaryDto file : files) {
+            probes.add(dimensionsOf(provider, storage, file));
+        }
+        long deadline = System.nanoTime() + properties.getProbeTimeout().toNanos();
+
+        Instant now = Instant.now();
+        Instant urlsExpireAt = usesCdn() ? null : now.plus(properties.getUrlExpiry());
+        List<ManifestPageDto> pages = new ArrayList<>(files.size());
+        long totalBytes = 0;
+        for (int i = 0; i < files.size(); i++) {
+            ObjectSummaryDto file = files.get(i);
+            ImageTranscoder.Dimensions size = await(probes.get(i), deadline);
+            pages.add(ManifestPageDto.builder()
+                    .key(file.getKey())
+                    .name(TrigramIndex.fileName(file.getKey()))
+                    .size(file.getSize())
+                    .width(size != null ? size.width() : null)
+                    .height(size != null ? size.height() : null)
+                    .etag(file.getEtag())
+                    .url(url(storage, file.getKey()))
+                    .build());
+            totalBytes += file.getSize();
+        }
+        log.info("Built {} manifest of {} with {} pages in {} ms", provider, chapter, pages.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        return ChapterManifestDto.builder()
+                .provider(provider)
+                .prefix(chapter)
+                .pageCount(pages.size())
+                .totalBytes(totalBytes)
+                .generatedAt(now)
+                .urlsExpireAt(urlsExpireAt)
+                .pages(pages)
+                .build();
+    }
+
+    /**
+     * Files directly under the chapter, from the key index when it is built, otherwise listed.
+     */
+    private List<ObjectSummaryDto> listFiles(String provider, ObjectStorageService storage, String chapter) {
+        BucketKeyIndex.Listing listing = keyIndex.list(provider, chapter);
+        if (listing != null) {
+            return new ArrayList<>(listing.files());
+        }
+        List<ObjectSummaryDto> files = new ArrayList<>();
+        String startAfter = null;
+        do {
+            ObjectListingDto page = storage.listObjects(chapter, startAfter, LIST_PAGE_SIZE);
+            for (ObjectSummaryDto object : page.getObjects()) {
+                if (object.getKey().indexOf(SLASH, chapter.length()) < 0) {
+                    files.add(object);
+                }
+            }
+            startAfter = page.getNextStartAfter();
+        } while (startAfter != null);
+        return files;
+    }
+
+    private CompletableFuture<ImageTranscoder.Dimensions> dimensionsOf(String provider, ObjectStorageService storage,
+                                                                      ObjectSummaryDto file) {
+        String cacheKey = provider + COLON + file.getKey() + COLON + file.getEtag();
+        ImageTranscoder.Dimensions known = dimensions.getIfPresent(cacheKey);
+        if (known != null || file.getSize() == 0) {
+            return CompletableFuture.completedFuture(known);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            long probeBytes = Math.min(file.getSize(), properties.getProbeBytes());
+            try (InputStream header = storage.getObject(file.getKey(), 0, probeBytes)) {
+                ImageTranscoder.Dimensions probed = ImageTranscoder.readDimensions(header);
+                if (probed != null) {
+                    dimensions.put(cacheKey, probed);
+                }
+                return probed;
+            } catch (Exception e) {
+                log.debug("Could not read the dimensions of {}: {}", file.getKey(), e.getMessage());
+                return null;
+            }
+        }, probeExecutor);
+    }
+
+    private static ChapterManifestDto join(CompletableFuture<ChapterManifestDto> manifest) {
+        try {
+            return manifest.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Dimensions are optional: a probe that fails or misses the deadline leaves them out.
+     */
+    private static ImageTranscoder.Dimensions await(CompletableFuture<ImageTranscoder.Dimensions> probe,
+                                                    long deadline) {
+        try {
+            return probe.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private boolean usesCdn() {
+        return properties.getCdnBaseUrl() != null && !properties.getCdnBaseUrl().isBlank();
+    }
+
+    private String url(ObjectStorageService storage, String key) {
+        if (!usesCdn()) {
+            return storage.presignGetObject(key, properties.getUrlExpiry());
+        }
+        String cdnBaseUrl = properties.getCdnBaseUrl();
+        String base = cdnBaseUrl.endsWith(SLASH) ? cdnBaseUrl : cdnBaseUrl + SLASH;
+        return base + UriUtils.encodePath(key, StandardCharsets.UTF_8);
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        probeExecutor.shutdownNow();
+    }
+}
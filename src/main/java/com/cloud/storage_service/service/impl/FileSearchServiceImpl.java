@@ -0,0 +1,239 @@
+package com.cloud.storage_service.service.impl;
+
+import com.cloud.storage_service.component.BucketKeyIndex;
+import com.cloud.storage_service.dto.storage.ObjectChangedEvent;
+import com.cloud.storage_service.dto.storage.ObjectListingDto;
+import com.cloud.storage_service.dto.storage.ObjectSummaryDto;
+import com.cloud.storage_service.exception.StorageUnavailableException;
+import com.cloud.storage_service.exception.WebException;
+import com.cloud.storage_service.properties.KeyIndexProperties;
+import com.cloud.storage_service.properties.SearchProperties;
+import com.cloud.storage_service.service.FileSearchService;
+import com.cloud.storage_service.util.KeyIndex;
+import com.cloud.storage_service.util.TrigramIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+import static com.cloud.storage_service.service.impl.S3ServiceImpl.ensureTrailingSlash;
+import static com.cloud.storage_service.util.common.StringUtils.normalizePrefix;
+
+/**
+ * Filename search over a provider's keys without listing the bucket. A {@link TrigramIndex}
+ * is rebuilt from {@link BucketKeyIndex} every rebuild-interval; the service's own writes and
+ * deletes since the last rebuild sit in a small overlay that is checked next to it, so they
+ * are searchable immediately. Results come in key order and page on the last returned key.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileSearchServiceImpl implements FileSearchService {
+    private static final String MATCH_SUBSTRING = "substring";
+    private static final String MATCH_PREFIX = "prefix";
+
+    private final BucketKeyIndex keyIndex;
+    private final KeyIndexProperties keyIndexProperties;
+    private final SearchProperties properties;
+    private final Map<String, ProviderSearch> indexes = new ConcurrentHashMap<>();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Override
+    public ObjectListingDto search(String provider, String prefix, String term, String match, boolean caseSensitive,
+                                   String startAfter, int limit) {
+        if (term == null || term.length() < TrigramIndex.GRAM) {
+            throw new WebException("Search terms need at least " + TrigramIndex.GRAM + " characters");
+        }
+        if (!MATCH_SUBSTRING.equals(match) && !MATCH_PREFIX.equals(match)) {
+            throw new WebException("match must be " + MATCH_SUBSTRING + " or " + MATCH_PREFIX);
+        }
+        if (limit <= 0 || limit > properties.getMaxPageSize()) {
+            throw new WebException("limit must be between 1 and " + properties.getMaxPageSize());
+        }
+        ProviderSearch search = readySearch(provider);
+        String folder = ensureTrailingSlash(normalizePrefix(prefix));
+        Predicate<String> nameMatches = nameMatcher(term, MATCH_PREFIX.equals(match), caseSensitive);
+        boolean resume = startAfter != null && KeyIndex.compareKeys(startAfter, folder) >= 0;
+
+        TrigramIndex snapshot = search.index;
+        KeyIndex keys = snapshot.keys();
+        int from = position(keys, resume ? startAfter + '\0' : folder);
+        int to = folder.isEmpty() ? keys.size() : position(keys, folderEnd(folder));
+        List<ObjectSummaryDto> found = new ArrayList<>();
+        for (int i : snapshot.find(term, from, to,
+                key -> !search.changes.containsKey(key) && nameMatches.test(key), limit + 1)) {
+            found.add(toSummary(keys, i));
+        }
+
+        Map<String, Change> changes = search.changes.tailMap(resume ? startAfter : folder, !resume);
+        int overlayHits = 0;
+        for (Map.Entry<String, Change> entry : changes.entrySet()) {
+            if (!entry.getKey().startsWith(folder) || overlayHits > limit) {
+                break;
+            }
+            ObjectSummaryDto summary = entry.getValue().summary();
+            if (summary != null && nameMatches.test(entry.getKey())) {
+                found.add(summary);
+                overlayHits++;
+            }
+        }
+
+        found.sort((a, b) -> KeyIndex.compareKeys(a.getKey(), b.getKey()));
+        boolean truncated = found.size() > limit;
+        List<ObjectSummaryDto> page = truncated ? found.subList(0, limit) : found;
+        return ObjectListingDto.builder()
+                .objects(new ArrayList<>(page))
+                .nextStartAfter(truncated ? page.get(limit - 1).getKey() : null)
+                .build();
+    }
+
+    /**
+     * Runs after the key index has applied the change, so a rebuild that starts later is
+     * guaranteed to see it and may drop it from the overlay.
+     */
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onObjectChanged(ObjectChangedEvent event) {
+        if (isEnabled(event.provider())) {
+            ProviderSearch search = indexes.computeIfAbsent(event.provider(), provider -> new ProviderSearch());
+            search.changes.put(event.key(), new Change(search.sequence.incrementAndGet(), event.summary()));
+        }
+    }
+
+    /**
+     * A full rebuild walks every key of the bucket, so it runs on its own thread rather than
+     * holding up the other scheduled tasks; a check that finds one still running does nothing.
+     */
+    @Scheduled(fixedDelayString = "${app.search.rebuild-check-interval:PT15S}")
+    public void scheduleRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuildStaleIndexes();
+                } catch (RuntimeException e) {
+                    log.warn("Filename search index rebuild failed: {}", e.getMessage(), e);
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            rebuilding.set(false);
+            throw e;
+        }
+    }
+
+    private void rebuildStaleIndexes() {
+        for (String provider : keyIndexProperties.getProviders()) {
+            if (!isEnabled(provider)) {
+                continue;
+            }
+            ProviderSearch search = indexes.computeIfAbsent(provider, ignored -> new ProviderSearch());
+            if (search.builtAt != null && search.builtAt.plus(properties.getRebuildInterval()).isAfter(Instant.now())) {
+                continue;
+            }
+            long started = System.nanoTime();
+            long sequence = search.sequence.get();
+            TrigramIndex.Builder builder = TrigramIndex.builder();
+            if (!keyIndex.forEach(provider, builder::add)) {
+                continue;
+            }
+            TrigramIndex index = builder.build();
+            search.index = index;
+            search.builtAt = Instant.now();
+            search.changes.values().removeIf(change -> change.sequence() <= sequence);
+            log.info("Built {} filename search index over {} keys in {} ms using {} KiB", provider,
+                    index.keys().size(), (System.nanoTime() - started) / 1_000_000, index.memoryBytes() / 1024);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    private boolean isEnabled(String provider) {
+        return properties.isEnabled() && keyIndex.isEnabled(provider);
+    }
+
+    private ProviderSearch readySearch(String provider) {
+        if (!isEnabled(provider)) {
+            throw new WebException("Filename search is not enabled for provider " + provider);
+        }
+        ProviderSearch search = indexes.get(provider);
+        if (search == null || search.builtAt == null) {
+            throw new StorageUnavailableException("Filename search for " + provider + " is still being built",
+                    null);
+        }
+        return search;
+    }
+
+    private static Predicate<String> nameMatcher(String term, boolean prefixMatch, boolean caseSensitive) {
+        String needle = caseSensitive ? term : term.toLowerCase(Locale.ROOT);
+        return key -> {
+            String name = TrigramIndex.fileName(key);
+            if (!caseSensitive) {
+                name = name.toLowerCase(Locale.ROOT);
+            }
+            return prefixMatch ? name.startsWith(needle) : name.contains(needle);
+        };
+    }
+
+    private static int position(KeyIndex keys, String key) {
+        KeyIndex.Cursor cursor = keys.cursor();
+        cursor.seek(key);
+        return cursor.index();
+    }
+
+    /**
+     * First key after everything under the folder: '0' is the character right after '/'.
+     */
+    private static String folderEnd(String folder) {
+        return folder.substring(0, folder.length() - 1) + '0';
+    }
+
+    private static ObjectSummaryDto toSummary(KeyIndex keys, int i) {
+        KeyIndex.Cursor cursor = keys.cursor();
+        cursor.moveTo(i);
+        long lastModified = keys.lastModifiedAt(i);
+        return ObjectSummaryDto.builder()
+                .key(cursor.key())
+                .size(keys.sizeAt(i))
+                .lastModified(lastModified > 0 ? Instant.ofEpochMilli(lastModified) : null)
+                .build();
+    }
+
+    private record Change(long sequence, ObjectSummaryDto summary) {
+    }
+
+    private static final class ProviderSearch {
+        private final ConcurrentSkipListMap<String, Change> changes = new ConcurrentSkipListMap<>(KeyIndex.KEY_ORDER);
+        private final AtomicLong sequence = new AtomicLong();
+        private volatile TrigramIndex index = TrigramIndex.EMPTY;
+        private volatile Instant builtAt;
+    }
+}
@@ -0,0 +1,177 @@
+package com.cloud.storage_service.service.impl;
+
+import com.cloud.storage_service.component.BucketKeyIndex;
+import com.cloud.storage_service.dto.response.FolderStatsDto;
+import com.cloud.storage_service.dto.storage.ObjectChangedEvent;
+import com.cloud.storage_service.dto.storage.ObjectSummaryDto;
+import com.cloud.storage_service.exception.StorageUnavailableException;
+import com.cloud.storage_service.exception.WebException;
+import com.cloud.storage_service.properties.FolderStatsProperties;
+import com.cloud.storage_service.properties.KeyIndexProperties;
+import com.cloud.storage_service.service.FolderStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static com.cloud.storage_service.constants.GeneralConstant.SLASH;
+import static com.cloud.storage_service.service.impl.S3ServiceImpl.ensureTrailingSlash;
+import static com.cloud.storage_service.util.common.StringUtils.normalizePrefix;
+
+/**
+ * Total bytes, object count and latest modification for every folder, so any prefix is
+ * answered with a single map lookup. The totals are derived from {@link BucketKeyIndex}:
+ * the service's own writes and deletes adjust every ancestor folder as they happen, and a
+ * periodic reconcile recomputes everything from the index, which also picks up changes made
+ * by other clients and repairs drift from racing updates. Deletes do not move a folder's
+ * last-modified back; the next reconcile does.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FolderStatsServiceImpl implements FolderStatsService {
+    private static final Totals EMPTY = new Totals(0, 0, 0);
+
+    private final BucketKeyIndex keyIndex;
+    private final KeyIndexProperties keyIndexProperties;
+    private final FolderStatsProperties properties;
+    private final Map<String, Map<String, Totals>> folders = new ConcurrentHashMap<>();
+
+    @Override
+    public FolderStatsDto getStats(String provider, String prefix) {
+        String folder = folderPrefix(prefix);
+        return toDto(provider, folder, stats(provider).getOrDefault(folder, EMPTY));
+    }
+
+    @Override
+    public List<FolderStatsDto> getLargestFolders(String provider, String prefix, int limit) {
+        if (limit <= 0 || limit > properties.getMaxTopFolders()) {
+            throw new WebException("limit must be between 1 and " + properties.getMaxTopFolders());
+        }
+        String parent = folderPrefix(prefix);
+        Comparator<Map.Entry<String, Totals>> bySize = Comparator.comparingLong(entry -> entry.getValue().bytes());
+        PriorityQueue<Map.Entry<String, Totals>> largest = new PriorityQueue<>(limit + 1, bySize);
+        for (Map.Entry<String, Totals> entry : stats(provider).entrySet()) {
+            if (isChild(parent, entry.getKey())) {
+                largest.add(entry);
+                if (largest.size() > limit) {
+                    largest.poll();
+                }
+            }
+        }
+        List<Map.Entry<String, Totals>> ordered = new ArrayList<>(largest);
+        ordered.sort(bySize.reversed());
+        return ordered.stream().map(entry -> toDto(provider, entry.getKey(), entry.getValue())).toList();
+    }
+
+    /**
+     * Runs ahead of the key index's own listener, so the lookup below still sees the object
+     * as it was before this change.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onObjectChanged(ObjectChangedEvent event) {
+        Map<String, Totals> stats = folders.get(event.provider());
+        if (stats == null) {
+            return;
+        }
+        ObjectSummaryDto previous = keyIndex.find(event.provider(), event.key());
+        ObjectSummaryDto current = event.summary();
+        Totals delta = new Totals(
+                (current != null ? current.getSize() : 0) - (previous != null ? previous.getSize() : 0),
+                (current != null ? 1 : 0) - (previous != null ? 1 : 0),
+                current != null ? lastModifiedMillis(current) : 0);
+        forEachFolder(event.key(), folder -> stats.compute(folder, (key, totals) -> {
+            Totals updated = totals == null ? delta : totals.plus(delta);
+            return updated.objects() > 0 ? updated : null;
+        }));
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.folder-stats.reconcile-interval:PT5M}",
+            fixedDelayString = "${app.folder-stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (String provider : keyIndexProperties.getProviders()) {
+            long started = System.nanoTime();
+            Map<String, Totals> rebuilt = new HashMap<>();
+            boolean indexed = keyIndex.forEach(provider, (key, size, lastModified) -> {
+                Totals object = new Totals(size, 1, lastModified);
+                forEachFolder(key, folder -> rebuilt.merge(folder, object, Totals::plus));
+            });
+            if (indexed) {
+                folders.put(provider, new ConcurrentHashMap<>(rebuilt));
+                log.info("Reconciled {} folder stats for {} in {} ms", rebuilt.size(), provider,
+                        (System.nanoTime() - started) / 1_000_000);
+            }
+        }
+    }
+
+    private Map<String, Totals> stats(String provider) {
+        if (!properties.isEnabled() || !keyIndex.isEnabled(provider)) {
+            throw new WebException("Folder stats are not enabled for provider " + provider);
+        }
+        Map<String, Totals> stats = folders.get(provider);
+        if (stats == null) {
+            throw new StorageUnavailableException("Folder stats for " + provider + " are still being built", null);
+        }
+        return stats;
+    }
+
+    /**
+     * Calls back with the bucket root and every folder the key sits under, itself included
+     * when the key is a folder marker.
+     */
+    private static void forEachFolder(String key, Consumer<String> action) {
+        action.accept("");
+        for (int slash = key.indexOf(SLASH); slash >= 0; slash = key.indexOf(SLASH, slash + 1)) {
+            action.accept(key.substring(0, slash + 1));
+        }
+    }
+
+    private static boolean isChild(String parent, String folder) {
+        return folder.length() > parent.length()
+                && folder.startsWith(parent)
+                && folder.indexOf(SLASH, parent.length()) == folder.length() - 1;
+    }
+
+    private static String folderPrefix(String prefix) {
+        return ensureTrailingSlash(normalizePrefix(prefix));
+    }
+
+    private static long lastModifiedMillis(ObjectSummaryDto summary) {
+        return summary.getLastModified() != null ? summary.getLastModified().toEpochMilli() : 0L;
+    }
+
+    private static FolderStatsDto toDto(String provider, String folder, Totals totals) {
+        return FolderStatsDto.builder()
+                .provider(provider)
+                .prefix(folder)
+                .totalBytes(totals.bytes())
+                .objectCount(totals.objects())
+                .lastModified(totals.lastModified() > 0 ? Instant.ofEpochMilli(totals.lastModified()) : null)
+                .build();
+    }
+
+    private record Totals(long bytes, long objects, long lastModified) {
+        private Totals plus(Totals other) {
+            return new Totals(bytes + other.bytes, objects + other.objects,
+                    Math.max(lastModified, other.lastModified));
+        }
+    }
+}
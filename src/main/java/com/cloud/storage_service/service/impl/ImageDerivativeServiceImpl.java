@@ -0,0 +1,314 @@
+package com.cloud.storage_service.service.impl;
+
+import com.cloud.storage_service.component.BucketKeyIndex;
+import com.cloud.storage_service.component.ObjectStorageRegistry;
+import com.cloud.storage_service.dto.storage.ImageDerivativeDto;
+import com.cloud.storage_service.dto.storage.ObjectChangedEvent;
+import com.cloud.storage_service.dto.storage.ObjectSummaryDto;
+import com.cloud.storage_service.exception.ServiceOverloadedException;
+import com.cloud.storage_service.exception.StorageUnavailableException;
+import com.cloud.storage_service.exception.WebException;
+import com.cloud.storage_service.properties.ImageDerivativeProperties;
+import com.cloud.storage_service.service.ImageDerivativeService;
+import com.cloud.storage_service.service.ObjectStorageService;
+import com.cloud.storage_service.util.image.ImageTranscoder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.cloud.storage_service.constants.GeneralConstant.COLON;
+import static com.cloud.storage_service.constants.MetricConstants.DerivativeResult;
+import static com.cloud.storage_service.constants.MetricConstants.IMAGE_DERIVATIVES;
+import static com.cloud.storage_service.constants.MetricConstants.IMAGE_RENDER;
+import static com.cloud.storage_service.constants.MetricConstants.IMAGE_RENDER_QUEUE;
+import static com.cloud.storage_service.constants.MetricConstants.TAG_PROVIDER;
+import static com.cloud.storage_service.constants.MetricConstants.TAG_RESULT;
+
+/**
+ * Resized variants of stored images. A variant lives in the bucket under a key derived from
+ * the source key, the source ETag and the rendering parameters, so it is rendered once and a
+ * changed source gets fresh variants. Renders run on a bounded worker pool and concurrent
+ * requests for the same variant wait on a single render.
+ */
+@Slf4j
+@Service
+@SuppressWarnings({"PMD.AvoidCatchingGenericException"})
+public class ImageDerivativeServiceImpl implements ImageDerivativeService {
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+    private static final int MIN_QUALITY = 1;
+    private static final int MAX_QUALITY = 100;
+
+    private final ObjectStorageRegistry storageRegistry;
+    private final BucketKeyIndex keyIndex;
+    private final ImageDerivativeProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, ObjectSummaryDto> stored;
+    private final Map<String, CompletableFuture<Rendered>> renders = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Timer renderTimer;
+    private final ThreadPoolExecutor renderExecutor;
+
+    public ImageDerivativeServiceImpl(ObjectStorageRegistry storageRegistry, BucketKeyIndex keyIndex,
+                                      ImageDerivativeProperties properties, MeterRegistry meterRegistry) {
+        this.storageRegistry = storageRegistry;
+        this.keyIndex = keyIndex;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.stored = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaxEntries())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, stored, "imageDerivatives");
+        this.renderTimer = Timer.builder(IMAGE_RENDER)
+                .description("Time to fetch, resize and store one image variant")
+                .register(meterRegistry);
+        this.renderExecutor = new ThreadPoolExecutor(
+                properties.getWorkerThreads(), properties.getWorkerThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueSize()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-render");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder(IMAGE_RENDER_QUEUE, renderExecutor, executor -> executor.getQueue().size())
+                .description("Image renders waiting for a worker")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ImageDerivativeDto open(String provider, String key, int width, int quality, String format) {
+        if (!properties.isEnabled()) {
+            throw new WebException("Image derivatives are disabled");
+        }
+        validate(key, width, quality, format);
+        ObjectStorageService storage = storageRegistry.get(provider);
+        ObjectSummaryDto source = source(provider, storage, key);
+        String derivedKey = derivedKey(source, width, quality, format);
+        String cacheKey = provider + COLON + derivedKey;
+
+        ObjectSummaryDto variant = findStored(storage, derivedKey, cacheKey);
+        if (variant != null) {
+            record(provider, DerivativeResult.HIT);
+            return new ImageDerivativeDto(variant, storage.getObject(derivedKey), true);
+        }
+
+        CompletableFuture<Rendered> flight = new CompletableFuture<>();
+        CompletableFuture<Rendered> existing = renders.putIfAbsent(cacheKey, flight);
+        if (existing == null) {
+            start(cacheKey, flight, () -> render(storage, source, derivedKey, cacheKey, width, quality, format),
+                    renderExecutor);
+        }
+        Rendered rendered = await(existing != null ? existing : flight);
+        record(provider, existing != null ? DerivativeResult.JOINED : DerivativeResult.RENDERED);
+        return new ImageDerivativeDto(rendered.summary(), new ByteArrayInputStream(rendered.bytes()), false);
+    }
+
+    @Override
+    public boolean prepare(String provider, ObjectSummaryDto source, int width, int quality, String format) {
+        if (!properties.isEnabled()) {
+            throw new WebException("Image derivatives are disabled");
+        }
+        validate(source.getKey(), width, quality, format);
+        ObjectStorageService storage = storageRegistry.get(provider);
+        ObjectSummaryDto current = source.getEtag() != null ? checkSize(source)
+                : source(provider, storage, source.getKey());
+        String derivedKey = derivedKey(current, width, quality, format);
+        String cacheKey = provider + COLON + derivedKey;
+        if (findStored(storage, derivedKey, cacheKey) != null) {
+            return false;
+        }
+
+        CompletableFuture<Rendered> flight = new CompletableFuture<>();
+        CompletableFuture<Rendered> existing = renders.putIfAbsent(cacheKey, flight);
+        if (existing == null) {
+            // Rendered on the caller's thread, leaving the worker pool to interactive requests
+            start(cacheKey, flight, () -> render(storage, current, derivedKey, cacheKey, width, quality, format),
+                    Runnable::run);
+        }
+        await(existing != null ? existing : flight);
+        return existing == null;
+    }
+
+    /**
+     * Forgets variants removed through this service, e.g. by a folder delete.
+     */
+    @EventListener
+    public void onObjectChanged(ObjectChangedEvent event) {
+        if (event.isDeleted() && event.key().startsWith(properties.getDerivedPrefix())) {
+            stored.invalidate(event.provider() + COLON + event.key());
+        }
+    }
+
+    private void validate(String key, int width, int quality, String format) {
+        if (key == null || key.isBlank()) {
+            throw new WebException("fileName is required");
+        }
+        if (key.startsWith(properties.getDerivedPrefix())) {
+            throw new WebException("Cannot derive from a derived image: " + key);
+        }
+        if (width <= 0 || width > properties.getMaxWidth()) {
+            throw new WebException("width must be between 1 and " + properties.getMaxWidth());
+        }
+        if (quality < MIN_QUALITY || quality > MAX_QUALITY) {
+            throw new WebException("quality must be between " + MIN_QUALITY + " and " + MAX_QUALITY);
+        }
+        if (!ImageTranscoder.isSupportedFormat(format)) {
+            throw new WebException("format must be " + ImageTranscoder.JPEG + " or " + ImageTranscoder.PNG);
+        }
+    }
+
+    /**
+     * The source's current metadata, from the key index when it knows the ETag.
+     */
+    private ObjectSummaryDto source(String provider, ObjectStorageService storage, String key) {
+        ObjectSummaryDto source = keyIndex.find(provider, key);
+        if (source == null || source.getEtag() == null) {
+            source = storage.headObject(key);
+        }
+        if (source == null) {
+            throw new WebException("File not found: " + key);
+        }
+        return checkSize(source);
+    }
+
+    private ObjectSummaryDto checkSize(ObjectSummaryDto source) {
+        if (source.getSize() > properties.getMaxSourceBytes()) {
+            throw new WebException("File is too large to resize: " + source.getKey());
+        }
+        return source;
+    }
+
+    private ObjectSummaryDto findStored(ObjectStorageService storage, String derivedKey, String cacheKey) {
+        ObjectSummaryDto variant = stored.getIfPresent(cacheKey);
+        if (variant == null) {
+            variant = storage.headObject(derivedKey);
+            if (variant != null) {
+                stored.put(cacheKey, variant);
+            }
+        }
+        return variant;
+    }
+
+    /**
+     * E.g. {@code derived/webtoons-content/title/1/001.jpg/<etag>/w320-q80.jpeg}. Quality is
+     * left out for lossless formats, where it has no effect.
+     */
+    private String derivedKey(ObjectSummaryDto source, int width, int quality, String format) {
+        String variant = ImageTranscoder.JPEG.equals(format)
+                ? "w" + width + "-q" + quality + "." + format
+                : "w" + width + "." + format;
+        return properties.getDerivedPrefix() + source.getKey() + "/" + source.getEtag() + "/" + variant;
+    }
+
+    private void start(String cacheKey, CompletableFuture<Rendered> flight, RenderTask task, Executor executor) {
+        try {
+            executor.execute(() -> {
+                try {
+                    flight.complete(task.render());
+                } catch (Exception e) {
+                    flight.completeExceptionally(e);
+                } finally {
+                    renders.remove(cacheKey, flight);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            renders.remove(cacheKey, flight);
+            flight.completeExceptionally(new ServiceOverloadedException("Image render queue is full", RETRY_AFTER));
+        }
+    }
+
+    private Rendered render(ObjectStorageService storage, ObjectSummaryDto source, String derivedKey,
+                            String cacheKey, int width, int quality, String format) throws IOException {
+        long started = System.nanoTime();
+        ImageTranscoder.Transcoded transcoded;
+        try (InputStream inputStream = storage.getObject(source.getKey())) {
+            transcoded = ImageTranscoder.transcode(inputStream, width, quality, format,
+                    properties.getMaxSourcePixels());
+        }
+        byte[] bytes = transcoded.bytes();
+        String contentType = ImageTranscoder.contentType(format);
+        storage.putObject(derivedKey, new ByteArrayInputStream(bytes), bytes.length, contentType);
+        ObjectSummaryDto summary = ObjectSummaryDto.builder()
+                .key(derivedKey)
+                .size(bytes.length)
+                .lastModified(Instant.now())
+                .contentType(contentType)
+                .build();
+        // Cached before the flight completes, so a request arriving after it ends finds the variant
+        stored.put(cacheKey, summary);
+        long elapsed = System.nanoTime() - started;
+        renderTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Rendered {} ({}x{}, {} -> {} bytes) in {} ms", derivedKey, transcoded.width(),
+                transcoded.height(), source.getSize(), bytes.length, elapsed / 1_000_000);
+        return new Rendered(summary, bytes);
+    }
+
+    private Rendered await(CompletableFuture<Rendered> flight) {
+        try {
+            return flight.get(properties.getRenderTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new StorageUnavailableException("Timed out waiting for the image to be resized", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageUnavailableException("Interrupted while waiting for the image to be resized", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalArgumentException || cause instanceof IIOException) {
+                throw new WebException("Cannot resize image: " + cause.getMessage());
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new StorageUnavailableException("Image resize failed", cause);
+        }
+    }
+
+    private void record(String provider, String result) {
+        counters.computeIfAbsent(provider + '|' + result, ignored -> Counter
+                .builder(IMAGE_DERIVATIVES)
+                .description("Image variant requests by how they were served")
+                .tag(TAG_PROVIDER, provider)
+                .tag(TAG_RESULT, result)
+                .register(meterRegistry)).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        renderExecutor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface RenderTask {
+        Rendered render() throws IOException;
+    }
+
+    private record Rendered(ObjectSummaryDto summary, byte[] bytes) {
+    }
+}
@@ -1,15 +1,37 @@
 package com.cloud.storage_service.service.impl;
 
+import com.cloud.storage_service.component.BucketKeyIndex;
+import com.cloud.storage_service.component.ObjectStoreCallExecutor;
+import com.cloud.storage_service.component.StorageMetrics;
+import com.cloud.storage_service.component.TransferAdmissionController;
 import com.cloud.storage_service.config.minio.MinioConfiguration;
+import com.cloud.storage_service.config.minio.MinioListingClient;
 import com.cloud.storage_service.constants.GeneralConstant;
+import com.cloud.storage_service.dto.RequestTiming;
+import com.cloud.storage_service.dto.storage.ObjectChangedEvent;
+import com.cloud.storage_service.dto.storage.ObjectListingDto;
+import com.cloud.storage_service.dto.storage.ObjectSummaryDto;
+import com.cloud.storage_service.exception.ChecksumMismatchException;
+import com.cloud.storage_service.properties.ChecksumProperties;
+import com.cloud.storage_service.service.MinioService;
+import com.cloud.storage_service.util.KeyIndex;
+import com.cloud.storage_service.util.io.ChecksumInputStream;
+import com.cloud.storage_service.util.io.CountingInputStream;
 import com.cloud.storage_service.util.common.StringUtils;
 import io.minio.*;
 import io.minio.errors.*;
+import io.minio.http.Method;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
 import io.minio.messages.Item;
+import io.minio.messages.ListBucketResultV2;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import okhttp3.Headers;
 import org.apache.commons.io.IOUtils;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -21,14 +43,22 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import static com.cloud.storage_service.constants.GeneralConstant.*;
+import static com.cloud.storage_service.constants.MetricConstants.Direction;
+import static com.cloud.storage_service.constants.MetricConstants.Operation;
 
 @Slf4j
 @Service
@@ -44,9 +74,21 @@ import static com.cloud.storage_service.constants.GeneralConstant.*;
         "PMD.PrematureDeclaration",
         "PMD.NPathComplexity",
         "PMD.CognitiveComplexity"})
-public class MinioServiceImpl {
+public class MinioServiceImpl implements MinioService {
+    private static final String MULTIPART_STAGING_PREFIX = ".multipart/";
+    private static final Pattern MD5_ETAG = Pattern.compile("^[0-9a-fA-F]{32}$");
+    private static final String SSE_HEADER = "x-amz-server-side-encryption";
+    private static final String SSE_CUSTOMER_HEADER = "x-amz-server-side-encryption-customer-algorithm";
+
     private final MinioClient minioClient;
+    private final MinioListingClient listingClient;
     private final MinioConfiguration minioConfig;
+    private final ObjectStoreCallExecutor callExecutor;
+    private final StorageMetrics storageMetrics;
+    private final TransferAdmissionController admissionController;
+    private final BucketKeyIndex keyIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChecksumProperties checksumProperties;
 
     public List<String> uploadFileFromPath(String filePath, String title)
             throws IOException, NoSuchAlgorithmException, InvalidKeyException {
@@ -84,13 +126,18 @@ public class MinioServiceImpl {
 
         // Upload the file to MinIO
         try (InputStream inputStream = Files.newInputStream(path)) {
-            minioClient.putObject(
-                    PutObjectArgs.builder()
-                            .bucket(minioConfig.getBucketName())
-                            .object(objectName)
-                            .contentType(contentType)
-                            .stream(inputStream, Files.size(path), -1) // Upload file as a stream
-                            .build());
+            long size = Files.size(path);
+            InputStream body = checksummed(inputStream);
+            PutObjectArgs args = PutObjectArgs.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .object(objectName)
+                    .contentType(contentType)
+                    .stream(body, size, -1) // Upload file as a stream
+                    .build();
+            ObjectWriteResponse response = execute(Operation.PUT, () -> minioClient.putObject(args));
+            storageMetrics.recordUpload(Provider.MINIO, size);
+            verifyUpload(objectName, body, response);
+            publishWrite(objectName, response, size, contentType);
             uploadedFileNames.add(fileName); // Add the file name to the list of uploaded files
         } catch (MinioException e) {
             log.error("MinIO error while uploading file {}: {}", fileName, e.getMessage(), e);
@@ -133,13 +180,17 @@ public class MinioServiceImpl {
                         : fileName;
 
                 try (InputStream inputStream = file.getInputStream()) {
-                    minioClient.putObject(
-                            PutObjectArgs.builder()
-                                    .bucket(minioConfig.getBucketName())
-                                    .object(objectName)
-                                    .contentType(contentType)
-                                    .stream(inputStream, file.getSize(), -1)
-                                    .build());
+                    InputStream body = checksummed(inputStream);
+                    PutObjectArgs args = PutObjectArgs.builder()
+                            .bucket(minioConfig.getBucketName())
+                            .object(objectName)
+                            .contentType(contentType)
+                            .stream(body, file.getSize(), -1)
+                            .build();
+                    ObjectWriteResponse response = execute(Operation.PUT, () -> minioClient.putObject(args));
+                    storageMetrics.recordUpload(Provider.MINIO, file.getSize());
+                    verifyUpload(objectName, body, response);
+                    publishWrite(objectName, response, file.getSize(), contentType);
                     uploadedFileNames.add(fileName);
                 } catch (IOException | MinioException e) {
                     log.error("Error uploading file {}: {}", fileName, e.getMessage(), e);
@@ -152,39 +203,47 @@ public class MinioServiceImpl {
 
     public void deleteFile(String fileName) throws NoSuchAlgorithmException, InvalidKeyException {
         try {
-            minioClient.removeObject(
-                    RemoveObjectArgs.builder()
-                            .bucket(minioConfig.getBucketName())
-                            .object(fileName)
-                            .build());
+            RemoveObjectArgs args = RemoveObjectArgs.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .object(fileName)
+                    .build();
+            execute(Operation.DELETE, () -> {
+                minioClient.removeObject(args);
+                return null;
+            });
+            eventPublisher.publishEvent(ObjectChangedEvent.deleted(Provider.MINIO, fileName));
         } catch (MinioException | IOException e) {
             log.error("Error deleting file {}: {}", fileName, e.getMessage(), e);
             throw new RuntimeException("File deletion failed", e);
         }
     }
 
-    public String getFileInfo(String fileName) throws ServerException, InsufficientDataException,
-            ErrorResponseException, IOException, NoSuchAlgorithmException, InvalidKeyException,
-            InvalidResponseException, XmlParserException, InternalException {
-        return minioClient.statObject(
-                StatObjectArgs.builder()
-                        .bucket(minioConfig.getBucketName())
-                        .object(fileName)
-                        .build()).toString();
+    public String getFileInfo(String fileName)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        StatObjectArgs args = StatObjectArgs.builder()
+                .bucket(minioConfig.getBucketName())
+                .object(fileName)
+                .build();
+        return execute(Operation.HEAD, () -> minioClient.statObject(args)).toString();
     }
 
     public void downloadFile(String fileName, HttpServletResponse response) {
+        admissionController.acquireForRequest(admissionController.streamReservationBytes());
         try {
-            InputStream fileInputStream =  minioClient.getObject(
-                    GetObjectArgs.builder()
-                            .bucket(minioConfig.getBucketName())
-                            .object(fileName)
-                            .build());
+            GetObjectArgs args = GetObjectArgs.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .object(fileName)
+                    .build();
+            InputStream fileInputStream = verified(execute(Operation.GET,
+                    () -> minioClient.getObject(args)));
 
             response.setHeader("Content-Disposition", "attachment;filename=" + fileName);
             response.setContentType(FORCE_DOWNLOAD_CONTENT_TYPE);
             response.setCharacterEncoding("UTF-8");
-            IOUtils.copy(fileInputStream, response.getOutputStream());
+            try (RequestTiming.Phase ignored = RequestTiming.current().phase(RequestTiming.TRANSFER)) {
+                long copied = IOUtils.copyLarge(fileInputStream, response.getOutputStream());
+                storageMetrics.recordDownload(Provider.MINIO, copied);
+            }
         } catch (Exception e) {
             log.error("Error downloading file {}: {}", fileName, e.getMessage(), e);
             throw new RuntimeException("Error downloading file", e);
@@ -192,13 +251,22 @@ public class MinioServiceImpl {
     }
 
     public InputStream downloadZipFile(String fileName) throws Exception {
-        return minioClient.getObject(GetObjectArgs.builder()
+        GetObjectArgs args = GetObjectArgs.builder()
                 .bucket(minioConfig.getBucketName())
                 .object(fileName)
-                .build());
+                .build();
+        return meteredDownload(execute(Operation.GET, () -> minioClient.getObject(args)));
     }
 
     public List<String> listFiles(String prefix) {
+        BucketKeyIndex.Listing indexed = keyIndex.list(Provider.MINIO, prefix);
+        if (indexed != null) {
+            List<String> names = new ArrayList<>(indexed.folders());
+            indexed.files().forEach(file -> names.add(file.getKey()));
+            names.sort(KeyIndex.KEY_ORDER);
+            return names;
+        }
+
         List<String> fileList = new ArrayList<>();
 
         try {
@@ -210,10 +278,16 @@ public class MinioServiceImpl {
                             .build()
             );
 
-            for (Result<Item> result : results) {
-                Item item = result.get();
-                fileList.add(item.objectName());
-            }
+            // The listing request is only sent while iterating, so time the iteration
+            execute(Operation.LIST, () -> {
+                for (Result<Item> result : results) {
+                    Item item = result.get();
+                    if (!isStagedPart(item.objectName())) {
+                        fileList.add(item.objectName());
+                    }
+                }
+                return null;
+            });
         } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
             throw new RuntimeException("Error retrieving files from MinIO", e);
         }
@@ -262,6 +336,343 @@ public class MinioServiceImpl {
         return alias;
     }
 
+    @Override
+    public String getProviderName() {
+        return Provider.MINIO;
+    }
+
+    @Override
+    public ObjectListingDto listObjects(String prefix, String startAfter, int maxKeys) {
+        try {
+            ListBucketResultV2 page = execute(Operation.LIST,
+                    () -> listingClient.listPage(minioConfig.getBucketName(), prefix, startAfter, maxKeys));
+            List<ObjectSummaryDto> objects = new ArrayList<>();
+            String lastKey = null;
+            for (Item item : page.contents()) {
+                lastKey = item.objectName();
+                if (isStagedPart(item.objectName())) {
+                    continue;
+                }
+                objects.add(ObjectSummaryDto.builder()
+                        .key(item.objectName())
+                        .size(item.size())
+                        .etag(stripQuotes(item.etag()))
+                        .lastModified(item.lastModified() != null ? item.lastModified().toInstant() : null)
+                        .build());
+            }
+            // Resumes after the last key listed, so staged parts left out of the page are not listed again
+            return new ObjectListingDto(objects, page.isTruncated() ? lastKey : null);
+        } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new RuntimeException("Error listing objects from MinIO", e);
+        }
+    }
+
+    @Override
+    public ObjectSummaryDto headObject(String key) {
+        try {
+            StatObjectArgs args = StatObjectArgs.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .object(key)
+                    .build();
+            StatObjectResponse stat = execute(Operation.HEAD,
+                    () -> minioClient.statObject(args));
+            return ObjectSummaryDto.builder()
+                    .key(key)
+                    .size(stat.size())
+                    .etag(stripQuotes(stat.etag()))
+                    .lastModified(stat.lastModified() != null ? stat.lastModified().toInstant() : null)
+                    .contentType(stat.contentType())
+                    .contentSha256(userMetadata(stat.userMetadata(), CONTENT_SHA256_METADATA))
+                    .syncSourceEtag(userMetadata(stat.userMetadata(), SYNC_SOURCE_ETAG_METADATA))
+                    .build();
+        } catch (ErrorResponseException e) {
+            if (NO_SUCH_KEY.equals(e.errorResponse().code())) {
+                return null;
+            }
+            throw new RuntimeException("Error reading object metadata from MinIO", e);
+        } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new RuntimeException("Error reading object metadata from MinIO", e);
+        }
+    }
+
+    @Override
+    public InputStream getObject(String key) {
+        try {
+            GetObjectArgs args = GetObjectArgs.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .object(key)
+                    .build();
+            return meteredDownload(execute(Operation.GET,
+                    () -> minioClient.getObject(args)));
+        } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new RuntimeException("Error reading object from MinIO", e);
+        }
+    }
+
+    @Override
+    public InputStream getObject(String key, long offset, long length) {
+        try {
+            GetObjectArgs args = GetObjectArgs.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .object(key)
+                    .offset(offset)
+                    .length(length)
+                    .build();
+            GetObjectResponse response = execute(Operation.GET, () -> minioClient.getObject(args));
+            // Not verified: the ETag describes the whole object, not the range
+            return new CountingInputStream(response, bytes -> storageMetrics.recordDownload(Provider.MINIO, bytes));
+        } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new RuntimeException("Error reading object from MinIO", e);
+        }
+    }
+
+    @Override
+    public String presignGetObject(String key, Duration expiry) {
+        try {
+            GetPresignedObjectUrlArgs args = GetPresignedObjectUrlArgs.builder()
+                    .method(Method.GET)
+                    .bucket(minioConfig.getBucketName())
+                    .object(key)
+                    .expiry((int) expiry.toSeconds(), TimeUnit.SECONDS)
+                    .build();
+            return execute(Operation.PRESIGN, () -> minioClient.getPresignedObjectUrl(args));
+        } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new RuntimeException("Error presigning MinIO URL", e);
+        }
+    }
+
+    @Override
+    public void putObject(String key, InputStream inputStream, long size, String contentType,
+                          Map<String, String> metadata) {
+        try {
+            InputStream body = checksummed(inputStream);
+            PutObjectArgs args = PutObjectArgs.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .object(key)
+                    .contentType(contentType != null ? contentType : OCTET_STREAM_CONTENT_TYPE)
+                    .userMetadata(metadata)
+                    .stream(body, size, -1)
+                    .build();
+            ObjectWriteResponse response = execute(Operation.PUT, () -> minioClient.putObject(args));
+            storageMetrics.recordUpload(Provider.MINIO, size);
+            verifyUpload(key, body, response);
+            publishWrite(key, response, size, contentType);
+        } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new RuntimeException("Error writing object to MinIO", e);
+        }
+    }
+
+    @Override
+    public void deleteObject(String key) {
+        try {
+            deleteFile(key);
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new RuntimeException("File deletion failed", e);
+        }
+    }
+
+    /**
+     * The MinIO client keeps its multipart calls internal, so parts are staged as temporary
+     * objects under {@value #MULTIPART_STAGING_PREFIX} and assembled with a server-side
+     * compose, which MinIO runs as a multipart copy. The upload handle names the staging folder.
+     */
+    @Override
+    public String startMultipartUpload(String key, String contentType) {
+        return UUID.randomUUID().toString();
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, InputStream inputStream, long size) {
+        String stagedKey = stagedPartKey(uploadId, partNumber);
+        try {
+            // Parts are checked one by one; the assembled object's ETag is not an MD5
+            InputStream body = checksummed(inputStream);
+            PutObjectArgs args = PutObjectArgs.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .object(stagedKey)
+                    .stream(body, size, -1)
+                    .build();
+            ObjectWriteResponse response = execute(Operation.PUT, () -> minioClient.putObject(args));
+            storageMetrics.recordUpload(Provider.MINIO, size);
+            verifyUpload(stagedKey, body, response);
+            return stripQuotes(response.etag());
+        } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new RuntimeException("Error uploading part " + partNumber + " of " + key + " to MinIO", e);
+        }
+    }
+
+    @Override
+    public void completeMultipartUpload(String key, String uploadId, String contentType, List<String> partEtags) {
+        List<ComposeSource> sources = new ArrayList<>(partEtags.size());
+        for (int i = 0; i < partEtags.size(); i++) {
+            sources.add(ComposeSource.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .object(stagedPartKey(uploadId, i + 1))
+                    .matchETag(partEtags.get(i))
+                    .build());
+        }
+        try {
+            ComposeObjectArgs args = ComposeObjectArgs.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .object(key)
+                    .sources(sources)
+                    .headers(Map.of(HttpHeaders.CONTENT_TYPE,
+                            contentType != null ? contentType : OCTET_STREAM_CONTENT_TYPE))
+                    .build();
+            execute(Operation.MULTIPART, () -> minioClient.composeObject(args));
+        } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new RuntimeException("Error assembling " + key + " in MinIO", e);
+        }
+        removeStagedParts(uploadId);
+        // Published whether or not the key index is on; every listener checks its own switch
+        ObjectSummaryDto written = headObject(key);
+        if (written != null) {
+            eventPublisher.publishEvent(ObjectChangedEvent.written(Provider.MINIO, written));
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(String key, String uploadId) {
+        removeStagedParts(uploadId);
+    }
+
+    private void removeStagedParts(String uploadId) {
+        try {
+            List<DeleteObject> staged = new ArrayList<>();
+            for (Result<Item> result : minioClient.listObjects(ListObjectsArgs.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .prefix(MULTIPART_STAGING_PREFIX + uploadId + SLASH)
+                    .recursive(true)
+                    .build())) {
+                staged.add(new DeleteObject(result.get().objectName()));
+            }
+            if (staged.isEmpty()) {
+                return;
+            }
+            RemoveObjectsArgs args = RemoveObjectsArgs.builder()
+                    .bucket(minioConfig.getBucketName())
+                    .objects(staged)
+                    .build();
+            execute(Operation.DELETE, () -> {
+                // Deletion is lazy: nothing is sent until the results are consumed
+                for (Result<DeleteError> error : minioClient.removeObjects(args)) {
+                    log.warn("Unable to remove staged part {}", error.get().objectName());
+                }
+                return null;
+            });
+        } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new RuntimeException("Error removing staged parts of upload " + uploadId + " from MinIO", e);
+        }
+    }
+
+    /**
+     * MinIO hands user metadata back under the header's own capitalisation.
+     */
+    private static String userMetadata(Map<String, String> metadata, String name) {
+        return metadata.entrySet().stream()
+                .filter(entry -> entry.getKey().equalsIgnoreCase(name))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String stagedPartKey(String uploadId, int partNumber) {
+        return MULTIPART_STAGING_PREFIX + uploadId + SLASH + String.format("%05d", partNumber);
+    }
+
+    /**
+     * Staged parts share the bucket with served objects, so listings leave them out; otherwise
+     * the key index, search and sync would pick up half-finished uploads.
+     */
+    private static boolean isStagedPart(String key) {
+        return key.startsWith(MULTIPART_STAGING_PREFIX);
+    }
+
+    /**
+     * Runs a MinIO client call through the call executor, keeping the client's checked exceptions.
+     */
+    private <T> T execute(String operation, MinioCall<T> call)
+            throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException {
+        try {
+            return callExecutor.execute(Provider.MINIO, operation, call::call);
+        } catch (MinioException | IOException | NoSuchAlgorithmException | InvalidKeyException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unexpected MinIO client failure", e);
+        }
+    }
+
+    private void publishWrite(String key, ObjectWriteResponse response, long size, String contentType) {
+        eventPublisher.publishEvent(ObjectChangedEvent.written(Provider.MINIO, ObjectSummaryDto.builder()
+                .key(key)
+                .size(size)
+                .etag(stripQuotes(response.etag()))
+                .lastModified(Instant.now())
+                .contentType(contentType)
+                .build()));
+    }
+
+    private InputStream meteredDownload(GetObjectResponse response) {
+        return new CountingInputStream(verified(response),
+                bytes -> storageMetrics.recordDownload(Provider.MINIO, bytes));
+    }
+
+    private InputStream checksummed(InputStream inputStream) {
+        return verifiesMd5()
+                ? new ChecksumInputStream(inputStream, ChecksumInputStream.Algorithm.MD5)
+                : inputStream;
+    }
+
+    /**
+     * The ETag of a single-part, unencrypted MinIO object is the MD5 of the bytes it stored,
+     * so comparing it with the MD5 of the bytes sent, taken while they were streamed,
+     * verifies the upload end to end. An object that does not match is removed.
+     */
+    private void verifyUpload(String key, InputStream body, ObjectWriteResponse response)
+            throws ChecksumMismatchException {
+        if (!(body instanceof ChecksumInputStream checksummed) || !isPlainMd5(response.etag(), response.headers())) {
+            return;
+        }
+        boolean match = stripQuotes(response.etag()).equalsIgnoreCase(checksummed.value());
+        storageMetrics.recordChecksum(Provider.MINIO, Direction.UPLOAD, match);
+        if (!match) {
+            deleteObject(key);
+            throw new ChecksumMismatchException("Upload of " + key + " does not match its MD5: read "
+                    + checksummed.value() + " but MinIO stored " + response.etag());
+        }
+    }
+
+    /**
+     * Verifies a whole-object read against the object's MD5 ETag, where it has one.
+     */
+    private InputStream verified(GetObjectResponse response) {
+        String etag = response.headers().get(HttpHeaders.ETAG);
+        if (!verifiesMd5() || !isPlainMd5(etag, response.headers())) {
+            return response;
+        }
+        return new ChecksumInputStream(response, ChecksumInputStream.Algorithm.MD5,
+                stripQuotes(etag).toLowerCase(Locale.ROOT),
+                match -> storageMetrics.recordChecksum(Provider.MINIO, Direction.DOWNLOAD, match));
+    }
+
+    private boolean verifiesMd5() {
+        return checksumProperties.isEnabled() && checksumProperties.isMinioMd5();
+    }
+
+    /**
+     * Multipart ETags end in "-N" and encrypted objects' ETags are not the content MD5.
+     */
+    private static boolean isPlainMd5(String etag, Headers headers) {
+        return etag != null
+                && MD5_ETAG.matcher(stripQuotes(etag)).matches()
+                && headers.get(SSE_HEADER) == null
+                && headers.get(SSE_CUSTOMER_HEADER) == null;
+    }
+
+    private static String stripQuotes(String etag) {
+        return etag == null ? null : etag.replace("\"", EMPTY_STRING);
+    }
+
     // Step 2: Extract images from the ZIP file
     public List<Path> extractZipFile(Path zipFilePath) throws IOException {
         List<Path> extractedFiles = new ArrayList<>();
@@ -292,4 +703,9 @@ public class MinioServiceImpl {
         }
         return urls;
     }
-}
\ No newline at end of file
+
+    @FunctionalInterface
+    private interface MinioCall<T> {
+        T call() throws MinioException, IOException, NoSuchAlgorithmException, InvalidKeyException;
+    }
+}
@@ -0,0 +1,236 @@
+package com.cloud.storage_service.service.impl;
+
+import com.cloud.storage_service.component.ObjectStorageRegistry;
+import com.cloud.storage_service.component.UploadSessionStore;
+import com.cloud.storage_service.dto.response.UploadResponseDto;
+import com.cloud.storage_service.dto.response.UploadSessionDto;
+import com.cloud.storage_service.dto.storage.UploadSession;
+import com.cloud.storage_service.exception.WebException;
+import com.cloud.storage_service.properties.ResumableUploadProperties;
+import com.cloud.storage_service.service.ObjectStorageService;
+import com.cloud.storage_service.service.ResumableUploadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static com.cloud.storage_service.service.impl.S3DirectUploadServiceImpl.uploadKey;
+
+/**
+ * Resumable uploads for unreliable clients. A session wraps a provider multipart upload;
+ * the client sends fixed-size chunks, each stored as one part, and after a drop asks for
+ * the committed offset and carries on from there. A chunk may be re-sent at any boundary up
+ * to the committed offset, which simply replaces that part, so retrying a chunk whose
+ * response was lost is safe.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResumableUploadServiceImpl implements ResumableUploadService {
+    private static final long MIN_CHUNK_SIZE = 5L * 1024 * 1024;
+    private static final int MAX_PARTS = 10_000;
+
+    private final ObjectStorageRegistry storageRegistry;
+    private final UploadSessionStore sessionStore;
+    private final ResumableUploadProperties properties;
+
+    @Override
+    public UploadSessionDto createSession(String requestId, String userId, String provider, String prefix,
+                                          String fileName, String contentType, long size) {
+        log.info("[RequestId: {}] Starting ResumableUploadServiceImpl.createSession()", requestId);
+
+        if (userId == null || userId.isBlank()) {
+            throw new WebException("Resumable uploads need a user id, which owns the session");
+        }
+        if (size <= 0) {
+            throw new WebException("Resumable uploads need the file size");
+        }
+        String key = uploadKey(prefix, fileName);
+        ObjectStorageService storage = storageRegistry.get(
+                provider != null ? provider : properties.getDefaultProvider());
+        long chunkSize = chunkSize(size);
+        int partCount = (int) ((size + chunkSize - 1) / chunkSize);
+
+        String uploadId = storage.startMultipartUpload(key, contentType);
+        Instant now = Instant.now();
+        UploadSession session = UploadSession.builder()
+                .sessionId(UUID.randomUUID().toString())
+                .ownerId(userId)
+                .provider(storage.getProviderName())
+                .key(key)
+                .uploadId(uploadId)
+                .contentType(contentType)
+                .size(size)
+                .chunkSize(chunkSize)
+                .partEtags(new ArrayList<>(Collections.nCopies(partCount, null)))
+                .createdAt(now)
+                .lastActivity(now)
+                .build();
+        sessionStore.save(session);
+        return toDto(session);
+    }
+
+    @Override
+    public UploadSessionDto getSession(String userId, String sessionId) {
+        return toDto(ownedSession(userId, sessionId));
+    }
+
+    /**
+     * The part is stored without holding the session's monitor, so status polls and a chunk
+     * sent after a dropped connection are answered at once; a second chunk while one is still
+     * being stored is refused rather than queued.
+     */
+    @Override
+    public UploadSessionDto uploadChunk(String userId, String sessionId, long offset, InputStream inputStream,
+                                        long length) {
+        UploadSession session = ownedSession(userId, sessionId);
+        if (!session.getChunkInFlight().compareAndSet(false, true)) {
+            throw new WebException("A chunk of upload session " + sessionId + " is still being stored");
+        }
+        try {
+            int partNumber;
+            synchronized (session) {
+                ensureOpen(session);
+                long committed = session.committedOffset();
+                if (offset % session.getChunkSize() != 0 || offset > committed) {
+                    throw new WebException("Chunks must start at a multiple of " + session.getChunkSize()
+                            + " no later than the committed offset " + committed);
+                }
+                long expected = Math.min(session.getChunkSize(), session.getSize() - offset);
+                if (length != expected) {
+                    throw new WebException("The chunk at offset " + offset + " must be " + expected + " bytes");
+                }
+                partNumber = (int) (offset / session.getChunkSize()) + 1;
+            }
+
+            String etag = storageRegistry.get(session.getProvider())
+                    .uploadPart(session.getKey(), session.getUploadId(), partNumber, inputStream, length);
+
+            synchronized (session) {
+                ensureOpen(session);
+                session.commitPart(partNumber, etag);
+                session.setLastActivity(Instant.now());
+                sessionStore.save(session);
+                return toDto(session);
+            }
+        } finally {
+            session.getChunkInFlight().set(false);
+        }
+    }
+
+    @Override
+    public UploadResponseDto completeSession(String requestId, String userId, String sessionId) {
+        log.info("[RequestId: {}] Starting ResumableUploadServiceImpl.completeSession()", requestId);
+
+        UploadSession session = ownedSession(userId, sessionId);
+        synchronized (session) {
+            ensureIdle(session);
+            if (session.committedOffset() < session.getSize()) {
+                throw new WebException("Upload is incomplete, committed offset is " + session.committedOffset());
+            }
+            storageRegistry.get(session.getProvider()).completeMultipartUpload(
+                    session.getKey(), session.getUploadId(), session.getContentType(), session.getPartEtags());
+            sessionStore.remove(sessionId);
+        }
+
+        return UploadResponseDto.builder()
+                .filename(session.getKey().substring(session.getKey().lastIndexOf('/') + 1))
+                .path(session.getKey())
+                .mimeType(session.getContentType())
+                .size(session.getSize())
+                .build();
+    }
+
+    @Override
+    public void abortSession(String userId, String sessionId) {
+        UploadSession session = ownedSession(userId, sessionId);
+        synchronized (session) {
+            ensureIdle(session);
+            abort(session);
+        }
+    }
+
+    /**
+     * Aborts sessions the client has abandoned, so their parts stop accruing storage.
+     */
+    @Scheduled(
+            initialDelayString = "${app.resumable.sweep-interval:PT10M}",
+            fixedDelayString = "${app.resumable.sweep-interval:PT10M}")
+    public void expireIdleSessions() {
+        for (UploadSession session : sessionStore.idleSince(Instant.now().minus(properties.getIdleTimeout()))) {
+            synchronized (session) {
+                if (sessionStore.get(session.getSessionId()) != session || session.getChunkInFlight().get()) {
+                    continue;
+                }
+                try {
+                    abort(session);
+                    log.info("Aborted idle upload session {} for {}", session.getSessionId(), session.getKey());
+                } catch (RuntimeException e) {
+                    // Kept in the store, so the next sweep tries again
+                    log.warn("Unable to abort idle upload session {}: {}", session.getSessionId(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void abort(UploadSession session) {
+        storageRegistry.get(session.getProvider()).abortMultipartUpload(session.getKey(), session.getUploadId());
+        sessionStore.remove(session.getSessionId());
+    }
+
+    /**
+     * Sessions of other users are reported as unknown rather than forbidden. Every session has
+     * an owner, so a request without a user id matches none.
+     */
+    private UploadSession ownedSession(String userId, String sessionId) {
+        UploadSession session = sessionStore.get(sessionId);
+        if (session == null || session.getOwnerId() == null || !session.getOwnerId().equals(userId)) {
+            throw new WebException("Unknown upload session: " + sessionId);
+        }
+        return session;
+    }
+
+    /**
+     * Guards against a request that raced a completion, abort or expiry of the same session.
+     */
+    private void ensureOpen(UploadSession session) {
+        if (sessionStore.get(session.getSessionId()) != session) {
+            throw new WebException("Upload session " + session.getSessionId() + " is already closed");
+        }
+    }
+
+    /**
+     * A completion or abort must not run while a part is still being stored, or the part would
+     * be left behind, or missing from the assembled object.
+     */
+    private void ensureIdle(UploadSession session) {
+        ensureOpen(session);
+        if (session.getChunkInFlight().get()) {
+            throw new WebException("A chunk of upload session " + session.getSessionId() + " is still being stored");
+        }
+    }
+
+    private long chunkSize(long size) {
+        long chunkSize = Math.max(properties.getChunkSizeBytes(), MIN_CHUNK_SIZE);
+        return Math.max(chunkSize, (size + MAX_PARTS - 1) / MAX_PARTS);
+    }
+
+    private UploadSessionDto toDto(UploadSession session) {
+        return UploadSessionDto.builder()
+                .sessionId(session.getSessionId())
+                .provider(session.getProvider())
+                .key(session.getKey())
+                .size(session.getSize())
+                .chunkSize(session.getChunkSize())
+                .committedOffset(session.committedOffset())
+                .expiresAt(session.getLastActivity().plus(properties.getIdleTimeout()))
+                .build();
+    }
+}
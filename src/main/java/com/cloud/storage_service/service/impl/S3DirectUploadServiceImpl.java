@@ -0,0 +1,257 @@
+package com.cloud.storage_service.service.impl;
+
+import com.cloud.storage_service.component.ObjectStoreCallExecutor;
+import com.cloud.storage_service.config.aws.S3Configuration;
+import com.cloud.storage_service.constants.GeneralConstant;
+import com.cloud.storage_service.dto.request.CompleteMultipartUploadDto;
+import com.cloud.storage_service.dto.request.UploadedPartDto;
+import com.cloud.storage_service.dto.response.MultipartUploadDto;
+import com.cloud.storage_service.dto.response.PresignedPartDto;
+import com.cloud.storage_service.dto.response.PresignedUploadDto;
+import com.cloud.storage_service.dto.response.UploadResponseDto;
+import com.cloud.storage_service.dto.storage.ObjectChangedEvent;
+import com.cloud.storage_service.dto.storage.ObjectSummaryDto;
+import com.cloud.storage_service.exception.WebException;
+import com.cloud.storage_service.properties.UploadProperties;
+import com.cloud.storage_service.service.DirectUploadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.UploadPartPresignRequest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.cloud.storage_service.constants.MetricConstants.Operation;
+import static com.cloud.storage_service.util.common.StringUtils.normalizePrefix;
+
+/**
+ * Presigned single-PUT and multipart uploads straight into the S3 bucket. Keys are always
+ * derived from the caller's prefix and file name, exactly as for proxied uploads, so a
+ * client can only sign, complete or abort uploads for keys it could upload through us.
+ * A presigned PUT is invisible to the service until the client confirms it with
+ * {@link #completeUpload(String, String)}; until then the key index, search, stats and
+ * derivatives do not know about the object.
+ * The bucket's CORS rules must allow PUT from the portals and expose the ETag header.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@SuppressWarnings({"PMD.AvoidInstantiatingObjectsInLoops"})
+public class S3DirectUploadServiceImpl implements DirectUploadService {
+    private static final String PROVIDER = GeneralConstant.Provider.S3;
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    private static final int MAX_PARTS = 10_000;
+
+    private final S3Client s3Client;
+    private final S3Configuration s3Configuration;
+    private final S3Presigner s3Presigner;
+    private final ObjectStoreCallExecutor callExecutor;
+    private final UploadProperties uploadProperties;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public PresignedUploadDto presignUpload(String prefix, String fileName, String contentType, long size) {
+        if (size < 0 || size > uploadProperties.getMaxSinglePutBytes()) {
+            throw new WebException("Files over " + uploadProperties.getMaxSinglePutBytes()
+                    + " bytes must use a multipart upload");
+        }
+        String key = uploadKey(prefix, fileName);
+
+        PutObjectPresignRequest presignRequest = PutObjectPresignRequest.builder()
+                .signatureDuration(uploadProperties.getPresignTtl())
+                .putObjectRequest(PutObjectRequest.builder()
+                        .bucket(s3Configuration.getBucketName())
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength(size)
+                        .build())
+                .build();
+        PresignedPutObjectRequest presigned = callExecutor.execute(PROVIDER, Operation.PRESIGN,
+                () -> s3Presigner.presignPutObject(presignRequest));
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!HttpHeaders.HOST.equalsIgnoreCase(name)) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+        return PresignedUploadDto.builder()
+                .key(key)
+                .method(presigned.httpRequest().method().name())
+                .url(presigned.url().toExternalForm())
+                .headers(headers)
+                .expiresAt(presigned.expiration())
+                .build();
+    }
+
+    @Override
+    public MultipartUploadDto initiateMultipartUpload(String prefix, String fileName, String contentType, long size) {
+        if (size <= 0) {
+            throw new WebException("Multipart uploads need the file size");
+        }
+        String key = uploadKey(prefix, fileName);
+        long partSize = partSize(size);
+
+        CreateMultipartUploadResponse created = callExecutor.execute(PROVIDER, Operation.MULTIPART,
+                () -> s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(s3Configuration.getBucketName())
+                        .key(key)
+                        .contentType(contentType)
+                        .build()));
+        String uploadId = created.uploadId();
+
+        Instant expiresAt = Instant.now().plus(uploadProperties.getPresignTtl());
+        List<PresignedPartDto> parts = callExecutor.execute(PROVIDER, Operation.PRESIGN,
+                () -> presignParts(key, uploadId, size, partSize));
+        log.info("Initiated direct multipart upload of {} ({} bytes, {} parts)", key, size, parts.size());
+
+        return MultipartUploadDto.builder()
+                .key(key)
+                .uploadId(uploadId)
+                .partSize(partSize)
+                .parts(parts)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    @Override
+    public UploadResponseDto completeMultipartUpload(String prefix, String fileName,
+                                                     CompleteMultipartUploadDto request) {
+        if (request == null || request.getUploadId() == null || request.getParts() == null
+                || request.getParts().isEmpty()) {
+            throw new WebException("uploadId and the uploaded parts are required");
+        }
+        String key = uploadKey(prefix, fileName);
+
+        List<CompletedPart> completedParts = request.getParts().stream()
+                .sorted(Comparator.comparingInt(UploadedPartDto::getPartNumber))
+                .map(part -> CompletedPart.builder().partNumber(part.getPartNumber()).eTag(part.getEtag()).build())
+                .toList();
+        callExecutor.execute(PROVIDER, Operation.MULTIPART,
+                () -> s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                        .bucket(s3Configuration.getBucketName())
+                        .key(key)
+                        .uploadId(request.getUploadId())
+                        .multipartUpload(CompletedMultipartUpload.builder().parts(completedParts).build())
+                        .build()));
+        return publishWritten(key, fileName);
+    }
+
+    @Override
+    public UploadResponseDto completeUpload(String prefix, String fileName) {
+        String key = uploadKey(prefix, fileName);
+        try {
+            return publishWritten(key, fileName);
+        } catch (S3Exception e) {
+            if (e.statusCode() == HttpStatus.NOT_FOUND.value()) {
+                throw new WebException("No object has been uploaded to " + key);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * HEADs a freshly written key and tells the listeners about it; the bucket itself does
+     * not notify this service of writes made with a presigned URL.
+     */
+    private UploadResponseDto publishWritten(String key, String fileName) {
+        HeadObjectResponse head = callExecutor.execute(PROVIDER, Operation.HEAD,
+                () -> s3Client.headObject(HeadObjectRequest.builder()
+                        .bucket(s3Configuration.getBucketName())
+                        .key(key)
+                        .build()));
+        eventPublisher.publishEvent(ObjectChangedEvent.written(PROVIDER, ObjectSummaryDto.builder()
+                .key(key)
+                .size(head.contentLength())
+                .etag(head.eTag() == null ? null : head.eTag().replace("\"", ""))
+                .lastModified(head.lastModified())
+                .contentType(head.contentType())
+                .build()));
+        return UploadResponseDto.builder()
+                .filename(fileName)
+                .path(key)
+                .mimeType(head.contentType())
+                .url(String.format("https://%s.s3.%s.amazonaws.com/%s",
+                        s3Configuration.getBucketName(), s3Configuration.getRegion(), key))
+                .size(head.contentLength())
+                .build();
+    }
+
+    @Override
+    public void abortMultipartUpload(String prefix, String fileName, String uploadId) {
+        if (uploadId == null || uploadId.isBlank()) {
+            throw new WebException("uploadId is required");
+        }
+        String key = uploadKey(prefix, fileName);
+        callExecutor.execute(PROVIDER, Operation.MULTIPART,
+                () -> s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                        .bucket(s3Configuration.getBucketName())
+                        .key(key)
+                        .uploadId(uploadId)
+                        .build()));
+    }
+
+    private List<PresignedPartDto> presignParts(String key, String uploadId, long size, long partSize) {
+        List<PresignedPartDto> parts = new ArrayList<>();
+        for (long offset = 0; offset < size; offset += partSize) {
+            int partNumber = parts.size() + 1;
+            UploadPartPresignRequest presignRequest = UploadPartPresignRequest.builder()
+                    .signatureDuration(uploadProperties.getPresignTtl())
+                    .uploadPartRequest(UploadPartRequest.builder()
+                            .bucket(s3Configuration.getBucketName())
+                            .key(key)
+                            .uploadId(uploadId)
+                            .partNumber(partNumber)
+                            .build())
+                    .build();
+            parts.add(PresignedPartDto.builder()
+                    .partNumber(partNumber)
+                    .offset(offset)
+                    .size(Math.min(partSize, size - offset))
+                    .url(s3Presigner.presignUploadPart(presignRequest).url().toExternalForm())
+                    .build());
+        }
+        return parts;
+    }
+
+    private long partSize(long size) {
+        long partSize = Math.max(uploadProperties.getPartSizeBytes(), MIN_PART_SIZE);
+        return Math.max(partSize, (size + MAX_PARTS - 1) / MAX_PARTS);
+    }
+
+    /**
+     * The object key a proxied upload of this file would get. File names may not contain
+     * path segments, so the key always stays under the caller's prefix.
+     */
+    public static String uploadKey(String prefix, String fileName) {
+        if (fileName == null || fileName.isBlank() || fileName.contains("/") || fileName.contains("\\")
+                || ".".equals(fileName) || "..".equals(fileName)) {
+            throw new WebException("A plain file name is required");
+        }
+        String normalized = normalizePrefix(prefix);
+        return normalized.isEmpty() ? fileName : normalized + "/" + fileName;
+    }
+}
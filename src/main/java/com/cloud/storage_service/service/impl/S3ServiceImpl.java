@@ -1,35 +1,68 @@
 package com.cloud.storage_service.service.impl;
 
+import com.cloud.storage_service.component.BucketKeyIndex;
+import com.cloud.storage_service.component.ContentCompression;
+import com.cloud.storage_service.component.ContentDigestIndex;
+import com.cloud.storage_service.component.ObjectStoreCallExecutor;
+import com.cloud.storage_service.component.S3ReadCoalescer;
+import com.cloud.storage_service.component.StorageMetrics;
+import com.cloud.storage_service.component.TransferAdmissionController;
 import com.cloud.storage_service.config.aws.S3Configuration;
 import com.cloud.storage_service.constants.GeneralConstant;
 import com.cloud.storage_service.dto.response.UploadListResponseDto;
 import com.cloud.storage_service.dto.response.UploadResponseDto;
+import com.cloud.storage_service.dto.storage.ObjectChangedEvent;
+import com.cloud.storage_service.dto.storage.ObjectListingDto;
+import com.cloud.storage_service.dto.storage.ObjectSummaryDto;
 import com.cloud.storage_service.exception.WebException;
+import com.cloud.storage_service.properties.ChecksumProperties;
 import com.cloud.storage_service.service.S3Service;
+import com.cloud.storage_service.util.io.ChecksumInputStream;
+import com.cloud.storage_service.util.io.CountingInputStream;
+import com.cloud.storage_service.util.io.LimitedInputStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import static com.cloud.storage_service.constants.GeneralConstant.CONTENT_SHA256_METADATA;
+import static com.cloud.storage_service.constants.GeneralConstant.DASH;
+import static com.cloud.storage_service.constants.GeneralConstant.SYNC_SOURCE_ETAG_METADATA;
+import static com.cloud.storage_service.constants.GeneralConstant.UNCOMPRESSED_SIZE_METADATA;
+import static com.cloud.storage_service.constants.MetricConstants.DedupResult;
+import static com.cloud.storage_service.constants.MetricConstants.Direction;
+import static com.cloud.storage_service.constants.MetricConstants.Operation;
 import static com.cloud.storage_service.util.common.StringUtils.normalizePrefix;
 import static software.amazon.awssdk.http.HttpStatusCode.NOT_FOUND;
 
@@ -38,9 +71,22 @@ import static software.amazon.awssdk.http.HttpStatusCode.NOT_FOUND;
 @RequiredArgsConstructor
 @SuppressWarnings({"PMD.AvoidInstantiatingObjectsInLoops"})
 public class S3ServiceImpl implements S3Service {
+    private static final String PROVIDER = GeneralConstant.Provider.S3;
+    private static final long MAX_COPY_BYTES = 5L * 1024 * 1024 * 1024;
+    private static final Pattern BYTE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
     private final S3Client s3Client;
     private final S3Configuration s3Configuration;
     private final S3Presigner s3Presigner;
+    private final S3ReadCoalescer readCoalescer;
+    private final ObjectStoreCallExecutor callExecutor;
+    private final StorageMetrics storageMetrics;
+    private final TransferAdmissionController admissionController;
+    private final BucketKeyIndex keyIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentDigestIndex contentDigests;
+    private final ChecksumProperties checksumProperties;
+    private final ContentCompression compression;
 
     /**
      * Upload a file to S3 with the specified key.
@@ -69,22 +115,130 @@ public class S3ServiceImpl implements S3Service {
                 ? file.getOriginalFilename()
                 : normalized + "/" + file.getOriginalFilename();
 
-        try (InputStream inputStream = file.getInputStream()) {
-            s3Client.putObject(
-                    PutObjectRequest.builder()
-                            .bucket(s3Configuration.getBucketName())
-                            .key(key)
-                            .contentType(file.getContentType())
-                            .build(),
-                    RequestBody.fromInputStream(inputStream, file.getSize())
-            );
+        TransferAdmissionController.Reservation buffer = null;
+        try {
+            String digest = null;
+            byte[] compressed = null;
+            if (compression.shouldCompress(key, file.getContentType(), file.getSize())) {
+                // The gzip body is held in memory until it is sent, on top of what the request
+                // reserved for the upload itself; it never grows much past the decoded size
+                buffer = admissionController.acquire(file.getSize());
+                // One read compresses and digests; the digest is needed anyway, since encoded
+                // objects always carry the digest of their decoded content
+                MessageDigest sha256 = ContentDigestIndex.newSha256();
+                try (InputStream inputStream = new DigestInputStream(file.getInputStream(), sha256)) {
+                    compressed = compression.compress(PROVIDER, inputStream, file.getSize());
+                }
+                digest = ContentDigestIndex.hex(sha256);
+                if (compressed == null) {
+                    buffer.close();
+                }
+            } else if (contentDigests.isEnabled()) {
+                // Skipping the upload needs the digest before it is sent, which costs a read of its own
+                try (InputStream inputStream = file.getInputStream()) {
+                    digest = ContentDigestIndex.sha256(inputStream);
+                }
+            }
+            if (digest != null && contentDigests.isEnabled()
+                    && reuseStoredContent(key, digest, file.getContentType(), file.getSize())) {
+                log.info("[RequestId: {}] {} is already stored, skipped the upload", requestId, key);
+                UploadResponseDto response = buildUploadResponse(key, file.getContentType(), file.getSize());
+                response.setDeduplicated(true);
+                return response;
+            }
+
+            Map<String, String> metadata = new HashMap<>();
+            if (digest != null) {
+                metadata.put(CONTENT_SHA256_METADATA, digest);
+            }
+            if (compressed != null) {
+                metadata.put(UNCOMPRESSED_SIZE_METADATA, String.valueOf(file.getSize()));
+                put(key, new ByteArrayInputStream(compressed), compressed.length, file.getContentType(),
+                        ContentCompression.GZIP, metadata);
+            } else {
+                try (InputStream inputStream = file.getInputStream()) {
+                    put(key, inputStream, file.getSize(), file.getContentType(), null, metadata);
+                }
+            }
+            if (digest != null && contentDigests.isEnabled()) {
+                contentDigests.remember(PROVIDER, digest, key);
+            }
         } catch (IOException e) {
             throw new RuntimeException("Failed to upload file: " + file.getOriginalFilename(), e);
+        } finally {
+            if (buffer != null) {
+                buffer.close();
+            }
         }
 
         return buildUploadResponse(key, file.getContentType(), file.getSize());
     }
 
+    /**
+     * Makes {@code key} hold content that is already stored, without sending it again: nothing
+     * to do when the key itself has it, otherwise a server-side copy from another key that is
+     * known to have it.
+     *
+     * @return false when no stored copy could be used and the file has to be uploaded
+     */
+    private boolean reuseStoredContent(String key, String digest, String contentType, long size) {
+        HeadObjectResponse existing = headIfExists(key);
+        if (existing != null && digest.equals(existing.metadata().get(CONTENT_SHA256_METADATA))) {
+            contentDigests.remember(PROVIDER, digest, key);
+            contentDigests.recordDeduplicated(PROVIDER, DedupResult.SKIPPED, size);
+            return true;
+        }
+        String source = contentDigests.keyFor(PROVIDER, digest);
+        if (source == null || source.equals(key) || size > MAX_COPY_BYTES) {
+            return false;
+        }
+        HeadObjectResponse stored = headIfExists(source);
+        if (stored == null || !digest.equals(stored.metadata().get(CONTENT_SHA256_METADATA))) {
+            contentDigests.forget(PROVIDER, digest);
+            return false;
+        }
+
+        try {
+            CopyObjectResponse response = callExecutor.execute(PROVIDER, Operation.COPY,
+                    () -> s3Client.copyObject(CopyObjectRequest.builder()
+                            .sourceBucket(s3Configuration.getBucketName())
+                            .sourceKey(source)
+                            .destinationBucket(s3Configuration.getBucketName())
+                            .destinationKey(key)
+                            .copySourceIfMatch(stored.eTag())
+                            .metadataDirective(MetadataDirective.REPLACE)
+                            .contentType(contentType)
+                            // The source's metadata has the digest, and the decoded size of encoded content
+                            .contentEncoding(stored.contentEncoding())
+                            .metadata(stored.metadata())
+                            .build()));
+            publishWrite(key, response.copyObjectResult().eTag(), stored.contentLength(), contentType);
+        } catch (S3Exception e) {
+            if (e.statusCode() != HttpStatus.PRECONDITION_FAILED.value()) {
+                throw e;
+            }
+            // The source was overwritten between the HEAD and the copy
+            contentDigests.forget(PROVIDER, digest);
+            return false;
+        }
+        contentDigests.recordDeduplicated(PROVIDER, DedupResult.COPIED, size);
+        return true;
+    }
+
+    private HeadObjectResponse headIfExists(String key) {
+        try {
+            return callExecutor.execute(PROVIDER, Operation.HEAD, () -> s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(s3Configuration.getBucketName())
+                    .key(key)
+                    .build()));
+        } catch (S3Exception e) {
+            if (e.statusCode() == NOT_FOUND) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
     private UploadResponseDto toUploadResponse(UploadResponseDto response) {
         return UploadResponseDto.builder()
                 .filename(response.getFilename())
@@ -92,6 +246,7 @@ public class S3ServiceImpl implements S3Service {
                 .mimeType(response.getMimeType())
                 .url(response.getUrl())
                 .size(response.getSize())
+                .deduplicated(response.isDeduplicated())
                 .build();
     }
 
@@ -120,11 +275,167 @@ public class S3ServiceImpl implements S3Service {
      * Download a file from S3 by key.
      */
     public ResponseInputStream<GetObjectResponse> viewDownloadFile(String key) {
-        GetObjectRequest request = GetObjectRequest.builder()
-                .bucket(s3Configuration.getBucketName())
-                .key(key)
-                .build();
-        return s3Client.getObject(request);
+        return viewDownloadFile(key, null, null);
+    }
+
+    /**
+     * Download a file, or a byte range of it, from S3. Concurrent requests for the same
+     * key, version and range share a single upstream GET. The stream holds a transfer
+     * reservation until it is closed or aborted.
+     */
+    public ResponseInputStream<GetObjectResponse> viewDownloadFile(String key, String versionId, String range) {
+        TransferAdmissionController.Reservation reservation =
+                admissionController.acquire(admissionController.streamReservationBytes());
+        ResponseInputStream<GetObjectResponse> stream;
+        try {
+            stream = readCoalescer.open(key, versionId, range);
+        } catch (RuntimeException e) {
+            reservation.close();
+            throw e;
+        }
+        InputStream body = new CountingInputStream(stream, bytes -> storageMetrics.recordDownload(PROVIDER, bytes));
+        String checksum = stream.response().checksumCRC32C();
+        // Only whole objects can be verified; multipart objects carry a composite "-N" checksum
+        if (checksumProperties.isEnabled() && range == null && checksum != null && !checksum.contains(DASH)) {
+            body = new ChecksumInputStream(body, ChecksumInputStream.Algorithm.CRC32C, checksum,
+                    match -> storageMetrics.recordChecksum(PROVIDER, Direction.DOWNLOAD, match));
+        }
+        InputStream reserved = new FilterInputStream(body) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    reservation.close();
+                }
+            }
+        };
+        return new ResponseInputStream<>(stream.response(), AbortableInputStream.create(reserved, () -> {
+            stream.abort();
+            reservation.close();
+        }));
+    }
+
+    /**
+     * {@link #viewDownloadFile(String, String, String)} for a client. Objects stored
+     * gzip-encoded are passed through as stored when the client accepts gzip, and otherwise
+     * decoded as they stream, with the range applied to the decoded bytes; the response then
+     * has the {@link ContentCompression#IDENTITY} encoding. Without a recorded decoded size the
+     * range cannot be resolved, and the whole decoded object is returned with no Content-Range.
+     *
+     * @param acceptEncoding the client's Accept-Encoding header, or null to always decode
+     */
+    public ResponseInputStream<GetObjectResponse> viewFile(String key, String versionId, String range,
+                                                           String acceptEncoding) {
+        ResponseInputStream<GetObjectResponse> stream;
+        try {
+            stream = viewDownloadFile(key, versionId, range);
+        } catch (S3Exception e) {
+            if (range == null || e.statusCode() != HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value()) {
+                throw e;
+            }
+            // Past the end of the encoded bytes, which may still be within the decoded ones
+            stream = viewDownloadFile(key, versionId, null);
+            if (!ContentCompression.isGzip(stream.response().contentEncoding())
+                    || ContentCompression.accepts(acceptEncoding, ContentCompression.GZIP)) {
+                stream.abort();
+                throw e;
+            }
+        }
+        if (!ContentCompression.isGzip(stream.response().contentEncoding())
+                || ContentCompression.accepts(acceptEncoding, ContentCompression.GZIP)) {
+            return stream;
+        }
+        try {
+            if (range != null && stream.response().contentRange() != null) {
+                // The range addressed the encoded bytes; decoding needs them from the start
+                stream.abort();
+                stream = viewDownloadFile(key, versionId, null);
+            }
+            GetObjectResponse stored = stream.response();
+            Long size = ContentCompression.decodedSize(stored.metadata());
+            long[] slice = range != null && size != null ? parseRange(range, size) : null;
+            InputStream body = ContentCompression.decode(stream);
+            GetObjectResponse.Builder response = stored.toBuilder()
+                    .contentEncoding(ContentCompression.IDENTITY)
+                    .contentLength(size)
+                    .contentRange(null)
+                    .checksumCRC32C(null);
+            if (slice != null) {
+                body.skipNBytes(slice[0]);
+                body = new LimitedInputStream(body, slice[1] - slice[0] + 1);
+                response.contentLength(slice[1] - slice[0] + 1)
+                        .contentRange("bytes " + slice[0] + DASH + slice[1] + "/" + size);
+            }
+            return new ResponseInputStream<>(response.build(), AbortableInputStream.create(body, stream));
+        } catch (IOException e) {
+            stream.abort();
+            throw new UncheckedIOException("Could not decode " + key, e);
+        } catch (RuntimeException e) {
+            stream.abort();
+            throw e;
+        }
+    }
+
+    /**
+     * Size of the representation {@link #viewFile(String, String, String, String)} serves for
+     * a client, against which its ranges are resolved: the stored size, or the decoded one when
+     * the object would be decoded for it.
+     *
+     * @return the size, or null when the object is missing or its decoded size is unknown
+     */
+    public Long servedSize(String key, String versionId, String acceptEncoding) {
+        HeadObjectResponse head;
+        try {
+            head = callExecutor.execute(PROVIDER, Operation.HEAD, () -> s3Client.headObject(HeadObjectRequest.builder()
+                    .bucket(s3Configuration.getBucketName())
+                    .key(key)
+                    .versionId(versionId)
+                    .build()));
+        } catch (S3Exception e) {
+            if (e.statusCode() == NOT_FOUND) {
+                return null;
+            }
+            throw e;
+        }
+        if (ContentCompression.isGzip(head.contentEncoding())
+                && !ContentCompression.accepts(acceptEncoding, ContentCompression.GZIP)) {
+            return ContentCompression.decodedSize(head.metadata());
+        }
+        return head.contentLength();
+    }
+
+    /**
+     * Resolves a single-range {@code Range} header against an object of the given size. Like
+     * S3, anything else is ignored and the whole object is served.
+     *
+     * @return the first and last byte, inclusive, or null for the whole object
+     */
+    static long[] parseRange(String range, long size) {
+        Matcher matcher = BYTE_RANGE.matcher(range.trim());
+        if (!matcher.matches() || matcher.group(1).isEmpty() && matcher.group(2).isEmpty()) {
+            return null;
+        }
+        long first;
+        long last;
+        try {
+            if (matcher.group(1).isEmpty()) {
+                first = Math.max(0, size - Long.parseLong(matcher.group(2)));
+                last = size - 1;
+            } else {
+                first = Long.parseLong(matcher.group(1));
+                last = matcher.group(2).isEmpty() ? size - 1 : Math.min(size - 1, Long.parseLong(matcher.group(2)));
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (first > last) {
+            throw S3Exception.builder()
+                    .statusCode(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value())
+                    .message("The requested range is not satisfiable")
+                    .build();
+        }
+        return new long[] {first, last};
     }
 
     public byte[] downloadFolderAsZip(String folderKey) throws IOException {
@@ -133,7 +444,11 @@ public class S3ServiceImpl implements S3Service {
                 .prefix(ensureTrailingSlash(folderKey))
                 .build();
 
-        ListObjectsV2Response listResponse = s3Client.listObjectsV2(listRequest);
+        ListObjectsV2Response listResponse = callExecutor.execute(PROVIDER, Operation.LIST,
+                () -> s3Client.listObjectsV2(listRequest));
+
+        // The archive is built in memory and written by the controller afterwards
+        admissionController.acquireForRequest(listResponse.contents().stream().mapToLong(S3Object::size).sum());
 
         ByteArrayOutputStream zipOutputStream = new ByteArrayOutputStream();
         ZipOutputStream zipOut = new ZipOutputStream(zipOutputStream);
@@ -150,11 +465,16 @@ public class S3ServiceImpl implements S3Service {
                     .key(key)
                     .build();
 
-            try (ResponseInputStream<GetObjectResponse> s3InputStream = s3Client.getObject(getObjectRequest)) {
+            try (ResponseInputStream<GetObjectResponse> s3InputStream = callExecutor.execute(PROVIDER, Operation.GET,
+                    () -> s3Client.getObject(getObjectRequest))) {
                 String zipEntryName = key.substring(folderKey.length());
 
                 zipOut.putNextEntry(new ZipEntry(zipEntryName));
-                s3InputStream.transferTo(zipOut);
+                CountingInputStream counted = new CountingInputStream(s3InputStream,
+                        bytes -> storageMetrics.recordDownload(PROVIDER, bytes));
+                (ContentCompression.isGzip(s3InputStream.response().contentEncoding())
+                        ? ContentCompression.decode(counted)
+                        : counted).transferTo(zipOut);
                 zipOut.closeEntry();
             }
         }
@@ -169,7 +489,8 @@ public class S3ServiceImpl implements S3Service {
                 .prefix( ensureTrailingSlash(folderKey))
                 .build();
 
-        ListObjectsV2Response listResponse = s3Client.listObjectsV2(listRequest);
+        ListObjectsV2Response listResponse = callExecutor.execute(PROVIDER, Operation.LIST,
+                () -> s3Client.listObjectsV2(listRequest));
 
         List<ObjectIdentifier> objectsToDelete = listResponse.contents().stream()
                 .map(obj -> ObjectIdentifier.builder().key(obj.key()).build())
@@ -181,7 +502,9 @@ public class S3ServiceImpl implements S3Service {
                     .delete(Delete.builder().objects(objectsToDelete).build())
                     .build();
 
-            s3Client.deleteObjects(deleteRequest);
+            callExecutor.execute(PROVIDER, Operation.DELETE, () -> s3Client.deleteObjects(deleteRequest));
+            objectsToDelete.forEach(object -> eventPublisher.publishEvent(
+                    ObjectChangedEvent.deleted(PROVIDER, object.key())));
         }
     }
 
@@ -189,10 +512,11 @@ public class S3ServiceImpl implements S3Service {
      * Delete a file from S3 by key.
      */
     public void deleteFile(String key) {
-        s3Client.deleteObject(DeleteObjectRequest.builder()
+        callExecutor.execute(PROVIDER, Operation.DELETE, () -> s3Client.deleteObject(DeleteObjectRequest.builder()
                 .bucket(s3Configuration.getBucketName())
                 .key(key)
-                .build());
+                .build()));
+        eventPublisher.publishEvent(ObjectChangedEvent.deleted(PROVIDER, key));
     }
 
     /**
@@ -200,10 +524,10 @@ public class S3ServiceImpl implements S3Service {
      */
     public boolean fileExists(String key) {
         try {
-            s3Client.headObject(HeadObjectRequest.builder()
+            callExecutor.execute(PROVIDER, Operation.HEAD, () -> s3Client.headObject(HeadObjectRequest.builder()
                     .bucket(s3Configuration.getBucketName())
                     .key(key)
-                    .build());
+                    .build()));
             return true;
         } catch (S3Exception e) {
             if (e.statusCode() == NOT_FOUND) {
@@ -220,26 +544,45 @@ public class S3ServiceImpl implements S3Service {
     public Map<String, Object> listFiles(String prefix) {
         String basePrefix = prefix != null ? prefix : "webtoons-content/";
 
+        BucketKeyIndex.Listing indexed = keyIndex.list(PROVIDER, basePrefix);
+        if (indexed != null) {
+            return listFilesResult(basePrefix, indexed.folders(), indexed.files());
+        }
+
         ListObjectsV2Request request = ListObjectsV2Request.builder()
                 .bucket(s3Configuration.getBucketName())
                 .prefix(basePrefix)
                 .delimiter(GeneralConstant.SLASH)
                 .build();
 
-        ListObjectsV2Response response = s3Client.listObjectsV2(request);
+        ListObjectsV2Response response = callExecutor.execute(PROVIDER, Operation.LIST,
+                () -> s3Client.listObjectsV2(request));
 
         List<String> folders = response.commonPrefixes().stream()
                 .map(CommonPrefix::prefix)
                 .collect(Collectors.toList());
 
-        List<Map<String, Object>> files = response.contents().stream()
-                .filter(obj -> !obj.key().equals(basePrefix))
-                .sorted(Comparator.comparing(S3Object::lastModified).reversed())
+        List<ObjectSummaryDto> files = response.contents().stream()
+                .map(obj -> ObjectSummaryDto.builder()
+                        .key(obj.key())
+                        .size(obj.size())
+                        .lastModified(obj.lastModified())
+                        .build())
+                .collect(Collectors.toList());
+
+        return listFilesResult(basePrefix, folders, files);
+    }
+
+    private static Map<String, Object> listFilesResult(String basePrefix, List<String> folders,
+                                                       List<ObjectSummaryDto> objects) {
+        List<Map<String, Object>> files = objects.stream()
+                .filter(obj -> !obj.getKey().equals(basePrefix))
+                .sorted(Comparator.comparing(ObjectSummaryDto::getLastModified).reversed())
                 .map(obj -> {
                     Map<String, Object> fileMap = new HashMap<>();
-                    fileMap.put("name", obj.key());
-                    fileMap.put("lastModified", obj.lastModified().toString());
-                    fileMap.put("size", obj.size());
+                    fileMap.put("name", obj.getKey());
+                    fileMap.put("lastModified", obj.getLastModified().toString());
+                    fileMap.put("size", obj.getSize());
                     return fileMap;
                 })
                 .collect(Collectors.toList());
@@ -252,20 +595,208 @@ public class S3ServiceImpl implements S3Service {
     }
 
     public String generatePresignedUrl(String keyName) {
+        return presignGetObject(keyName, Duration.ofMinutes(30));
+    }
+
+    @Override
+    public String presignGetObject(String key, Duration expiry) {
         GetObjectRequest objectRequest = GetObjectRequest.builder()
                 .bucket(s3Configuration.getBucketName())
-                .key(keyName)
+                .key(key)
                 .build();
 
         GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                .signatureDuration(Duration.ofMinutes(30))
+                .signatureDuration(expiry)
                 .getObjectRequest(objectRequest)
                 .build();
 
-        PresignedGetObjectRequest presignedRequest = s3Presigner.presignGetObject(presignRequest);
+        PresignedGetObjectRequest presignedRequest = callExecutor.execute(PROVIDER, Operation.PRESIGN,
+                () -> s3Presigner.presignGetObject(presignRequest));
         return presignedRequest.url().toExternalForm();
     }
 
+    @Override
+    public String getProviderName() {
+        return GeneralConstant.Provider.S3;
+    }
+
+    @Override
+    public ObjectListingDto listObjects(String prefix, String startAfter, int maxKeys) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(s3Configuration.getBucketName())
+                .prefix(prefix)
+                .startAfter(startAfter)
+                .maxKeys(maxKeys)
+                .build();
+        ListObjectsV2Response response = callExecutor.execute(PROVIDER, Operation.LIST,
+                () -> s3Client.listObjectsV2(request));
+
+        List<ObjectSummaryDto> objects = response.contents().stream()
+                .map(obj -> ObjectSummaryDto.builder()
+                        .key(obj.key())
+                        .size(obj.size())
+                        .etag(stripQuotes(obj.eTag()))
+                        .lastModified(obj.lastModified())
+                        .build())
+                .collect(Collectors.toList());
+
+        String nextStartAfter = Boolean.TRUE.equals(response.isTruncated()) && !objects.isEmpty()
+                ? objects.get(objects.size() - 1).getKey()
+                : null;
+        return new ObjectListingDto(objects, nextStartAfter);
+    }
+
+    @Override
+    public ObjectSummaryDto headObject(String key) {
+        try {
+            HeadObjectResponse head = callExecutor.execute(PROVIDER, Operation.HEAD,
+                    () -> s3Client.headObject(HeadObjectRequest.builder()
+                            .bucket(s3Configuration.getBucketName())
+                            .key(key)
+                            .build()));
+            Long decodedSize = ContentCompression.isGzip(head.contentEncoding())
+                    ? ContentCompression.decodedSize(head.metadata())
+                    : null;
+            // The size getObject returns, which for encoded content is the decoded one
+            return ObjectSummaryDto.builder()
+                    .key(key)
+                    .size(decodedSize != null ? decodedSize : head.contentLength())
+                    .etag(stripQuotes(head.eTag()))
+                    .lastModified(head.lastModified())
+                    .contentType(head.contentType())
+                    .contentSha256(head.metadata().get(CONTENT_SHA256_METADATA))
+                    .syncSourceEtag(head.metadata().get(SYNC_SOURCE_ETAG_METADATA))
+                    .build();
+        } catch (S3Exception e) {
+            if (e.statusCode() == NOT_FOUND) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public InputStream getObject(String key) {
+        return viewFile(key, null, null, null);
+    }
+
+    @Override
+    public InputStream getObject(String key, long offset, long length) {
+        if (length == 0) {
+            return InputStream.nullInputStream();
+        }
+        return viewFile(key, null, "bytes=" + offset + DASH + (offset + length - 1), null);
+    }
+
+    @Override
+    public void putObject(String key, InputStream inputStream, long size, String contentType,
+                          Map<String, String> metadata) {
+        put(key, inputStream, size, contentType, null, metadata);
+    }
+
+    /**
+     * Uploads one object. With checksums enabled the SDK computes a CRC32C additional checksum
+     * while it sends the bytes and S3 rejects the upload when what arrived does not match it.
+     */
+    private void put(String key, InputStream inputStream, long size, String contentType, String contentEncoding,
+                     Map<String, String> metadata) {
+        boolean verify = checksumProperties.isEnabled();
+        PutObjectResponse response = callExecutor.execute(PROVIDER, Operation.PUT, () -> s3Client.putObject(
+                PutObjectRequest.builder()
+                        .bucket(s3Configuration.getBucketName())
+                        .key(key)
+                        .contentType(contentType)
+                        .contentEncoding(contentEncoding)
+                        .metadata(metadata)
+                        .checksumAlgorithm(verify ? ChecksumAlgorithm.CRC32C : null)
+                        .build(),
+                RequestBody.fromInputStream(inputStream, size)
+        ));
+        storageMetrics.recordUpload(PROVIDER, size);
+        publishWrite(key, response.eTag(), size, contentType);
+    }
+
+    @Override
+    public void deleteObject(String key) {
+        deleteFile(key);
+    }
+
+    @Override
+    public String startMultipartUpload(String key, String contentType) {
+        return callExecutor.execute(PROVIDER, Operation.MULTIPART,
+                () -> s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                        .bucket(s3Configuration.getBucketName())
+                        .key(key)
+                        .contentType(contentType)
+                        .build())).uploadId();
+    }
+
+    @Override
+    public String uploadPart(String key, String uploadId, int partNumber, InputStream inputStream, long size) {
+        UploadPartResponse response = callExecutor.execute(PROVIDER, Operation.PUT,
+                () -> s3Client.uploadPart(UploadPartRequest.builder()
+                                .bucket(s3Configuration.getBucketName())
+                                .key(key)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength(size)
+                                .build(),
+                        RequestBody.fromInputStream(inputStream, size)));
+        storageMetrics.recordUpload(PROVIDER, size);
+        return stripQuotes(response.eTag());
+    }
+
+    /**
+     * The content type was fixed when the upload started, so it is not needed here.
+     */
+    @Override
+    public void completeMultipartUpload(String key, String uploadId, String contentType, List<String> partEtags) {
+        List<CompletedPart> parts = new ArrayList<>(partEtags.size());
+        for (int i = 0; i < partEtags.size(); i++) {
+            parts.add(CompletedPart.builder().partNumber(i + 1).eTag(partEtags.get(i)).build());
+        }
+        callExecutor.execute(PROVIDER, Operation.MULTIPART,
+                () -> s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                        .bucket(s3Configuration.getBucketName())
+                        .key(key)
+                        .uploadId(uploadId)
+                        .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build())
+                        .build()));
+        // Published whether or not the key index is on; every listener checks its own switch
+        ObjectSummaryDto written = headObject(key);
+        if (written != null) {
+            eventPublisher.publishEvent(ObjectChangedEvent.written(PROVIDER, written));
+        }
+    }
+
+    @Override
+    public void abortMultipartUpload(String key, String uploadId) {
+        try {
+            callExecutor.execute(PROVIDER, Operation.MULTIPART,
+                    () -> s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                            .bucket(s3Configuration.getBucketName())
+                            .key(key)
+                            .uploadId(uploadId)
+                            .build()));
+        } catch (NoSuchUploadException e) {
+            log.debug("Multipart upload {} of {} is already gone", uploadId, key);
+        }
+    }
+
+    private void publishWrite(String key, String etag, long size, String contentType) {
+        eventPublisher.publishEvent(ObjectChangedEvent.written(PROVIDER, ObjectSummaryDto.builder()
+                .key(key)
+                .size(size)
+                .etag(stripQuotes(etag))
+                .lastModified(Instant.now())
+                .contentType(contentType)
+                .build()));
+    }
+
+    private static String stripQuotes(String etag) {
+        return etag == null ? null : etag.replace("\"", "");
+    }
+
     private void validateFiles(List<MultipartFile> files) {
         if (files == null || files.isEmpty()) {
             throw new WebException("Uploaded file list cannot be empty");
@@ -0,0 +1,474 @@
+package com.cloud.storage_service.service.impl;
+
+import com.cloud.storage_service.component.ObjectStorageRegistry;
+import com.cloud.storage_service.component.SyncCheckpointStore;
+import com.cloud.storage_service.constants.GeneralConstant;
+import com.cloud.storage_service.dto.request.SyncRequestDto;
+import com.cloud.storage_service.dto.response.SyncActionDto;
+import com.cloud.storage_service.dto.response.SyncResultDto;
+import com.cloud.storage_service.dto.storage.ObjectListingDto;
+import com.cloud.storage_service.dto.storage.ObjectSummaryDto;
+import com.cloud.storage_service.exception.ServiceOverloadedException;
+import com.cloud.storage_service.exception.WebException;
+import com.cloud.storage_service.properties.SyncProperties;
+import com.cloud.storage_service.service.ObjectStorageService;
+import com.cloud.storage_service.service.SyncService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.cloud.storage_service.constants.GeneralConstant.CONTENT_SHA256_METADATA;
+import static com.cloud.storage_service.constants.GeneralConstant.SYNC_SOURCE_ETAG_METADATA;
+import static com.cloud.storage_service.service.impl.S3ServiceImpl.ensureTrailingSlash;
+import static com.cloud.storage_service.util.common.StringUtils.normalizePrefix;
+
+/**
+ * Incremental one-way sync between two object store prefixes.
+ * Both sides are listed page by page in key order and merge-joined, so memory stays
+ * bounded by the page and batch sizes regardless of how many objects the prefixes hold.
+ * Syncs run on a small pool of their own rather than on the request thread; a snapshot of
+ * each one's progress is kept under its id, which is derived from the prefixes it joins.
+ */
+@Slf4j
+@Service
+@SuppressWarnings({
+        "PMD.AvoidInstantiatingObjectsInLoops",
+        "PMD.CognitiveComplexity",
+        "PMD.CyclomaticComplexity"})
+public class SyncServiceImpl implements SyncService {
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(30);
+
+    private final ObjectStorageRegistry storageRegistry;
+    private final SyncCheckpointStore checkpointStore;
+    private final SyncProperties syncProperties;
+    private final Set<String> runningSyncs = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor syncExecutor;
+    private final Cache<String, SyncResultDto> results;
+
+    public SyncServiceImpl(ObjectStorageRegistry storageRegistry, SyncCheckpointStore checkpointStore,
+                           SyncProperties syncProperties) {
+        this.storageRegistry = storageRegistry;
+        this.checkpointStore = checkpointStore;
+        this.syncProperties = syncProperties;
+        int maxSyncs = Math.max(1, syncProperties.getMaxConcurrentSyncs());
+        this.syncExecutor = new ThreadPoolExecutor(
+                maxSyncs, maxSyncs,
+                60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "storage-sync");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.syncExecutor.allowCoreThreadTimeOut(true);
+        this.results = Caffeine.newBuilder()
+                .expireAfterWrite(syncProperties.getResultTtl())
+                .build();
+    }
+
+    @Override
+    public SyncResultDto sync(String requestId, SyncRequestDto request) {
+        log.info("[RequestId: {}] Starting SyncServiceImpl.sync()", requestId);
+
+        ObjectStorageService source = storageRegistry.get(request.getSource());
+        ObjectStorageService target = storageRegistry.get(request.getTarget());
+        String sourcePrefix = ensureTrailingSlash(normalizePrefix(request.getSourcePrefix()));
+        String targetPrefix = request.getTargetPrefix() == null
+                ? sourcePrefix
+                : ensureTrailingSlash(normalizePrefix(request.getTargetPrefix()));
+
+        if (source == target && sourcePrefix.equals(targetPrefix)) {
+            throw new WebException("Source and target of a sync must differ");
+        }
+
+        String syncId = syncId(source, sourcePrefix, target, targetPrefix, request.isDeleteExtraneous());
+        if (!runningSyncs.add(syncId)) {
+            throw new WebException("A sync for these prefixes is already running");
+        }
+
+        SyncResultDto started = SyncResultDto.builder()
+                .syncId(syncId)
+                .status(GeneralConstant.STATUS.IN_PROGRESS)
+                .dryRun(request.isDryRun())
+                .build();
+        results.put(syncId, started);
+        try {
+            syncExecutor.execute(() -> {
+                try {
+                    run(requestId, syncId, request, source, sourcePrefix, target, targetPrefix);
+                } catch (RuntimeException e) {
+                    log.error("[RequestId: {}] Sync {} failed", requestId, syncId, e);
+                    SyncResultDto last = results.getIfPresent(syncId);
+                    results.put(syncId, (last != null ? last.toBuilder() : started.toBuilder())
+                            .status(GeneralConstant.STATUS.FAILED)
+                            .error(e.getMessage())
+                            .build());
+                } finally {
+                    runningSyncs.remove(syncId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            runningSyncs.remove(syncId);
+            results.invalidate(syncId);
+            throw new ServiceOverloadedException("Too many syncs are running", RETRY_AFTER);
+        }
+        return started;
+    }
+
+    @Override
+    public SyncResultDto status(String syncId) {
+        SyncResultDto result = results.getIfPresent(syncId);
+        if (result == null) {
+            throw new WebException("Unknown sync: " + syncId);
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Interrupted syncs resume from their last checkpoint when they are started again
+        syncExecutor.shutdownNow();
+    }
+
+    private SyncResultDto run(String requestId, String syncId, SyncRequestDto request,
+                              ObjectStorageService source, String sourcePrefix,
+                              ObjectStorageService target, String targetPrefix) {
+        boolean dryRun = request.isDryRun();
+        String resumeFrom = !dryRun && request.isResume() ? checkpointStore.load(syncId) : null;
+
+        SyncResultDto result = SyncResultDto.builder()
+                .syncId(syncId)
+                .status(GeneralConstant.STATUS.IN_PROGRESS)
+                .dryRun(dryRun)
+                .resumedFrom(resumeFrom)
+                .plan(dryRun ? new ArrayList<>() : null)
+                .build();
+
+        PagedObjectIterator sourceObjects = new PagedObjectIterator(source, sourcePrefix, resumeFrom);
+        PagedObjectIterator targetObjects = new PagedObjectIterator(target, targetPrefix, resumeFrom);
+        List<SyncActionDto> batch = new ArrayList<>(syncProperties.getBatchSize());
+        ExecutorService executor = dryRun ? null : Executors.newFixedThreadPool(syncProperties.getParallelism());
+
+        try {
+            String lastKey = null;
+            while (sourceObjects.hasNext() || targetObjects.hasNext()) {
+                ObjectSummaryDto sourceObject = sourceObjects.peek();
+                ObjectSummaryDto targetObject = targetObjects.peek();
+                int comparison = compare(sourceObject, sourcePrefix, targetObject, targetPrefix);
+
+                if (comparison < 0) {
+                    lastKey = relativeKey(sourceObject, sourcePrefix);
+                    batch.add(copyAction(sourceObject, targetPrefix + lastKey));
+                    sourceObjects.next();
+                } else if (comparison > 0) {
+                    lastKey = relativeKey(targetObject, targetPrefix);
+                    if (request.isDeleteExtraneous()) {
+                        batch.add(SyncActionDto.builder()
+                                .action(SyncActionDto.DELETE)
+                                .targetKey(targetObject.getKey())
+                                .size(targetObject.getSize())
+                                .build());
+                    }
+                    targetObjects.next();
+                } else {
+                    lastKey = relativeKey(sourceObject, sourcePrefix);
+                    if (isChanged(source, target, sourceObject, targetObject)) {
+                        batch.add(copyAction(sourceObject, targetObject.getKey()));
+                    } else {
+                        result.setSkipped(result.getSkipped() + 1);
+                    }
+                    sourceObjects.next();
+                    targetObjects.next();
+                }
+                result.setScanned(result.getScanned() + 1);
+
+                if (batch.size() >= syncProperties.getBatchSize()) {
+                    if (!flush(requestId, batch, source, target, executor, result)) {
+                        return finish(syncId, result, GeneralConstant.STATUS.FAILED);
+                    }
+                    checkpoint(syncId, lastKey, result);
+                }
+            }
+
+            if (!flush(requestId, batch, source, target, executor, result)) {
+                return finish(syncId, result, GeneralConstant.STATUS.FAILED);
+            }
+            if (!dryRun) {
+                checkpointStore.clear(syncId);
+            }
+            return finish(syncId, result, GeneralConstant.STATUS.COMPLETED);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Executes a batch of planned actions, or records them when running dry.
+     *
+     * @return false when at least one action failed and the checkpoint must not advance
+     */
+    private boolean flush(String requestId, List<SyncActionDto> batch, ObjectStorageService source,
+                          ObjectStorageService target, ExecutorService executor, SyncResultDto result) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+
+        if (executor == null) {
+            for (SyncActionDto action : batch) {
+                countPlanned(action, result);
+                if (result.getPlan().size() < syncProperties.getPlanLimit()) {
+                    result.getPlan().add(action);
+                } else {
+                    result.setPlanTruncated(true);
+                }
+            }
+            batch.clear();
+            return true;
+        }
+
+        AtomicLong bytes = new AtomicLong();
+        List<Future<SyncActionDto>> futures = new ArrayList<>(batch.size());
+        for (SyncActionDto action : batch) {
+            futures.add(executor.submit(() -> execute(action, source, target, bytes)));
+        }
+        batch.clear();
+
+        boolean success = true;
+        for (Future<SyncActionDto> future : futures) {
+            try {
+                countPlanned(future.get(), result);
+            } catch (ExecutionException e) {
+                success = false;
+                result.setFailed(result.getFailed() + 1);
+                log.error("[RequestId: {}] Sync action failed: {}", requestId, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new WebException("Sync interrupted", e);
+            }
+        }
+        result.setBytesTransferred(result.getBytesTransferred() + bytes.get());
+        return success;
+    }
+
+    private SyncActionDto execute(SyncActionDto action, ObjectStorageService source,
+                                  ObjectStorageService target, AtomicLong bytes) throws Exception {
+        if (SyncActionDto.DELETE.equals(action.getAction())) {
+            target.deleteObject(action.getTargetKey());
+            return action;
+        }
+
+        ObjectSummaryDto head = source.headObject(action.getSourceKey());
+        if (head == null) {
+            // Deleted from the source after it was listed; nothing left to copy
+            return action;
+        }
+        // The source's ETag marks the copy as made from this version of it, and the digest lets
+        // other writers of the same content recognise it
+        Map<String, String> metadata = new HashMap<>();
+        if (head.getEtag() != null) {
+            metadata.put(SYNC_SOURCE_ETAG_METADATA, head.getEtag());
+        }
+        if (head.getContentSha256() != null) {
+            metadata.put(CONTENT_SHA256_METADATA, head.getContentSha256());
+        }
+        try (InputStream inputStream = source.getObject(action.getSourceKey())) {
+            target.putObject(action.getTargetKey(), inputStream, head.getSize(), head.getContentType(), metadata);
+        }
+        bytes.addAndGet(head.getSize());
+        return action;
+    }
+
+    private void checkpoint(String syncId, String lastKey, SyncResultDto result) {
+        result.setCheckpoint(lastKey);
+        if (!result.isDryRun()) {
+            checkpointStore.save(syncId, lastKey);
+        }
+        publish(result);
+    }
+
+    /**
+     * Makes a copy of the result visible to {@link #status(String)}; the sync keeps updating
+     * its own.
+     */
+    private void publish(SyncResultDto result) {
+        results.put(result.getSyncId(), result.toBuilder()
+                .plan(result.getPlan() != null ? List.copyOf(result.getPlan()) : null)
+                .build());
+    }
+
+    private SyncResultDto finish(String syncId, SyncResultDto result, String status) {
+        result.setStatus(status);
+        publish(result);
+        log.info("Sync {} finished with status {}: scanned={}, copied={}, deleted={}, skipped={}, failed={}",
+                syncId, status, result.getScanned(), result.getCopied(), result.getDeleted(),
+                result.getSkipped(), result.getFailed());
+        return result;
+    }
+
+    private static void countPlanned(SyncActionDto action, SyncResultDto result) {
+        if (SyncActionDto.DELETE.equals(action.getAction())) {
+            result.setDeleted(result.getDeleted() + 1);
+        } else {
+            result.setCopied(result.getCopied() + 1);
+        }
+    }
+
+    private static SyncActionDto copyAction(ObjectSummaryDto sourceObject, String targetKey) {
+        return SyncActionDto.builder()
+                .action(SyncActionDto.COPY)
+                .sourceKey(sourceObject.getKey())
+                .targetKey(targetKey)
+                .size(sourceObject.getSize())
+                .build();
+    }
+
+    /**
+     * An object is considered unchanged when size and ETag match. Listings report the stored
+     * bytes, and ETags of multipart uploads or gzip-encoded objects are not those of a plain
+     * copy, so on a mismatch both sides are looked up. Copies of different decoded sizes
+     * differ; otherwise they are the same when the target records being copied from the
+     * source's current ETag, or when both record the same content digest. Anything else is
+     * re-copied once, which marks the copy so the next run can skip it.
+     */
+    static boolean isChanged(ObjectStorageService source, ObjectStorageService target,
+                             ObjectSummaryDto sourceObject, ObjectSummaryDto targetObject) {
+        if (sourceObject.getSize() == targetObject.getSize()
+                && Objects.equals(sourceObject.getEtag(), targetObject.getEtag())) {
+            return false;
+        }
+        ObjectSummaryDto sourceHead = source.headObject(sourceObject.getKey());
+        ObjectSummaryDto targetHead = target.headObject(targetObject.getKey());
+        if (sourceHead == null || targetHead == null || sourceHead.getSize() != targetHead.getSize()) {
+            return true;
+        }
+        if (sourceHead.getEtag() != null && sourceHead.getEtag().equals(targetHead.getSyncSourceEtag())) {
+            return false;
+        }
+        return sourceHead.getContentSha256() == null
+                || !sourceHead.getContentSha256().equals(targetHead.getContentSha256());
+    }
+
+    private static int compare(ObjectSummaryDto sourceObject, String sourcePrefix,
+                               ObjectSummaryDto targetObject, String targetPrefix) {
+        if (sourceObject == null) {
+            return 1;
+        }
+        if (targetObject == null) {
+            return -1;
+        }
+        return compareKeys(relativeKey(sourceObject, sourcePrefix), relativeKey(targetObject, targetPrefix));
+    }
+
+    /**
+     * Compares keys by code point, which matches the UTF-8 binary order object stores list in.
+     */
+    static int compareKeys(String left, String right) {
+        int leftIndex = 0;
+        int rightIndex = 0;
+        while (leftIndex < left.length() && rightIndex < right.length()) {
+            int leftCodePoint = left.codePointAt(leftIndex);
+            int rightCodePoint = right.codePointAt(rightIndex);
+            if (leftCodePoint != rightCodePoint) {
+                return Integer.compare(leftCodePoint, rightCodePoint);
+            }
+            leftIndex += Character.charCount(leftCodePoint);
+            rightIndex += Character.charCount(rightCodePoint);
+        }
+        return Integer.compare(left.length() - leftIndex, right.length() - rightIndex);
+    }
+
+    private static String relativeKey(ObjectSummaryDto object, String prefix) {
+        return object.getKey().substring(prefix.length());
+    }
+
+    private static String syncId(ObjectStorageService source, String sourcePrefix,
+                                 ObjectStorageService target, String targetPrefix, boolean deleteExtraneous) {
+        String descriptor = String.join("|", source.getProviderName(), sourcePrefix,
+                target.getProviderName(), targetPrefix, String.valueOf(deleteExtraneous));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(descriptor.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Lazily walks a prefix one listing page at a time.
+     */
+    private final class PagedObjectIterator implements Iterator<ObjectSummaryDto> {
+        private final ObjectStorageService storage;
+        private final String prefix;
+        private Iterator<ObjectSummaryDto> page;
+        private String startAfter;
+        private boolean exhausted;
+        private ObjectSummaryDto next;
+
+        PagedObjectIterator(ObjectStorageService storage, String prefix, String resumeFrom) {
+            this.storage = storage;
+            this.prefix = prefix;
+            this.startAfter = resumeFrom == null ? null : prefix + resumeFrom;
+        }
+
+        ObjectSummaryDto peek() {
+            return hasNext() ? next : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if (page != null && page.hasNext()) {
+                    next = page.next();
+                } else if (exhausted) {
+                    return false;
+                } else {
+                    ObjectListingDto listing = storage.listObjects(prefix, startAfter, syncProperties.getPageSize());
+                    page = listing.getObjects().iterator();
+                    startAfter = listing.getNextStartAfter();
+                    exhausted = !listing.isTruncated();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public ObjectSummaryDto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ObjectSummaryDto current = next;
+            next = null;
+            return current;
+        }
+    }
+}
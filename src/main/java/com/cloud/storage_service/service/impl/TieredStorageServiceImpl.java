@@ -0,0 +1,248 @@
+package com.cloud.storage_service.service.impl;
+
+import com.cloud.storage_service.constants.GeneralConstant;
+import com.cloud.storage_service.dto.storage.ObjectChangedEvent;
+import com.cloud.storage_service.dto.storage.ObjectListingDto;
+import com.cloud.storage_service.dto.storage.ObjectSummaryDto;
+import com.cloud.storage_service.dto.storage.TieredObjectDto;
+import com.cloud.storage_service.exception.WebException;
+import com.cloud.storage_service.properties.TieringProperties;
+import com.cloud.storage_service.service.MinioService;
+import com.cloud.storage_service.service.S3Service;
+import com.cloud.storage_service.service.TieredStorageService;
+import com.cloud.storage_service.util.FrequencySketch;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiered read path with MinIO as the hot tier and S3 as the cold tier.
+ * Reads are counted in a {@link FrequencySketch}; popular cold objects are promoted
+ * asynchronously and hot objects whose count has decayed to zero are demoted.
+ * <p>
+ * The cold tier is the source of truth: writing or deleting an object in it through this
+ * service drops its hot copy. Cold objects changed by other clients are not seen, and their
+ * hot copy is served until it is demoted.
+ */
+@Slf4j
+@Service
+@SuppressWarnings({"PMD.AvoidCatchingGenericException"})
+public class TieredStorageServiceImpl implements TieredStorageService {
+    private static final int DEMOTE_PAGE_SIZE = 1000;
+
+    private final MinioService hotTier;
+    private final S3Service coldTier;
+    private final TieringProperties tieringProperties;
+    private final FrequencySketch accessSketch;
+    private final ThreadPoolExecutor promotionExecutor;
+    private final Set<String> promotionsInFlight = ConcurrentHashMap.newKeySet();
+    private final Set<String> demotionsInFlight = ConcurrentHashMap.newKeySet();
+    private final Instant startedAt = Instant.now();
+
+    public TieredStorageServiceImpl(MinioService minioService, S3Service s3Service,
+                                    TieringProperties tieringProperties) {
+        this.hotTier = minioService;
+        this.coldTier = s3Service;
+        this.tieringProperties = tieringProperties;
+        this.accessSketch = new FrequencySketch(tieringProperties.getSketchWidth());
+        this.promotionExecutor = new ThreadPoolExecutor(
+                tieringProperties.getPromotionThreads(), tieringProperties.getPromotionThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(tieringProperties.getPromotionQueueSize()),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public TieredObjectDto read(String requestId, String key) {
+        if (!tieringProperties.isEnabled()) {
+            throw new WebException("Tiered storage is disabled");
+        }
+        accessSketch.increment(key);
+
+        ObjectSummaryDto hot = hotTier.headObject(key);
+        if (hot != null) {
+            return new TieredObjectDto(TieredObjectDto.HOT, hot, hotTier.getObject(key));
+        }
+
+        ObjectSummaryDto cold = coldTier.headObject(key);
+        if (cold == null) {
+            throw new WebException("File not found: " + key);
+        }
+        log.info("[RequestId: {}] Hot tier miss for {}, serving from cold tier", requestId, key);
+        schedulePromotion(cold);
+        return new TieredObjectDto(TieredObjectDto.COLD, cold, coldTier.getObject(key));
+    }
+
+    private void schedulePromotion(ObjectSummaryDto cold) {
+        if (!tieringProperties.isPromoteOnRead()
+                || cold.getSize() > tieringProperties.getPromoteMaxBytes()
+                || accessSketch.estimate(cold.getKey()) < tieringProperties.getPromoteThreshold()
+                || !promotionsInFlight.add(cold.getKey())) {
+            return;
+        }
+
+        try {
+            promotionExecutor.execute(() -> {
+                try {
+                    copy(coldTier.getObject(cold.getKey()), cold, hotTier::putObject);
+                    // A cold write that landed during the copy dropped a hot copy that did not exist yet
+                    ObjectSummaryDto current = coldTier.headObject(cold.getKey());
+                    if (current == null || !Objects.equals(current.getEtag(), cold.getEtag())) {
+                        hotTier.deleteObject(cold.getKey());
+                        return;
+                    }
+                    log.info("Promoted {} to the hot tier", cold.getKey());
+                } catch (Exception e) {
+                    log.warn("Promotion of {} failed: {}", cold.getKey(), e.getMessage());
+                } finally {
+                    promotionsInFlight.remove(cold.getKey());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Promotion is best effort; the object will be considered again on a later read
+            promotionsInFlight.remove(cold.getKey());
+        }
+    }
+
+    /**
+     * Drops the hot copy of an object written or deleted in the cold tier, so reads do not keep
+     * serving the old bytes. Cold writes made by the demoter leave the hot copy for it to delete
+     * once it has checked the cold copy.
+     */
+    @EventListener
+    public void onObjectChanged(ObjectChangedEvent event) {
+        if (!tieringProperties.isEnabled() || !GeneralConstant.Provider.S3.equals(event.provider())
+                || demotionsInFlight.contains(event.key())) {
+            return;
+        }
+        try {
+            hotTier.deleteObject(event.key());
+        } catch (RuntimeException e) {
+            log.warn("Could not drop the hot copy of {}: {}", event.key(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.tiering.aging-interval:PT6H}")
+    public void ageAccessCounts() {
+        accessSketch.age();
+    }
+
+    @Scheduled(
+            initialDelayString = "${app.tiering.demote-interval:PT1H}",
+            fixedDelayString = "${app.tiering.demote-interval:PT1H}")
+    public void scheduledDemotion() {
+        if (tieringProperties.isEnabled() && tieringProperties.isDemoteEnabled()) {
+            int demoted = demoteIdleObjects();
+            log.info("Demoted {} idle objects to the cold tier", demoted);
+        }
+    }
+
+    /**
+     * Demotes nothing during the first aging interval after startup: the sketch starts empty,
+     * so until it has seen that long of traffic every object would read as cold.
+     */
+    @Override
+    public int demoteIdleObjects() {
+        if (Instant.now().isBefore(startedAt.plus(tieringProperties.getAgingInterval()))) {
+            log.info("Skipping demotion until read counts cover one aging interval");
+            return 0;
+        }
+        Instant residencyCutoff = Instant.now().minus(tieringProperties.getMinResidency());
+        int demoted = 0;
+
+        for (String prefix : tieringProperties.getDemotePrefixes()) {
+            String startAfter = null;
+            do {
+                ObjectListingDto page = hotTier.listObjects(prefix, startAfter, DEMOTE_PAGE_SIZE);
+                for (ObjectSummaryDto hot : page.getObjects()) {
+                    if (isIdle(hot, residencyCutoff) && demote(hot)) {
+                        demoted++;
+                    }
+                }
+                startAfter = page.getNextStartAfter();
+            } while (startAfter != null);
+        }
+
+        return demoted;
+    }
+
+    private boolean isIdle(ObjectSummaryDto hot, Instant residencyCutoff) {
+        return hot.getLastModified() != null
+                && hot.getLastModified().isBefore(residencyCutoff)
+                && accessSketch.estimate(hot.getKey()) == 0
+                && !promotionsInFlight.contains(hot.getKey());
+    }
+
+    /**
+     * Copies the hot object down only when the cold tier has no copy or an older one; a cold
+     * copy that is newer was written since the hot copy was taken, and the hot copy is just
+     * dropped. After a copy the hot copy is only deleted once the cold tier holds the same
+     * bytes, judged by ETag: both tiers give single-part uploads the MD5 of the content. When
+     * the ETags cannot agree (multipart or encrypted objects) the object stays hot.
+     */
+    private boolean demote(ObjectSummaryDto hot) {
+        if (!demotionsInFlight.add(hot.getKey())) {
+            return false;
+        }
+        try {
+            ObjectSummaryDto source = hotTier.headObject(hot.getKey());
+            if (source == null || source.getEtag() == null) {
+                return false;
+            }
+            ObjectSummaryDto cold = coldTier.headObject(hot.getKey());
+            if (cold == null || !source.getEtag().equals(cold.getEtag()) && isOlder(cold, source)) {
+                copy(hotTier.getObject(hot.getKey()), source, coldTier::putObject);
+                cold = coldTier.headObject(hot.getKey());
+                if (cold == null || !source.getEtag().equals(cold.getEtag())) {
+                    log.warn("Keeping {} hot: the cold copy's ETag does not match", hot.getKey());
+                    return false;
+                }
+            }
+            hotTier.deleteObject(hot.getKey());
+            return true;
+        } catch (Exception e) {
+            log.warn("Demotion of {} failed: {}", hot.getKey(), e.getMessage());
+            return false;
+        } finally {
+            demotionsInFlight.remove(hot.getKey());
+        }
+    }
+
+    /**
+     * Without both modification times the cold copy cannot be shown to be newer, and the
+     * hot copy is kept in the cold tier rather than lost.
+     */
+    private static boolean isOlder(ObjectSummaryDto cold, ObjectSummaryDto hot) {
+        return cold.getLastModified() == null || hot.getLastModified() == null
+                || cold.getLastModified().isBefore(hot.getLastModified());
+    }
+
+    private static void copy(InputStream source, ObjectSummaryDto summary, ObjectWriter writer) throws IOException {
+        try (InputStream inputStream = source) {
+            writer.write(summary.getKey(), inputStream, summary.getSize(), summary.getContentType());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        promotionExecutor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface ObjectWriter {
+        void write(String key, InputStream inputStream, long size, String contentType);
+    }
+}
@@ -0,0 +1,98 @@
+package com.cloud.storage_service.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-min sketch with 4-bit counters, used to estimate how often a key was read
+ * without keeping a per-key map. Four rows of {@code width} counters are packed sixteen
+ * to a long, so the default 65536-wide sketch costs 128 KiB regardless of key count.
+ *
+ * <p>Estimates never under-count: a key may look warmer than it is because of hash
+ * collisions, but a key that was read is never reported as cold. Calling {@link #age()}
+ * halves every counter so old reads fade and idle keys decay to zero.</p>
+ */
+public class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final long RESET_MASK = 0x7777_7777_7777_7777L;
+
+    private final AtomicLongArray table;
+    private final int widthMask;
+    private final int width;
+
+    public FrequencySketch(int width) {
+        this.width = Integer.highestOneBit(Math.max(16, width - 1) << 1);
+        this.widthMask = this.width - 1;
+        this.table = new AtomicLongArray(this.width * DEPTH / 16);
+    }
+
+    /**
+     * Records one access of the key.
+     */
+    public void increment(String key) {
+        int hash = spread(key.hashCode());
+        int secondary = rehash(hash);
+        for (int row = 0; row < DEPTH; row++) {
+            incrementAt(row * width + ((hash + row * secondary) & widthMask));
+        }
+    }
+
+    /**
+     * Returns the estimated number of recent accesses of the key, capped at 15.
+     */
+    public int estimate(String key) {
+        int hash = spread(key.hashCode());
+        int secondary = rehash(hash);
+        int min = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, counterAt(row * width + ((hash + row * secondary) & widthMask)));
+        }
+        return min;
+    }
+
+    /**
+     * Halves every counter. Concurrent increments racing with aging may be lost, which only
+     * makes the sketch slightly more conservative.
+     */
+    public void age() {
+        for (int i = 0; i < table.length(); i++) {
+            long value = table.get(i);
+            table.set(i, (value >>> 1) & RESET_MASK);
+        }
+    }
+
+    public long sizeInBytes() {
+        return (long) table.length() * Long.BYTES;
+    }
+
+    private void incrementAt(int position) {
+        int index = position >>> 4;
+        int shift = (position & 15) << 2;
+        long current;
+        long updated;
+        do {
+            current = table.get(index);
+            if (((current >>> shift) & 0xFL) == MAX_COUNT) {
+                return;
+            }
+            updated = current + (1L << shift);
+        } while (!table.compareAndSet(index, current, updated));
+    }
+
+    private int counterAt(int position) {
+        return (int) ((table.get(position >>> 4) >>> ((position & 15) << 2)) & 0xFL);
+    }
+
+    private static int spread(int hash) {
+        int h = hash;
+        h ^= h >>> 16;
+        h *= 0x85eb_ca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2_ae35;
+        return h ^ (h >>> 16);
+    }
+
+    private static int rehash(int hash) {
+        return spread(hash * 0x9e37_79b9) | 1;
+    }
+}
@@ -0,0 +1,315 @@
+package com.cloud.storage_service.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Immutable sorted set of object keys with their size, ETag and modification time, laid out
+ * for memory rather than convenience. Keys are UTF-8 and front coded in blocks of
+ * {@value #BLOCK_SIZE}: each block starts with a full key and every following key stores only
+ * the suffix it does not share with its predecessor, which for bucket keys (long common
+ * folder paths) is usually a few bytes. Metadata sits in parallel primitive arrays, with
+ * plain MD5 ETags packed into 16 bytes.
+ *
+ * <p>Keys are ordered by code point, which is the UTF-8 byte order object stores list in.
+ */
+public final class KeyIndex {
+    public static final Comparator<String> KEY_ORDER = KeyIndex::compareKeys;
+    public static final KeyIndex EMPTY = builder().build();
+
+    private static final int BLOCK_SIZE = 16;
+    private static final int MD5_BYTES = 16;
+    private static final int MD5_HEX_LENGTH = 32;
+    private static final int OTHER_ETAG_BYTES = 96;
+
+    private final byte[] keys;
+    private final int[] blockOffsets;
+    private final int count;
+    private final long[] sizes;
+    private final long[] lastModified;
+    private final byte[] md5Etags;
+    private final BitSet hasMd5;
+    private final Map<Integer, String> otherEtags;
+
+    private KeyIndex(Builder builder) {
+        this.keys = Arrays.copyOf(builder.keys, builder.keyLength);
+        this.blockOffsets = Arrays.copyOf(builder.blockOffsets, (builder.count + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        this.count = builder.count;
+        this.sizes = Arrays.copyOf(builder.sizes, builder.count);
+        this.lastModified = Arrays.copyOf(builder.lastModified, builder.count);
+        this.md5Etags = Arrays.copyOf(builder.md5Etags, builder.count * MD5_BYTES);
+        this.hasMd5 = builder.hasMd5;
+        this.otherEtags = builder.otherEtags;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public long sizeAt(int index) {
+        return sizes[index];
+    }
+
+    public long lastModifiedAt(int index) {
+        return lastModified[index];
+    }
+
+    public String etagAt(int index) {
+        if (hasMd5.get(index)) {
+            return HexFormat.of().formatHex(md5Etags, index * MD5_BYTES, (index + 1) * MD5_BYTES);
+        }
+        return otherEtags.get(index);
+    }
+
+    /**
+     * Approximate heap held by the index.
+     */
+    public long memoryBytes() {
+        return keys.length + 4L * blockOffsets.length + 16L * count + md5Etags.length + count / 8
+                + (long) OTHER_ETAG_BYTES * otherEtags.size();
+    }
+
+    /**
+     * Cursor positioned at the first key.
+     */
+    public Cursor cursor() {
+        Cursor cursor = new Cursor();
+        cursor.seekBlock(0);
+        return cursor;
+    }
+
+    /**
+     * Code point order, so that keys compare like their UTF-8 bytes. Plain
+     * {@link String#compareTo} disagrees for characters outside the Basic Multilingual Plane.
+     */
+    public static int compareKeys(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(i);
+            if (ca != cb) {
+                if (Character.isSurrogate(ca) || Character.isSurrogate(cb)) {
+                    return Integer.compare(a.codePointAt(i), b.codePointAt(i));
+                }
+                return ca - cb;
+            }
+        }
+        return a.length() - b.length();
+    }
+
+    /**
+     * Forward iterator over the index that can jump ahead to the first key at or after a target.
+     */
+    public final class Cursor {
+        private int index;
+        private int offset;
+        private byte[] current = new byte[128];
+        private int length;
+
+        public boolean valid() {
+            return index < count;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public String key() {
+            return new String(current, 0, length, StandardCharsets.UTF_8);
+        }
+
+        public void advance() {
+            index++;
+            if (index < count) {
+                decode();
+            }
+        }
+
+        /**
+         * Moves to the first key at or after {@code target}; never moves backwards.
+         */
+        public void seek(String target) {
+            byte[] bytes = target.getBytes(StandardCharsets.UTF_8);
+            if (!valid() || compareCurrent(bytes) >= 0) {
+                return;
+            }
+            int low = index / BLOCK_SIZE;
+            int high = blockOffsets.length - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (compareBlockHead(mid, bytes) <= 0) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            if (low > index / BLOCK_SIZE) {
+                seekBlock(low);
+            }
+            while (valid() && compareCurrent(bytes) < 0) {
+                advance();
+            }
+        }
+
+        /**
+         * Moves to the key at position {@code target}; never moves backwards.
+         */
+        public void moveTo(int target) {
+            if (target / BLOCK_SIZE > index / BLOCK_SIZE) {
+                seekBlock(target / BLOCK_SIZE);
+            }
+            while (valid() && index < target) {
+                advance();
+            }
+        }
+
+        private void seekBlock(int block) {
+            index = block * BLOCK_SIZE;
+            length = 0;
+            if (index < count) {
+                offset = blockOffsets[block];
+                decode();
+            }
+        }
+
+        private void decode() {
+            int shared = readVarInt();
+            int suffix = readVarInt();
+            if (shared + suffix > current.length) {
+                current = Arrays.copyOf(current, Math.max(shared + suffix, current.length * 2));
+            }
+            System.arraycopy(keys, offset, current, shared, suffix);
+            offset += suffix;
+            length = shared + suffix;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = keys[offset++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        private int compareCurrent(byte[] target) {
+            return Arrays.compareUnsigned(current, 0, length, target, 0, target.length);
+        }
+
+        private int compareBlockHead(int block, byte[] target) {
+            int position = blockOffsets[block];
+            // Block heads are stored with no shared prefix: a zero byte, then the length
+            int headLength = 0;
+            int shift = 0;
+            byte b;
+            position++;
+            do {
+                b = keys[position++];
+                headLength |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return Arrays.compareUnsigned(keys, position, position + headLength, target, 0, target.length);
+        }
+    }
+
+    /**
+     * Accumulates keys in ascending {@link #KEY_ORDER}; adding out of order fails.
+     */
+    public static final class Builder {
+        private byte[] keys = new byte[1024];
+        private int keyLength;
+        private int[] blockOffsets = new int[16];
+        private int count;
+        private long[] sizes = new long[64];
+        private long[] lastModified = new long[64];
+        private byte[] md5Etags = new byte[64 * MD5_BYTES];
+        private final BitSet hasMd5 = new BitSet();
+        private final Map<Integer, String> otherEtags = new HashMap<>();
+        private byte[] previous;
+
+        private Builder() {
+        }
+
+        public Builder add(String key, long size, String etag, long lastModifiedMillis) {
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            if (previous != null && Arrays.compareUnsigned(previous, bytes) >= 0) {
+                throw new IllegalArgumentException("Keys must be added in ascending order: " + key);
+            }
+            if (count == sizes.length) {
+                int capacity = count * 2;
+                sizes = Arrays.copyOf(sizes, capacity);
+                lastModified = Arrays.copyOf(lastModified, capacity);
+                md5Etags = Arrays.copyOf(md5Etags, capacity * MD5_BYTES);
+            }
+
+            int shared = 0;
+            if (count % BLOCK_SIZE == 0) {
+                int block = count / BLOCK_SIZE;
+                if (block == blockOffsets.length) {
+                    blockOffsets = Arrays.copyOf(blockOffsets, block * 2);
+                }
+                blockOffsets[block] = keyLength;
+            } else {
+                shared = Arrays.mismatch(previous, bytes);
+            }
+            writeVarInt(shared);
+            writeVarInt(bytes.length - shared);
+            ensureKeyCapacity(bytes.length - shared);
+            System.arraycopy(bytes, shared, keys, keyLength, bytes.length - shared);
+            keyLength += bytes.length - shared;
+
+            sizes[count] = size;
+            lastModified[count] = lastModifiedMillis;
+            if (etag != null && etag.length() == MD5_HEX_LENGTH && isHex(etag)) {
+                System.arraycopy(HexFormat.of().parseHex(etag), 0, md5Etags, count * MD5_BYTES, MD5_BYTES);
+                hasMd5.set(count);
+            } else if (etag != null) {
+                otherEtags.put(count, etag);
+            }
+            previous = bytes;
+            count++;
+            return this;
+        }
+
+        public KeyIndex build() {
+            return new KeyIndex(this);
+        }
+
+        private void writeVarInt(int value) {
+            ensureKeyCapacity(5);
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                keys[keyLength++] = (byte) ((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            keys[keyLength++] = (byte) remaining;
+        }
+
+        private void ensureKeyCapacity(int extra) {
+            if (keyLength + extra > keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(keys.length * 2, keyLength + extra));
+            }
+        }
+
+        private static boolean isHex(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                if (Character.digit(value.charAt(i), 16) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
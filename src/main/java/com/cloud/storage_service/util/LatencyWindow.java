@@ -0,0 +1,57 @@
+package com.cloud.storage_service.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sliding window over the most recent latency samples, used to derive adaptive
+ * percentile thresholds. Percentiles are recomputed at most once per
+ * {@code refreshNanos} so the sort stays off the hot path.
+ */
+public class LatencyWindow {
+    private final AtomicLongArray samples;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final long refreshNanos;
+    private volatile Snapshot snapshot = new Snapshot(new long[0], 0);
+
+    public LatencyWindow(int size, long refreshNanos) {
+        this.samples = new AtomicLongArray(size);
+        this.refreshNanos = refreshNanos;
+    }
+
+    public void record(long nanos) {
+        samples.set(Math.floorMod(cursor.getAndIncrement(), samples.length()), nanos);
+    }
+
+    public int count() {
+        return Math.min(cursor.get(), samples.length());
+    }
+
+    /**
+     * @param quantile between 0 and 1
+     * @return the latency at the quantile, or -1 until the window holds {@code minSamples}
+     */
+    public long percentile(double quantile, int minSamples) {
+        int count = count();
+        if (count < minSamples) {
+            return -1;
+        }
+        Snapshot current = snapshot;
+        long now = System.nanoTime();
+        if (current.sorted().length != count || now - current.takenAt() > refreshNanos) {
+            long[] sorted = new long[count];
+            for (int i = 0; i < count; i++) {
+                sorted[i] = samples.get(i);
+            }
+            Arrays.sort(sorted);
+            current = new Snapshot(sorted, now);
+            snapshot = current;
+        }
+        int rank = (int) Math.ceil(quantile * count) - 1;
+        return current.sorted()[Math.max(0, Math.min(count - 1, rank))];
+    }
+
+    private record Snapshot(long[] sorted, long takenAt) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.cloud.storage_service.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket that is refilled by events rather than by time: callers
+ * {@link #deposit(double)} a fraction of a token per ordinary call and spend one token per
+ * extra call (retry, hedge). Extra load is therefore capped at {@code ratio} of ordinary
+ * load over any window, plus the burst allowed by {@code capacity}.
+ */
+public class TokenBucket {
+    private static final long SCALE = 1000;
+
+    private final long capacity;
+    private final AtomicLong milliTokens;
+
+    public TokenBucket(double capacity) {
+        this.capacity = (long) (capacity * SCALE);
+        this.milliTokens = new AtomicLong(this.capacity);
+    }
+
+    public void deposit(double tokens) {
+        long amount = (long) (tokens * SCALE);
+        milliTokens.getAndUpdate(current -> Math.min(capacity, current + amount));
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @return false when the bucket is empty and the extra call should be skipped
+     */
+    public boolean tryAcquire() {
+        long current;
+        do {
+            current = milliTokens.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!milliTokens.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    public double available() {
+        return milliTokens.get() / (double) SCALE;
+    }
+}
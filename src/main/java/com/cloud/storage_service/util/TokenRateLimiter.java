@@ -0,0 +1,59 @@
+package com.cloud.storage_service.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket refilled at {@code ratePerSecond}, holding up to {@code burst}
+ * permits. Implemented as a generic cell rate algorithm: the only state is the time at
+ * which the bucket would be full again, advanced with a CAS per acquisition.
+ */
+public class TokenRateLimiter {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private final double nanosPerPermit;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    public TokenRateLimiter(double ratePerSecond, double burst) {
+        this.nanosPerPermit = NANOS_PER_SECOND / ratePerSecond;
+        this.burstNanos = (long) (burst * nanosPerPermit);
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes the permits if the bucket holds them.
+     *
+     * @return 0 when granted, otherwise nanoseconds until they would be available (nothing taken)
+     */
+    public long tryAcquire(long permits) {
+        long cost = cost(permits);
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + cost;
+            long excess = next - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Takes the permits unconditionally, going into debt if needed.
+     *
+     * @return nanoseconds the caller should wait before using them, 0 if none
+     */
+    public long reserve(long permits) {
+        long cost = cost(permits);
+        long now = System.nanoTime();
+        long next = fullAt.accumulateAndGet(cost, (current, add) -> Math.max(current, now) + add);
+        return Math.max(0, next - now - burstNanos);
+    }
+
+    private long cost(long permits) {
+        return (long) (permits * nanosPerPermit);
+    }
+}
@@ -0,0 +1,189 @@
+package com.cloud.storage_service.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Immutable trigram index over the file names (the part after the last "/") of a sorted key
+ * set. Every lower-cased three-character window of a name maps to the ascending positions of
+ * the keys containing it, delta and varint encoded, so a substring query only decodes the
+ * keys that have all of the term's trigrams. The keys themselves are kept in a
+ * {@link KeyIndex}, which the positions refer to.
+ */
+public final class TrigramIndex {
+    public static final int GRAM = 3;
+    public static final TrigramIndex EMPTY = builder().build();
+
+    private final KeyIndex keys;
+    private final Map<Long, byte[]> postings;
+
+    private TrigramIndex(KeyIndex keys, Map<Long, byte[]> postings) {
+        this.keys = keys;
+        this.postings = postings;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public KeyIndex keys() {
+        return keys;
+    }
+
+    /**
+     * Approximate heap held by the index, keys included.
+     */
+    public long memoryBytes() {
+        long bytes = keys.memoryBytes();
+        for (byte[] list : postings.values()) {
+            bytes += list.length + 48;
+        }
+        return bytes;
+    }
+
+    /**
+     * Positions in {@code [from, to)}, ascending, of keys whose file name has every trigram of
+     * {@code term} and whose key passes {@code accept}, stopping after {@code limit} hits.
+     * The trigram test is case-insensitive and only narrows the candidates; {@code accept}
+     * decides the actual match.
+     *
+     * @param term at least {@value #GRAM} characters
+     */
+    public List<Integer> find(String term, int from, int to, Predicate<String> accept, int limit) {
+        Set<Long> grams = trigrams(term.toLowerCase(Locale.ROOT));
+        List<Postings> lists = new ArrayList<>(grams.size());
+        for (long gram : grams) {
+            byte[] list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(new Postings(list));
+        }
+        // Drive the intersection from the rarest trigram
+        lists.sort(Comparator.comparingInt(list -> list.data.length));
+
+        List<Integer> hits = new ArrayList<>();
+        KeyIndex.Cursor cursor = keys.cursor();
+        int candidate = lists.get(0).advanceTo(from);
+        while (candidate < to && hits.size() < limit) {
+            int agreed = candidate;
+            for (Postings list : lists) {
+                agreed = Math.max(agreed, list.advanceTo(candidate));
+            }
+            if (agreed == candidate) {
+                cursor.moveTo(candidate);
+                if (accept.test(cursor.key())) {
+                    hits.add(candidate);
+                }
+                agreed++;
+            }
+            candidate = lists.get(0).advanceTo(agreed);
+        }
+        return hits;
+    }
+
+    public static String fileName(String key) {
+        return key.substring(key.lastIndexOf('/') + 1);
+    }
+
+    private static Set<Long> trigrams(String text) {
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return grams;
+    }
+
+    /**
+     * Forward-only reader of one posting list.
+     */
+    private static final class Postings {
+        private final byte[] data;
+        private int offset;
+        private int current = -1;
+
+        private Postings(byte[] data) {
+            this.data = data;
+        }
+
+        /**
+         * Moves to the first position at or after {@code target}, or past the end.
+         */
+        private int advanceTo(int target) {
+            while (current < target) {
+                if (offset == data.length) {
+                    current = Integer.MAX_VALUE;
+                    break;
+                }
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = data[offset++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                current = current < 0 ? delta : current + delta;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Accumulates keys in ascending {@link KeyIndex#KEY_ORDER}.
+     */
+    public static final class Builder {
+        private final KeyIndex.Builder keys = KeyIndex.builder();
+        private final Map<Long, PostingsBuilder> postings = new HashMap<>();
+        private int count;
+
+        private Builder() {
+        }
+
+        public Builder add(String key, long size, long lastModifiedMillis) {
+            keys.add(key, size, null, lastModifiedMillis);
+            for (long gram : trigrams(fileName(key).toLowerCase(Locale.ROOT))) {
+                postings.computeIfAbsent(gram, ignored -> new PostingsBuilder()).add(count);
+            }
+            count++;
+            return this;
+        }
+
+        public TrigramIndex build() {
+            Map<Long, byte[]> lists = new HashMap<>(postings.size() * 4 / 3 + 1);
+            postings.forEach((gram, list) -> lists.put(gram, list.toArray()));
+            return new TrigramIndex(keys.build(), lists);
+        }
+    }
+
+    private static final class PostingsBuilder {
+        private byte[] data = new byte[8];
+        private int length;
+        private int last = -1;
+
+        private void add(int position) {
+            int delta = last < 0 ? position : position - last;
+            last = position;
+            if (length + 5 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((delta & ~0x7F) != 0) {
+                data[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            data[length++] = (byte) delta;
+        }
+
+        private byte[] toArray() {
+            return Arrays.copyOf(data, length);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.cloud.storage_service.util.common;
+
+import java.util.Comparator;
+
+/**
+ * Orders names the way people number files: runs of digits compare by value, so "page2"
+ * comes before "page10", and everything else compares case-insensitively. Names that only
+ * differ in leading zeros or case fall back to plain string order, keeping the order total.
+ */
+public final class NaturalOrderComparator implements Comparator<String> {
+    public static final NaturalOrderComparator INSTANCE = new NaturalOrderComparator();
+
+    private NaturalOrderComparator() {
+    }
+
+    @Override
+    public int compare(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            if (isDigit(ca) && isDigit(cb)) {
+                int startA = skipZeros(a, i);
+                int startB = skipZeros(b, j);
+                int endA = digitsEnd(a, startA);
+                int endB = digitsEnd(b, startB);
+                if (endA - startA != endB - startB) {
+                    return (endA - startA) - (endB - startB);
+                }
+                for (int k = 0; k < endA - startA; k++) {
+                    int diff = a.charAt(startA + k) - b.charAt(startB + k);
+                    if (diff != 0) {
+                        return diff;
+                    }
+                }
+                i = endA;
+                j = endB;
+                continue;
+            }
+            int diff = Character.compare(Character.toLowerCase(ca), Character.toLowerCase(cb));
+            if (diff != 0) {
+                return diff;
+            }
+            i++;
+            j++;
+        }
+        int remaining = (a.length() - i) - (b.length() - j);
+        return remaining != 0 ? remaining : a.compareTo(b);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int skipZeros(String s, int from) {
+        int i = from;
+        while (i < s.length() && s.charAt(i) == '0') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int digitsEnd(String s, int from) {
+        int i = from;
+        while (i < s.length() && isDigit(s.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
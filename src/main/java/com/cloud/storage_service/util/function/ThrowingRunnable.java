@@ -0,0 +1,6 @@
+package com.cloud.storage_service.util.function;
+
+@FunctionalInterface
+public interface ThrowingRunnable<E extends Exception> {
+    void run() throws E;
+}
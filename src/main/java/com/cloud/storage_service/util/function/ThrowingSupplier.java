@@ -0,0 +1,10 @@
+package com.cloud.storage_service.util.function;
+
+/**
+ * Supplier that may throw a checked exception, so provider calls declaring
+ * checked exceptions (MinIO) can be wrapped without losing their signature.
+ */
+@FunctionalInterface
+public interface ThrowingSupplier<T, E extends Exception> {
+    T get() throws E;
+}
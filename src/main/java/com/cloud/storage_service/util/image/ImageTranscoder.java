@@ -0,0 +1,182 @@
+package com.cloud.storage_service.util.image;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Downscales and re-encodes images with the JDK's ImageIO codecs. Large reductions are
+ * decoded with source subsampling, so the decoder only materialises about twice the target
+ * width, and the rest is done in bilinear halving steps, which keeps line art readable at a
+ * fraction of the cost of a single bicubic pass. Images are never upscaled.
+ */
+public final class ImageTranscoder {
+    public static final String JPEG = "jpeg";
+    public static final String PNG = "png";
+
+    private static final Set<String> READABLE_TYPES = Set.of(ImageIO.getReaderMIMETypes());
+    private static final Set<String> READABLE_SUFFIXES = Set.of(ImageIO.getReaderFileSuffixes());
+
+    private ImageTranscoder() {
+    }
+
+    public static boolean isSupportedFormat(String format) {
+        return JPEG.equals(format) || PNG.equals(format);
+    }
+
+    public static String contentType(String format) {
+        return "image/" + format;
+    }
+
+    /**
+     * Whether the object is an image ImageIO can decode, judged by content type when there is
+     * a meaningful one and by the key's suffix otherwise (listings carry no content type).
+     */
+    public static boolean isReadableImage(String key, String contentType) {
+        if (contentType != null && contentType.startsWith("image/")) {
+            return READABLE_TYPES.contains(contentType.toLowerCase(Locale.ROOT));
+        }
+        int dot = key.lastIndexOf('.');
+        return dot > key.lastIndexOf('/')
+                && READABLE_SUFFIXES.contains(key.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Width and height from the image header, without decoding the pixels, so a prefix of
+     * the file is usually enough.
+     *
+     * @return the dimensions, or null when the stream is not a readable image or ends before
+     *         the header does
+     */
+    public static Dimensions readDimensions(InputStream inputStream) throws IOException {
+        try (ImageInputStream input = new MemoryCacheImageInputStream(inputStream)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                return new Dimensions(reader.getWidth(0), reader.getHeight(0));
+            } catch (IOException e) {
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Reads an image and writes it back at most {@code width} pixels wide, keeping the aspect
+     * ratio. Transparency is flattened onto white for JPEG.
+     *
+     * @param quality   1-100, used by lossy formats
+     * @param maxPixels largest source (width * height) that will be decoded
+     * @throws IllegalArgumentException when the stream is not a readable image or is too large
+     */
+    public static Transcoded transcode(InputStream inputStream, int width, int quality, String format,
+                                       long maxPixels) throws IOException {
+        BufferedImage decoded;
+        int targetWidth;
+        int targetHeight;
+        try (ImageInputStream input = new MemoryCacheImageInputStream(inputStream)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IllegalArgumentException("Not a readable image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                if ((long) sourceWidth * sourceHeight > maxPixels) {
+                    throw new IllegalArgumentException("Image of " + sourceWidth + "x" + sourceHeight
+                            + " pixels is too large to resize");
+                }
+                targetWidth = Math.min(width, sourceWidth);
+                targetHeight = Math.max(1, (int) Math.round((double) sourceHeight * targetWidth / sourceWidth));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = sourceWidth / (targetWidth * 2);
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                decoded = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+        BufferedImage scaled = scale(decoded, targetWidth, targetHeight, JPEG.equals(format));
+        return new Transcoded(encode(scaled, quality, format), targetWidth, targetHeight);
+    }
+
+    private static BufferedImage scale(BufferedImage image, int width, int height, boolean opaque) {
+        int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+        // At least one pass, so the result always has the pixel type the encoder expects
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = currentWidth == width ? height : Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                if (opaque) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, currentWidth, currentHeight);
+                }
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth > width);
+        return current;
+    }
+
+    private static byte[] encode(BufferedImage image, int quality, String format) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = new MemoryCacheImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (JPEG.equals(format)) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality / 100f);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    public record Dimensions(int width, int height) {
+    }
+
+    /**
+     * An encoded image and its dimensions.
+     */
+    public record Transcoded(byte[] bytes, int width, int height) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.cloud.storage_service.util.io;
+
+import com.cloud.storage_service.exception.ChecksumMismatchException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Checksums everything read through it on the same pass that consumes the stream. Given an
+ * expected value it also verifies it: reading to the end of a stream whose checksum differs
+ * throws {@link ChecksumMismatchException} instead of returning -1. Streams closed before
+ * the end are not verified.
+ */
+public class ChecksumInputStream extends FilterInputStream {
+    private static final int SKIP_BUFFER_SIZE = 8192;
+
+    private final Algorithm algorithm;
+    private final String expected;
+    private final Consumer<Boolean> onVerified;
+    private final CRC32C crc32c;
+    private final MessageDigest md5;
+    private String value;
+
+    public ChecksumInputStream(InputStream in, Algorithm algorithm) {
+        this(in, algorithm, null, ignored -> { });
+    }
+
+    /**
+     * @param expected   checksum the stream must have, in the algorithm's usual encoding
+     * @param onVerified called once with the outcome when the end of the stream is reached
+     */
+    public ChecksumInputStream(InputStream in, Algorithm algorithm, String expected, Consumer<Boolean> onVerified) {
+        super(in);
+        this.algorithm = algorithm;
+        this.expected = expected;
+        this.onVerified = onVerified;
+        this.crc32c = algorithm == Algorithm.CRC32C ? new CRC32C() : null;
+        this.md5 = algorithm == Algorithm.MD5 ? newMd5() : null;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            update(new byte[] {(byte) b}, 0, 1);
+        } else {
+            finish();
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            update(buffer, offset, read);
+        } else if (read < 0) {
+            finish();
+        }
+        return read;
+    }
+
+    /**
+     * Skipped bytes still have to be checksummed, so they are read and discarded.
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(Math.max(n, 0), SKIP_BUFFER_SIZE)];
+        long remaining = n;
+        while (remaining > 0) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read < 0) {
+                break;
+            }
+            remaining -= read;
+        }
+        return n - remaining;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    /**
+     * The checksum of the bytes read so far; only meaningful once the stream has been read
+     * to the end, and fixed from the first call on.
+     */
+    public String value() {
+        if (value == null) {
+            value = algorithm == Algorithm.CRC32C
+                    ? Base64.getEncoder().encodeToString(ByteBuffer.allocate(4).putInt((int) crc32c.getValue()).array())
+                    : HexFormat.of().formatHex(md5.digest());
+        }
+        return value;
+    }
+
+    private void update(byte[] buffer, int offset, int length) {
+        if (crc32c != null) {
+            crc32c.update(buffer, offset, length);
+        } else {
+            md5.update(buffer, offset, length);
+        }
+    }
+
+    private void finish() throws ChecksumMismatchException {
+        if (expected == null || value != null) {
+            return;
+        }
+        boolean match = expected.equals(value());
+        onVerified.accept(match);
+        if (!match) {
+            throw new ChecksumMismatchException(algorithm + " mismatch: expected " + expected + " but read "
+                    + value);
+        }
+    }
+
+    private static MessageDigest newMd5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public enum Algorithm {
+        /**
+         * Base64 of the big-endian CRC32C, the encoding S3 uses for additional checksums.
+         */
+        CRC32C,
+        /**
+         * Lower-case hex MD5, the ETag of a single-part upload.
+         */
+        MD5
+    }
+}
@@ -0,0 +1,45 @@
+package com.cloud.storage_service.util.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * Reports every chunk of bytes read through it to a consumer, e.g. a byte counter.
+ */
+public class CountingInputStream extends FilterInputStream {
+    private final LongConsumer onBytes;
+
+    public CountingInputStream(InputStream in, LongConsumer onBytes) {
+        super(in);
+        this.onBytes = onBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value != -1) {
+            onBytes.accept(1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int read = super.read(buffer, offset, length);
+        if (read > 0) {
+            onBytes.accept(read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        if (skipped > 0) {
+            onBytes.accept(skipped);
+        }
+        return skipped;
+    }
+}
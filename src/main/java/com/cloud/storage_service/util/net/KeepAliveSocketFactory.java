@@ -0,0 +1,48 @@
+package com.cloud.storage_service.util.net;
+
+import lombok.RequiredArgsConstructor;
+
+import javax.net.SocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * Socket factory that turns on SO_KEEPALIVE, so half-open pooled connections are detected
+ * by the OS instead of surfacing as read timeouts.
+ */
+@RequiredArgsConstructor
+public class KeepAliveSocketFactory extends SocketFactory {
+    private final SocketFactory delegate;
+
+    @Override
+    public Socket createSocket() throws IOException {
+        return keepAlive(delegate.createSocket());
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        return keepAlive(delegate.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+        return keepAlive(delegate.createSocket(host, port, localHost, localPort));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+        return keepAlive(delegate.createSocket(host, port));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress address, int port, InetAddress localAddress, int localPort)
+            throws IOException {
+        return keepAlive(delegate.createSocket(address, port, localAddress, localPort));
+    }
+
+    private static Socket keepAlive(Socket socket) throws IOException {
+        socket.setKeepAlive(true);
+        return socket;
+    }
+}
@@ -0,0 +1,168 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.properties.ResilienceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.cloud.storage_service.constants.GeneralConstant.Provider;
+import static com.cloud.storage_service.constants.MetricConstants.CLIENT_HEDGES;
+import static com.cloud.storage_service.constants.MetricConstants.HedgeResult;
+import static com.cloud.storage_service.constants.MetricConstants.Operation;
+import static com.cloud.storage_service.constants.MetricConstants.TAG_RESULT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ObjectStoreHedgerTest {
+    private static final int MIN_SAMPLES = 5;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResilienceProperties properties = new ResilienceProperties();
+
+    ObjectStoreHedgerTest() {
+        ResilienceProperties.Hedging hedging = properties.getHedging();
+        hedging.setEnabled(true);
+        hedging.setMinSamples(MIN_SAMPLES);
+        hedging.setMinDelay(Duration.ofMillis(20));
+        hedging.setMaxDelay(Duration.ofMillis(50));
+    }
+
+    @Test
+    public void runsOnTheCallerThreadWhenDisabled() {
+        properties.getHedging().setEnabled(false);
+        Thread caller = Thread.currentThread();
+
+        Thread ran = hedger().execute(Provider.S3, Operation.GET, Thread::currentThread);
+
+        assertThat(ran).isEqualTo(caller);
+    }
+
+    @Test
+    public void waitsForLatencyHistoryBeforeHedging() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = hedger().execute(Provider.S3, Operation.GET, () -> {
+            calls.incrementAndGet();
+            pause(100);
+            return "slow";
+        });
+
+        assertThat(result).isEqualTo("slow");
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void usesTheHedgeWhenItAnswersFirstAndReleasesTheLoser() throws InterruptedException {
+        ObjectStoreHedger hedger = warmedUp();
+        CountDownLatch releasePrimary = new CountDownLatch(1);
+        Resource slow = new Resource("slow");
+        AtomicInteger calls = new AtomicInteger();
+
+        Resource result = hedger.execute(Provider.S3, Operation.GET, () -> {
+            if (calls.incrementAndGet() == 1) {
+                releasePrimary.await(5, TimeUnit.SECONDS);
+                return slow;
+            }
+            return new Resource("fast");
+        });
+
+        assertThat(result.name).isEqualTo("fast");
+        assertThat(hedges(HedgeResult.WON)).isEqualTo(1);
+        releasePrimary.countDown();
+        assertThat(slow.closed.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void recoversWhenOnlyThePrimaryFails() throws IOException {
+        ObjectStoreHedger hedger = warmedUp();
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = hedger.execute(Provider.S3, Operation.HEAD, () -> {
+            if (calls.incrementAndGet() == 1) {
+                pause(100);
+                throw new IOException("Connection reset");
+            }
+            return "hedged";
+        });
+
+        assertThat(result).isEqualTo("hedged");
+    }
+
+    @Test
+    public void failsOnlyOnceBothCallsFail() {
+        ObjectStoreHedger hedger = warmedUp();
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> hedger.execute(Provider.S3, Operation.HEAD, () -> {
+            calls.incrementAndGet();
+            pause(100);
+            throw new IOException("Connection reset");
+        })).isInstanceOf(IOException.class);
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void waitsForThePrimaryWhenTheBudgetIsSpent() {
+        properties.getHedging().setBudgetCapacity(0);
+        properties.getHedging().setBudgetRatio(0);
+        ObjectStoreHedger hedger = warmedUp();
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = hedger.execute(Provider.S3, Operation.GET, () -> {
+            calls.incrementAndGet();
+            pause(100);
+            return "slow";
+        });
+
+        assertThat(result).isEqualTo("slow");
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(hedges(HedgeResult.NO_BUDGET)).isEqualTo(1);
+    }
+
+    private ObjectStoreHedger hedger() {
+        return new ObjectStoreHedger(properties, new StorageMetrics(meterRegistry));
+    }
+
+    /**
+     * Fills the latency window with fast calls so the hedge delay settles at the minimum.
+     */
+    private ObjectStoreHedger warmedUp() {
+        ObjectStoreHedger hedger = hedger();
+        for (int i = 0; i < MIN_SAMPLES; i++) {
+            hedger.execute(Provider.S3, Operation.GET, () -> "warm");
+            hedger.execute(Provider.S3, Operation.HEAD, () -> "warm");
+        }
+        return hedger;
+    }
+
+    private double hedges(String result) {
+        return meterRegistry.get(CLIENT_HEDGES).tag(TAG_RESULT, result).counter().count();
+    }
+
+    private static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class Resource implements AutoCloseable {
+        private final String name;
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        private Resource(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
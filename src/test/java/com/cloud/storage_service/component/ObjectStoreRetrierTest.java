@@ -0,0 +1,109 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.properties.ResilienceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.cloud.storage_service.constants.GeneralConstant.Provider;
+import static com.cloud.storage_service.constants.MetricConstants.CLIENT_RETRIES;
+import static com.cloud.storage_service.constants.MetricConstants.Operation;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ObjectStoreRetrierTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ResilienceProperties properties = new ResilienceProperties();
+    private final ObjectStoreRetrier retrier = new ObjectStoreRetrier(properties, new StorageMetrics(meterRegistry));
+
+    ObjectStoreRetrierTest() {
+        properties.getRetry().setBaseDelay(Duration.ofMillis(1));
+        properties.getRetry().setMaxDelay(Duration.ofMillis(5));
+    }
+
+    @Test
+    public void retriesTransientFailuresUntilTheCallSucceeds() throws IOException {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = retrier.execute(Provider.S3, Operation.GET, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IOException("Connection reset");
+            }
+            return "ok";
+        });
+
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts.get()).isEqualTo(3);
+        assertThat(meterRegistry.get(CLIENT_RETRIES).counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void givesUpAfterTheLastAttempt() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retrier.execute(Provider.S3, Operation.GET, () -> {
+            attempts.incrementAndGet();
+            throw new IOException("Connection reset");
+        })).isInstanceOf(IOException.class);
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void doesNotRetryFailuresThatWouldRepeat() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retrier.execute(Provider.S3, Operation.HEAD, () -> {
+            attempts.incrementAndGet();
+            throw S3Exception.builder().statusCode(404).message("Not Found").build();
+        })).isInstanceOf(S3Exception.class);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void neverRetriesOperationsThatAreNotListed() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> retrier.execute(Provider.S3, Operation.PUT, () -> {
+            attempts.incrementAndGet();
+            throw new IOException("Connection reset");
+        })).isInstanceOf(IOException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void stopsRetryingOnceTheBudgetIsSpent() {
+        properties.getRetry().setMaxAttempts(5);
+        properties.getRetry().setBudgetCapacity(1);
+        properties.getRetry().setBudgetRatio(0);
+        AtomicInteger attempts = new AtomicInteger();
+
+        for (int call = 0; call < 2; call++) {
+            assertThatThrownBy(() -> retrier.execute(Provider.MINIO, Operation.GET, () -> {
+                attempts.incrementAndGet();
+                throw new UncheckedIOException(new IOException("Connection reset"));
+            })).isInstanceOf(UncheckedIOException.class);
+        }
+
+        // The single token pays for one retry of the first call; the second call is not retried
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void classifiesTransientFailures() {
+        assertThat(ObjectStoreRetrier.isRetryable(S3Exception.builder().statusCode(503).build())).isTrue();
+        assertThat(ObjectStoreRetrier.isRetryable(S3Exception.builder().statusCode(500).build())).isTrue();
+        assertThat(ObjectStoreRetrier.isRetryable(S3Exception.builder().statusCode(429).build())).isTrue();
+        assertThat(ObjectStoreRetrier.isRetryable(SdkClientException.create("Timed out"))).isTrue();
+        assertThat(ObjectStoreRetrier.isRetryable(new IOException("Connection reset"))).isTrue();
+
+        assertThat(ObjectStoreRetrier.isRetryable(S3Exception.builder().statusCode(404).build())).isFalse();
+        assertThat(ObjectStoreRetrier.isRetryable(S3Exception.builder().statusCode(412).build())).isFalse();
+        assertThat(ObjectStoreRetrier.isRetryable(new IllegalArgumentException("Bad key"))).isFalse();
+    }
+}
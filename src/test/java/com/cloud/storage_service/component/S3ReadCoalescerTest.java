@@ -0,0 +1,208 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.config.aws.S3Configuration;
+import com.cloud.storage_service.properties.ChecksumProperties;
+import com.cloud.storage_service.properties.CoalescingProperties;
+import com.cloud.storage_service.properties.ResilienceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class S3ReadCoalescerTest {
+    private static final String KEY = "folder/file.bin";
+    private static final String ETAG = "\"etag-1\"";
+    private static final int CHUNK_BYTES = 1024;
+    private static final int BUFFER_BYTES = 4 * CHUNK_BYTES;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FakeS3Client s3Client = new FakeS3Client();
+
+    @Test
+    public void concurrentReadsShareOneUpstreamGet() throws Exception {
+        s3Client.content = content(3 * CHUNK_BYTES);
+        S3ReadCoalescer coalescer = coalescer();
+
+        CompletableFuture<byte[]> first = readAsync(coalescer);
+        assertThat(s3Client.called.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<byte[]> second = readAsync(coalescer);
+        // Give the second reader time to join the flight before the response arrives
+        Thread.sleep(100);
+        s3Client.respond.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(s3Client.content);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(s3Client.content);
+        assertThat(s3Client.requests).hasSize(1);
+    }
+
+    @Test
+    public void fetchesAgainOnceTheSharedFetchHasFinished() {
+        s3Client.content = content(3 * CHUNK_BYTES);
+        s3Client.respond.countDown();
+        S3ReadCoalescer coalescer = coalescer();
+
+        assertThat(readAll(coalescer.open(KEY, null, null))).isEqualTo(s3Client.content);
+        assertThat(readAll(coalescer.open(KEY, null, null))).isEqualTo(s3Client.content);
+        assertThat(s3Client.requests).hasSize(2);
+    }
+
+    @Test
+    public void letsALaggardContinueWithARangedGetPinnedToTheETag() throws Exception {
+        s3Client.content = content(20 * CHUNK_BYTES);
+        S3ReadCoalescer coalescer = coalescer();
+
+        CompletableFuture<InputStream> leader = CompletableFuture.supplyAsync(() -> coalescer.open(KEY, null, null));
+        assertThat(s3Client.called.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<InputStream> laggard = CompletableFuture.supplyAsync(() -> coalescer.open(KEY, null, null));
+        Thread.sleep(100);
+        s3Client.respond.countDown();
+
+        try (InputStream leaderStream = leader.get(5, TimeUnit.SECONDS);
+             InputStream laggardStream = laggard.get(5, TimeUnit.SECONDS)) {
+            byte[] head = laggardStream.readNBytes(100);
+            // The leader can only read past the ring once the laggard has been let go
+            assertThat(leaderStream.readAllBytes()).isEqualTo(s3Client.content);
+            byte[] rest = laggardStream.readAllBytes();
+
+            ByteArrayOutputStream whole = new ByteArrayOutputStream();
+            whole.write(head);
+            whole.write(rest);
+            assertThat(whole.toByteArray()).isEqualTo(s3Client.content);
+        }
+        assertThat(s3Client.requests).hasSize(2);
+        GetObjectRequest fallback = s3Client.requests.get(1);
+        assertThat(fallback.range()).isEqualTo("bytes=100-");
+        assertThat(fallback.ifMatch()).isEqualTo(ETAG);
+    }
+
+    @Test
+    public void passesUnsupportedRangesStraightThrough() {
+        s3Client.content = content(CHUNK_BYTES);
+        s3Client.respond.countDown();
+        S3ReadCoalescer coalescer = coalescer();
+
+        readAll(coalescer.open(KEY, null, "bytes=0-9,20-29"));
+        readAll(coalescer.open(KEY, null, "bytes=0-9,20-29"));
+
+        assertThat(s3Client.requests).hasSize(2);
+        assertThat(s3Client.requests.get(0).range()).isEqualTo("bytes=0-9,20-29");
+    }
+
+    @Test
+    public void propagatesUpstreamFailuresToReaders() {
+        s3Client.failure = S3Exception.builder().statusCode(404).message("Not Found").build();
+        s3Client.respond.countDown();
+        S3ReadCoalescer coalescer = coalescer();
+
+        assertThatThrownBy(() -> coalescer.open(KEY, null, null)).isInstanceOf(S3Exception.class);
+    }
+
+    private S3ReadCoalescer coalescer() {
+        S3Configuration s3Configuration = new S3Configuration();
+        s3Configuration.setBucketName("bucket");
+        CoalescingProperties properties = new CoalescingProperties();
+        properties.setChunkBytes(CHUNK_BYTES);
+        properties.setBufferBytes(BUFFER_BYTES);
+        return new S3ReadCoalescer(s3Client, s3Configuration, properties, callExecutor(), new ChecksumProperties());
+    }
+
+    private ObjectStoreCallExecutor callExecutor() {
+        ResilienceProperties resilienceProperties = new ResilienceProperties();
+        StorageMetrics storageMetrics = new StorageMetrics(meterRegistry);
+        return new ObjectStoreCallExecutor(storageMetrics,
+                new ObjectStoreRetrier(resilienceProperties, storageMetrics),
+                new ObjectStoreHedger(resilienceProperties, storageMetrics),
+                new ObjectStoreIsolation(resilienceProperties, meterRegistry));
+    }
+
+    private static byte[] content(int size) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) (i * 31 + i / 251);
+        }
+        return content;
+    }
+
+    private static CompletableFuture<byte[]> readAsync(S3ReadCoalescer coalescer) {
+        return CompletableFuture.supplyAsync(() -> readAll(coalescer.open(KEY, null, null)));
+    }
+
+    private static byte[] readAll(InputStream stream) {
+        try (stream) {
+            return stream.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Serves {@link #content} for whole-object and {@code bytes=start-} requests once
+     * {@link #respond} is released, recording every request.
+     */
+    private static final class FakeS3Client implements S3Client {
+        private static final Pattern OPEN_RANGE = Pattern.compile("^bytes=(\\d+)-$");
+
+        private final List<GetObjectRequest> requests = new CopyOnWriteArrayList<>();
+        private final CountDownLatch called = new CountDownLatch(1);
+        private final CountDownLatch respond = new CountDownLatch(1);
+        private volatile byte[] content = new byte[0];
+        private volatile RuntimeException failure;
+
+        @Override
+        public ResponseInputStream<GetObjectResponse> getObject(GetObjectRequest request) {
+            requests.add(request);
+            called.countDown();
+            try {
+                if (!respond.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Response never released");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            byte[] body = content;
+            Matcher matcher = request.range() == null ? null : OPEN_RANGE.matcher(request.range());
+            if (matcher != null && matcher.matches()) {
+                body = Arrays.copyOfRange(content, Integer.parseInt(matcher.group(1)), content.length);
+            }
+            GetObjectResponse response = GetObjectResponse.builder()
+                    .eTag(ETAG)
+                    .contentLength((long) body.length)
+                    .build();
+            return new ResponseInputStream<>(response, AbortableInputStream.create(new ByteArrayInputStream(body)));
+        }
+
+        @Override
+        public String serviceName() {
+            return S3Client.SERVICE_NAME;
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.exception.ServiceOverloadedException;
+import com.cloud.storage_service.properties.AdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.cloud.storage_service.constants.MetricConstants.ADMISSION_REJECTED;
+import static com.cloud.storage_service.constants.MetricConstants.ADMISSION_RESERVED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransferAdmissionControllerTest {
+    private static final long BUDGET = 4 * 1024;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void reservesAndReleasesBudget() {
+        TransferAdmissionController controller = controller(Duration.ofMillis(50));
+
+        TransferAdmissionController.Reservation reservation = controller.acquire(BUDGET);
+        assertThat(reserved()).isEqualTo(BUDGET);
+
+        reservation.close();
+        assertThat(reserved()).isZero();
+    }
+
+    @Test
+    public void refusesOnceTheBudgetStaysExhausted() {
+        TransferAdmissionController controller = controller(Duration.ofMillis(50));
+
+        try (TransferAdmissionController.Reservation ignored = controller.acquire(BUDGET)) {
+            assertThatThrownBy(() -> controller.acquire(1))
+                    .isInstanceOf(ServiceOverloadedException.class)
+                    .satisfies(e -> assertThat(((ServiceOverloadedException) e).getRetryAfter())
+                            .isEqualTo(Duration.ofSeconds(3)));
+        }
+        assertThat(meterRegistry.get(ADMISSION_REJECTED).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void admitsAQueuedTransferWhenBudgetFrees() throws Exception {
+        TransferAdmissionController controller = controller(Duration.ofSeconds(5));
+        TransferAdmissionController.Reservation held = controller.acquire(BUDGET);
+
+        CompletableFuture<TransferAdmissionController.Reservation> queued =
+                CompletableFuture.supplyAsync(() -> controller.acquire(BUDGET));
+        Thread.sleep(50);
+        assertThat(queued).isNotDone();
+
+        held.close();
+        queued.get(5, TimeUnit.SECONDS).close();
+        assertThat(reserved()).isZero();
+    }
+
+    @Test
+    public void clampsReservationsLargerThanTheBudget() {
+        TransferAdmissionController controller = controller(Duration.ofMillis(50));
+
+        try (TransferAdmissionController.Reservation ignored = controller.acquire(10 * BUDGET)) {
+            assertThat(reserved()).isEqualTo(BUDGET);
+            assertThatThrownBy(() -> controller.acquire(1)).isInstanceOf(ServiceOverloadedException.class);
+        }
+    }
+
+    @Test
+    public void releasesAReservationOnlyOnce() {
+        TransferAdmissionController controller = controller(Duration.ofMillis(50));
+        TransferAdmissionController.Reservation reservation = controller.acquire(BUDGET);
+        reservation.close();
+        reservation.close();
+
+        try (TransferAdmissionController.Reservation ignored = controller.acquire(BUDGET)) {
+            assertThatThrownBy(() -> controller.acquire(1)).isInstanceOf(ServiceOverloadedException.class);
+        }
+    }
+
+    @Test
+    public void admitsEverythingWhenDisabled() {
+        AdmissionProperties properties = properties(Duration.ofMillis(50));
+        properties.setEnabled(false);
+        TransferAdmissionController controller = new TransferAdmissionController(properties, meterRegistry);
+
+        controller.acquire(BUDGET);
+        controller.acquire(BUDGET);
+        assertThat(reserved()).isZero();
+    }
+
+    @Test
+    public void holdsRequestReservationsUntilTheRequestReleasesThem() {
+        TransferAdmissionController controller = controller(Duration.ofMillis(50));
+        ServletRequestAttributes attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(attributes);
+        try {
+            controller.acquireForRequest(BUDGET);
+
+            assertThat(reserved()).isEqualTo(BUDGET);
+            @SuppressWarnings("unchecked")
+            List<TransferAdmissionController.Reservation> reservations =
+                    (List<TransferAdmissionController.Reservation>) attributes.getAttribute(
+                            TransferAdmissionController.REQUEST_RESERVATIONS, RequestAttributes.SCOPE_REQUEST);
+            assertThat(reservations).hasSize(1);
+            reservations.forEach(TransferAdmissionController.Reservation::close);
+            assertThat(reserved()).isZero();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    public void releasesRequestReservationsAtOnceOutsideARequest() {
+        TransferAdmissionController controller = controller(Duration.ofMillis(50));
+
+        controller.acquireForRequest(BUDGET);
+
+        assertThat(reserved()).isZero();
+    }
+
+    private TransferAdmissionController controller(Duration queueTimeout) {
+        return new TransferAdmissionController(properties(queueTimeout), meterRegistry);
+    }
+
+    private static AdmissionProperties properties(Duration queueTimeout) {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMemoryBudgetBytes(BUDGET);
+        properties.setQueueTimeout(queueTimeout);
+        properties.setRetryAfter(Duration.ofSeconds(3));
+        return properties;
+    }
+
+    private double reserved() {
+        return meterRegistry.get(ADMISSION_RESERVED).gauge().value();
+    }
+}
@@ -0,0 +1,133 @@
+package com.cloud.storage_service.component;
+
+import com.cloud.storage_service.dto.storage.UploadSession;
+import com.cloud.storage_service.properties.ResumableUploadProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadSessionStoreTest {
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path sessionDir;
+
+    @Test
+    public void reloadsSavedSessionsAfterARestart() {
+        store().save(session("s1", NOW, "etag-1", "etag-2", null));
+
+        UploadSession reloaded = store().get("s1");
+
+        assertThat(reloaded).isNotNull();
+        assertThat(reloaded.getOwnerId()).isEqualTo("owner");
+        assertThat(reloaded.getKey()).isEqualTo("folder/file.bin");
+        assertThat(reloaded.getUploadId()).isEqualTo("upload-s1");
+        assertThat(reloaded.getPartEtags()).containsExactly("etag-1", "etag-2", null);
+        assertThat(reloaded.getLastActivity()).isEqualTo(NOW);
+        // Restored from the part list, which is all that is written out
+        assertThat(reloaded.committedOffset()).isEqualTo(20);
+    }
+
+    @Test
+    public void replacesTheFileOnEverySaveWithoutLeavingTemporaryFiles() throws IOException {
+        UploadSessionStore store = store();
+        UploadSession session = session("s1", NOW, null, null, null);
+        store.save(session);
+        session.commitPart(1, "etag-1");
+        store.save(session);
+
+        assertThat(fileNames()).containsExactly("s1.json");
+        assertThat(store().get("s1").getPartEtags()).containsExactly("etag-1", null, null);
+    }
+
+    @Test
+    public void removesSessionsFromMemoryAndDisk() throws IOException {
+        UploadSessionStore store = store();
+        store.save(session("s1", NOW, null, null, null));
+
+        store.remove("s1");
+
+        assertThat(store.get("s1")).isNull();
+        assertThat(fileNames()).isEmpty();
+        assertThat(store().get("s1")).isNull();
+    }
+
+    @Test
+    public void skipsUnreadableSessionFiles() throws IOException {
+        store().save(session("s1", NOW, "etag-1", null, null));
+        Files.writeString(sessionDir.resolve("broken.json"), "{not json");
+
+        UploadSessionStore store = store();
+
+        assertThat(store.get("s1")).isNotNull();
+        assertThat(store.idleSince(NOW.plusSeconds(1))).hasSize(1);
+    }
+
+    @Test
+    public void listsOnlySessionsIdleSinceTheCutoff() {
+        UploadSessionStore store = store();
+        store.save(session("idle", NOW.minusSeconds(3600), null, null, null));
+        store.save(session("active", NOW, null, null, null));
+
+        List<String> idle = store.idleSince(NOW.minusSeconds(60)).stream()
+                .map(UploadSession::getSessionId)
+                .toList();
+
+        assertThat(idle).containsExactly("idle");
+    }
+
+    @Test
+    public void startsEmptyWithoutASessionDirectory() {
+        ResumableUploadProperties properties = new ResumableUploadProperties();
+        properties.setSessionDir(sessionDir.resolve("missing").toString());
+
+        UploadSessionStore store = new UploadSessionStore(properties, objectMapper);
+
+        assertThat(store.get("s1")).isNull();
+        assertThat(store.get(null)).isNull();
+        assertThat(store.idleSince(NOW)).isEmpty();
+    }
+
+    private UploadSessionStore store() {
+        ResumableUploadProperties properties = new ResumableUploadProperties();
+        properties.setSessionDir(sessionDir.toString());
+        return new UploadSessionStore(properties, objectMapper);
+    }
+
+    private static UploadSession session(String sessionId, Instant lastActivity, String... partEtags) {
+        UploadSession session = UploadSession.builder()
+                .sessionId(sessionId)
+                .ownerId("owner")
+                .provider("s3")
+                .key("folder/file.bin")
+                .uploadId("upload-" + sessionId)
+                .contentType("application/octet-stream")
+                .size(25)
+                .chunkSize(10)
+                .partEtags(new ArrayList<>(Arrays.asList(partEtags)))
+                .createdAt(lastActivity)
+                .lastActivity(lastActivity)
+                .build();
+        session.refreshCommittedOffset();
+        return session;
+    }
+
+    private List<String> fileNames() throws IOException {
+        try (Stream<Path> files = Files.list(sessionDir)) {
+            return files.map(path -> path.getFileName().toString()).toList();
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package com.cloud.storage_service.service.impl;
+
+import com.cloud.storage_service.component.ObjectStorageRegistry;
+import com.cloud.storage_service.component.SyncCheckpointStore;
+import com.cloud.storage_service.constants.GeneralConstant;
+import com.cloud.storage_service.dto.request.SyncRequestDto;
+import com.cloud.storage_service.dto.response.SyncActionDto;
+import com.cloud.storage_service.dto.response.SyncResultDto;
+import com.cloud.storage_service.dto.storage.ObjectListingDto;
+import com.cloud.storage_service.dto.storage.ObjectSummaryDto;
+import com.cloud.storage_service.exception.ServiceOverloadedException;
+import com.cloud.storage_service.exception.WebException;
+import com.cloud.storage_service.properties.SyncProperties;
+import com.cloud.storage_service.service.ObjectStorageService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.cloud.storage_service.constants.GeneralConstant.CONTENT_SHA256_METADATA;
+import static com.cloud.storage_service.constants.GeneralConstant.SYNC_SOURCE_ETAG_METADATA;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SyncServiceImplTest {
+    private final InMemoryStorage source = new InMemoryStorage("minio");
+    private final InMemoryStorage target = new InMemoryStorage("s3");
+    private final SyncProperties properties = new SyncProperties();
+
+    @TempDir
+    Path checkpointDir;
+
+    @Test
+    public void copiesMissingObjectsAndSkipsItsOwnCopiesOnTheNextRun() {
+        source.put("books/a.txt", "alpha");
+        source.put("books/b.txt", "bravo");
+        SyncServiceImpl service = service();
+
+        SyncResultDto first = run(service, request(false, false));
+        assertThat(first.getStatus()).isEqualTo(GeneralConstant.STATUS.COMPLETED);
+        assertThat(first.getCopied()).isEqualTo(2);
+        assertThat(target.content("books/a.txt")).isEqualTo("alpha");
+
+        // The target computes its own ETags, so only the sync marker shows the copies are current
+        SyncResultDto second = run(service, request(false, false));
+        assertThat(second.getCopied()).isZero();
+        assertThat(second.getSkipped()).isEqualTo(2);
+
+        source.put("books/b.txt", "bravo, revised");
+        SyncResultDto third = run(service, request(false, false));
+        assertThat(third.getCopied()).isEqualTo(1);
+        assertThat(target.content("books/b.txt")).isEqualTo("bravo, revised");
+    }
+
+    @Test
+    public void deletesExtraneousObjectsOnlyWhenAsked() {
+        source.put("books/a.txt", "alpha");
+        target.put("books/z.txt", "zulu");
+        SyncServiceImpl service = service();
+
+        run(service, request(false, false));
+        assertThat(target.content("books/z.txt")).isEqualTo("zulu");
+
+        SyncResultDto result = run(service, request(false, true));
+        assertThat(result.getDeleted()).isEqualTo(1);
+        assertThat(target.content("books/z.txt")).isNull();
+    }
+
+    @Test
+    public void plansWithoutWritingOnADryRun() {
+        source.put("books/a.txt", "alpha");
+        target.put("books/z.txt", "zulu");
+        SyncServiceImpl service = service();
+
+        SyncResultDto result = run(service, request(true, true));
+
+        assertThat(result.isDryRun()).isTrue();
+        assertThat(result.getPlan()).hasSize(2);
+        assertThat(result.getPlan().get(0).getAction()).isEqualTo(SyncActionDto.COPY);
+        assertThat(result.getPlan().get(1).getAction()).isEqualTo(SyncActionDto.DELETE);
+        assertThat(target.content("books/a.txt")).isNull();
+        assertThat(target.content("books/z.txt")).isEqualTo("zulu");
+    }
+
+    @Test
+    public void refusesASecondRunOfTheSameSync() {
+        source.listGate = new CountDownLatch(1);
+        SyncServiceImpl service = service();
+        try {
+            service.sync("request", request(false, false));
+
+            assertThatThrownBy(() -> service.sync("request", request(false, false)))
+                    .isInstanceOf(WebException.class);
+        } finally {
+            source.listGate.countDown();
+        }
+    }
+
+    @Test
+    public void refusesSyncsBeyondTheConcurrencyLimit() {
+        properties.setMaxConcurrentSyncs(1);
+        source.listGate = new CountDownLatch(1);
+        SyncServiceImpl service = service();
+        try {
+            service.sync("request", request(false, false));
+
+            SyncRequestDto other = request(false, false);
+            other.setSourcePrefix("comics");
+            assertThatThrownBy(() -> service.sync("request", other))
+                    .isInstanceOf(ServiceOverloadedException.class);
+        } finally {
+            source.listGate.countDown();
+        }
+    }
+
+    @Test
+    public void reportsFailedSyncsWithTheirError() {
+        source.listFailure = new IllegalStateException("Listing refused");
+        SyncServiceImpl service = service();
+
+        SyncResultDto result = run(service, request(false, false));
+
+        assertThat(result.getStatus()).isEqualTo(GeneralConstant.STATUS.FAILED);
+        assertThat(result.getError()).isEqualTo("Listing refused");
+    }
+
+    @Test
+    public void rejectsUnknownSyncIds() {
+        assertThatThrownBy(() -> service().status("unknown")).isInstanceOf(WebException.class);
+    }
+
+    @Test
+    public void treatsObjectsWithTheSameSizeAndETagAsUnchanged() {
+        ObjectSummaryDto object = summary("books/a.txt", 5, "etag-1");
+
+        assertThat(SyncServiceImpl.isChanged(source, target, object, object)).isFalse();
+    }
+
+    @Test
+    public void treatsACopyMadeFromTheCurrentSourceAsUnchanged() {
+        source.put("books/a.txt", "alpha");
+        target.put("books/a.txt", "alpha", Map.of(SYNC_SOURCE_ETAG_METADATA, source.etag("books/a.txt")));
+
+        assertThat(SyncServiceImpl.isChanged(source, target, listed(source), listed(target))).isFalse();
+
+        source.put("books/a.txt", "ALPHA");
+        assertThat(SyncServiceImpl.isChanged(source, target, listed(source), listed(target))).isTrue();
+    }
+
+    @Test
+    public void comparesContentDigestsWhenETagsDiffer() {
+        source.put("books/a.txt", "alpha", Map.of(CONTENT_SHA256_METADATA, "digest-1"));
+        target.put("books/a.txt", "alpha", Map.of(CONTENT_SHA256_METADATA, "digest-1"));
+        assertThat(SyncServiceImpl.isChanged(source, target, listed(source), listed(target))).isFalse();
+
+        target.put("books/a.txt", "alpha", Map.of(CONTENT_SHA256_METADATA, "digest-2"));
+        assertThat(SyncServiceImpl.isChanged(source, target, listed(source), listed(target))).isTrue();
+
+        // Without a digest on the target the copy cannot be proven current
+        target.put("books/a.txt", "alpha");
+        assertThat(SyncServiceImpl.isChanged(source, target, listed(source), listed(target))).isTrue();
+    }
+
+    @Test
+    public void treatsObjectsGoneSinceTheListingAsChanged() {
+        source.put("books/a.txt", "alpha");
+        ObjectSummaryDto targetObject = summary("books/a.txt", 5, "etag-gone");
+
+        assertThat(SyncServiceImpl.isChanged(source, target, listed(source), targetObject)).isTrue();
+    }
+
+    private SyncServiceImpl service() {
+        properties.setCheckpointDir(checkpointDir.toString());
+        return new SyncServiceImpl(new ObjectStorageRegistry(List.of(source, target)),
+                new SyncCheckpointStore(properties), properties);
+    }
+
+    private static SyncRequestDto request(boolean dryRun, boolean deleteExtraneous) {
+        return SyncRequestDto.builder()
+                .source("minio")
+                .target("s3")
+                .sourcePrefix("books")
+                .dryRun(dryRun)
+                .deleteExtraneous(deleteExtraneous)
+                .resume(false)
+                .build();
+    }
+
+    /**
+     * Starts the sync and polls its status until it has finished.
+     */
+    private static SyncResultDto run(SyncServiceImpl service, SyncRequestDto request) {
+        String syncId = service.sync("request", request).getSyncId();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            SyncResultDto result = service.status(syncId);
+            if (!GeneralConstant.STATUS.IN_PROGRESS.equals(result.getStatus())) {
+                return result;
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        throw new AssertionError("Sync " + syncId + " did not finish");
+    }
+
+    private static ObjectSummaryDto listed(InMemoryStorage storage) {
+        return storage.listObjects("books/", null, 1).getObjects().get(0);
+    }
+
+    private static ObjectSummaryDto summary(String key, long size, String etag) {
+        return ObjectSummaryDto.builder().key(key).size(size).etag(etag).build();
+    }
+
+    /**
+     * Object store held in memory. Like real stores it computes its own ETags, so a copy in
+     * another store lists with a different ETag than its source.
+     */
+    private static final class InMemoryStorage implements ObjectStorageService {
+        private final String providerName;
+        private final Map<String, StoredObject> objects = new ConcurrentSkipListMap<>();
+        private volatile CountDownLatch listGate;
+        private volatile RuntimeException listFailure;
+
+        private InMemoryStorage(String providerName) {
+            this.providerName = providerName;
+        }
+
+        void put(String key, String content) {
+            put(key, content, Map.of());
+        }
+
+        void put(String key, String content, Map<String, String> metadata) {
+            putObject(key, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), content.length(),
+                    "text/plain", metadata);
+        }
+
+        String content(String key) {
+            StoredObject object = objects.get(key);
+            return object == null ? null : new String(object.content(), StandardCharsets.UTF_8);
+        }
+
+        String etag(String key) {
+            return objects.get(key).etag();
+        }
+
+        @Override
+        public String getProviderName() {
+            return providerName;
+        }
+
+        @Override
+        public ObjectListingDto listObjects(String prefix, String startAfter, int maxKeys) {
+            awaitGate();
+            if (listFailure != null) {
+                throw listFailure;
+            }
+            List<ObjectSummaryDto> page = new ArrayList<>();
+            String nextStartAfter = null;
+            for (Map.Entry<String, StoredObject> entry : objects.entrySet()) {
+                String key = entry.getKey();
+                if (!key.startsWith(prefix) || startAfter != null && key.compareTo(startAfter) <= 0) {
+                    continue;
+                }
+                if (page.size() == maxKeys) {
+                    nextStartAfter = page.get(page.size() - 1).getKey();
+                    break;
+                }
+                StoredObject object = entry.getValue();
+                page.add(summary(key, object.content().length, object.etag()));
+            }
+            return ObjectListingDto.builder().objects(page).nextStartAfter(nextStartAfter).build();
+        }
+
+        @Override
+        public ObjectSummaryDto headObject(String key) {
+            StoredObject object = objects.get(key);
+            if (object == null) {
+                return null;
+            }
+            ObjectSummaryDto head = summary(key, object.content().length, object.etag());
+            head.setContentType(object.contentType());
+            head.setContentSha256(object.metadata().get(CONTENT_SHA256_METADATA));
+            head.setSyncSourceEtag(object.metadata().get(SYNC_SOURCE_ETAG_METADATA));
+            return head;
+        }
+
+        @Override
+        public InputStream getObject(String key) {
+            return new ByteArrayInputStream(objects.get(key).content());
+        }
+
+        @Override
+        public InputStream getObject(String key, long offset, long length) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String presignGetObject(String key, Duration expiry) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void putObject(String key, InputStream inputStream, long size, String contentType,
+                              Map<String, String> metadata) {
+            try {
+                byte[] content = inputStream.readAllBytes();
+                String etag = providerName + "-" + Integer.toHexString(Arrays.hashCode(content));
+                objects.put(key, new StoredObject(content, etag, contentType, new HashMap<>(metadata)));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void deleteObject(String key) {
+            objects.remove(key);
+        }
+
+        @Override
+        public String startMultipartUpload(String key, String contentType) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String uploadPart(String key, String uploadId, int partNumber, InputStream inputStream, long size) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void completeMultipartUpload(String key, String uploadId, String contentType,
+                                            List<String> partEtags) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void abortMultipartUpload(String key, String uploadId) {
+            throw new UnsupportedOperationException();
+        }
+
+        private void awaitGate() {
+            CountDownLatch gate = listGate;
+            if (gate == null) {
+                return;
+            }
+            try {
+                gate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private record StoredObject(byte[] content, String etag, String contentType, Map<String, String> metadata) {
+    }
+}
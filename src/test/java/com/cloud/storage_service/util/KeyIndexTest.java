@@ -0,0 +1,136 @@
+package com.cloud.storage_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeyIndexTest {
+    private static final String MD5 = "0123456789abcdef0123456789abcdef";
+
+    @Test
+    public void iteratesKeysAcrossBlocksInOrder() {
+        List<String> expected = new ArrayList<>();
+        KeyIndex.Builder builder = KeyIndex.builder();
+        for (int i = 0; i < 100; i++) {
+            String key = String.format("photos/2024/album-%03d.jpg", i);
+            expected.add(key);
+            builder.add(key, i, null, i);
+        }
+        KeyIndex index = builder.build();
+
+        assertThat(index.size()).isEqualTo(100);
+        assertThat(keys(index.cursor())).isEqualTo(expected);
+    }
+
+    @Test
+    public void keepsMetadataByPosition() {
+        KeyIndex index = KeyIndex.builder()
+                .add("a", 1, MD5, 10)
+                .add("b", 2, MD5.toUpperCase(), 20)
+                .add("c", 3, "d41d8cd98f00b204e9800998ecf8427e-2", 30)
+                .add("d", 4, null, 40)
+                .build();
+
+        assertThat(index.sizeAt(1)).isEqualTo(2);
+        assertThat(index.lastModifiedAt(2)).isEqualTo(30);
+        assertThat(index.etagAt(0)).isEqualTo(MD5);
+        assertThat(index.etagAt(1)).isEqualTo(MD5);
+        assertThat(index.etagAt(2)).isEqualTo("d41d8cd98f00b204e9800998ecf8427e-2");
+        assertThat(index.etagAt(3)).isNull();
+    }
+
+    @Test
+    public void decodesKeysLongerThanTheCursorBuffer() {
+        String longKey = "folder/" + "x".repeat(300);
+        KeyIndex index = KeyIndex.builder()
+                .add("folder/a", 1, null, 0)
+                .add(longKey, 2, null, 0)
+                .add(longKey + "y", 3, null, 0)
+                .build();
+
+        assertThat(keys(index.cursor())).containsExactly("folder/a", longKey, longKey + "y");
+    }
+
+    @Test
+    public void seeksToTheFirstKeyAtOrAfterTheTarget() {
+        KeyIndex index = numbered(64);
+
+        KeyIndex.Cursor cursor = index.cursor();
+        cursor.seek("key-020");
+        assertThat(cursor.key()).isEqualTo("key-020");
+        assertThat(cursor.index()).isEqualTo(20);
+
+        cursor.seek("key-0405");
+        assertThat(cursor.key()).isEqualTo("key-041");
+
+        cursor.seek("key-000");
+        assertThat(cursor.key()).as("seek never moves backwards").isEqualTo("key-041");
+
+        cursor.seek("key-999");
+        assertThat(cursor.valid()).isFalse();
+    }
+
+    @Test
+    public void movesToAPosition() {
+        KeyIndex.Cursor cursor = numbered(64).cursor();
+
+        cursor.moveTo(5);
+        assertThat(cursor.key()).isEqualTo("key-005");
+        cursor.moveTo(50);
+        assertThat(cursor.key()).isEqualTo("key-050");
+        cursor.moveTo(10);
+        assertThat(cursor.index()).isEqualTo(50);
+        cursor.moveTo(64);
+        assertThat(cursor.valid()).isFalse();
+    }
+
+    @Test
+    public void rejectsKeysOutOfOrder() {
+        KeyIndex.Builder builder = KeyIndex.builder().add("b", 0, null, 0);
+
+        assertThatThrownBy(() -> builder.add("a", 0, null, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> builder.add("b", 0, null, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void ordersKeysByCodePoint() {
+        String supplementary = new String(Character.toChars(0x1F600));
+
+        assertThat(KeyIndex.compareKeys("\uFFFF", supplementary)).isNegative();
+        assertThat("\uFFFF".compareTo(supplementary)).isPositive();
+        assertThat(KeyIndex.compareKeys("a", "ab")).isNegative();
+        assertThat(KeyIndex.compareKeys("ab", "ab")).isZero();
+
+        KeyIndex index = KeyIndex.builder()
+                .add("\uFFFF", 0, null, 0)
+                .add(supplementary, 0, null, 0)
+                .build();
+        assertThat(keys(index.cursor())).containsExactly("\uFFFF", supplementary);
+    }
+
+    @Test
+    public void emptyIndexHasNoKeys() {
+        assertThat(KeyIndex.EMPTY.size()).isZero();
+        assertThat(KeyIndex.EMPTY.cursor().valid()).isFalse();
+    }
+
+    private static KeyIndex numbered(int count) {
+        KeyIndex.Builder builder = KeyIndex.builder();
+        for (int i = 0; i < count; i++) {
+            builder.add(String.format("key-%03d", i), i, null, 0);
+        }
+        return builder.build();
+    }
+
+    private static List<String> keys(KeyIndex.Cursor cursor) {
+        List<String> keys = new ArrayList<>();
+        for (; cursor.valid(); cursor.advance()) {
+            keys.add(cursor.key());
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,80 @@
+package com.cloud.storage_service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TrigramIndexTest {
+
+    @Test
+    public void matchesFileNamesCaseInsensitively() {
+        TrigramIndex index = TrigramIndex.builder()
+                .add("docs/Summary.txt", 1, 0)
+                .add("docs/report-2024.pdf", 2, 0)
+                .add("report/notes.txt", 3, 0)
+                .build();
+
+        assertThat(index.find("REPORT", 0, 3, nameContains("REPORT"), 10)).containsExactly(1);
+        assertThat(index.find("summ", 0, 3, nameContains("summ"), 10)).containsExactly(0);
+        assertThat(index.keys().size()).isEqualTo(3);
+    }
+
+    @Test
+    public void findsNothingWhenATrigramIsMissing() {
+        TrigramIndex index = TrigramIndex.builder().add("a/report.pdf", 1, 0).build();
+
+        assertThat(index.find("invoice", 0, 1, nameContains("invoice"), 10)).isEmpty();
+        assertThat(TrigramIndex.EMPTY.find("report", 0, 0, nameContains("report"), 10)).isEmpty();
+    }
+
+    @Test
+    public void leavesTheMatchToThePredicate() {
+        // Has every trigram of "abcbc" without containing it
+        TrigramIndex index = TrigramIndex.builder()
+                .add("x/abc-cbc-bcb", 1, 0)
+                .add("x/abcbcd", 2, 0)
+                .build();
+
+        assertThat(index.find("abcbc", 0, 2, key -> true, 10)).containsExactly(0, 1);
+        assertThat(index.find("abcbc", 0, 2, nameContains("abcbc"), 10)).containsExactly(1);
+    }
+
+    @Test
+    public void limitsHitsToTheRangeAndLimit() {
+        TrigramIndex.Builder builder = TrigramIndex.builder();
+        for (int i = 0; i < 50; i++) {
+            builder.add(String.format("logs/file-%02d.log", i), i, 0);
+        }
+        TrigramIndex index = builder.build();
+
+        assertThat(index.find("file", 10, 20, nameContains("file"), 100)).hasSize(10);
+        assertThat(index.find("file", 10, 20, nameContains("file"), 3)).containsExactly(10, 11, 12);
+        assertThat(index.find("file", 48, 50, nameContains("file"), 100)).containsExactly(48, 49);
+    }
+
+    @Test
+    public void decodesPositionsFarApart() {
+        TrigramIndex.Builder builder = TrigramIndex.builder();
+        for (int i = 0; i < 1000; i++) {
+            builder.add(String.format("k/%04d-%s.bin", i, i % 300 == 0 ? "match" : "other"), i, 0);
+        }
+        TrigramIndex index = builder.build();
+
+        assertThat(index.find("match", 0, 1000, nameContains("match"), 10)).containsExactly(0, 300, 600, 900);
+        assertThat(index.find("match", 1, 1000, nameContains("match"), 10)).containsExactly(300, 600, 900);
+    }
+
+    @Test
+    public void extractsTheFileName() {
+        assertThat(TrigramIndex.fileName("a/b/c.txt")).isEqualTo("c.txt");
+        assertThat(TrigramIndex.fileName("c.txt")).isEqualTo("c.txt");
+    }
+
+    private static Predicate<String> nameContains(String term) {
+        String lowerCase = term.toLowerCase(Locale.ROOT);
+        return key -> TrigramIndex.fileName(key).toLowerCase(Locale.ROOT).contains(lowerCase);
+    }
+}
@@ -0,0 +1,58 @@
+package com.cloud.storage_service.util.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NaturalOrderComparatorTest {
+    private static final NaturalOrderComparator COMPARATOR = NaturalOrderComparator.INSTANCE;
+
+    @Test
+    public void ordersDigitRunsByValue() {
+        List<String> names = new ArrayList<>(List.of("page10.jpg", "page2.jpg", "Page3.jpg", "page1.jpg"));
+        names.sort(COMPARATOR);
+
+        assertThat(names).containsExactly("page1.jpg", "page2.jpg", "Page3.jpg", "page10.jpg");
+        assertThat(COMPARATOR.compare("v1c9.png", "v1c10.png")).isNegative();
+        assertThat(COMPARATOR.compare("v2c1.png", "v1c10.png")).isPositive();
+    }
+
+    @Test
+    public void comparesDigitRunsLongerThanALong() {
+        assertThat(COMPARATOR.compare("file12345678901234567890", "file12345678901234567891")).isNegative();
+        assertThat(COMPARATOR.compare("file99999999999999999999", "file100000000000000000000")).isNegative();
+    }
+
+    @Test
+    public void ignoresCaseAndLeadingZerosUntilTheyAreTheOnlyDifference() {
+        assertThat(COMPARATOR.compare("Apple", "banana")).isNegative();
+        assertThat(COMPARATOR.compare("p007", "p8")).isNegative();
+        assertThat(COMPARATOR.compare("p007", "p7")).isNotEqualTo(0);
+        assertThat(COMPARATOR.compare("a.txt", "A.txt")).isNotEqualTo(0);
+    }
+
+    @Test
+    public void isATotalOrder() {
+        List<String> names = List.of("a", "A", "a1", "a01", "a001b", "a1b", "a10", "a2", "b", "", "0", "00");
+        for (String a : names) {
+            assertThat(COMPARATOR.compare(a, a)).isZero();
+            for (String b : names) {
+                assertThat(Integer.signum(COMPARATOR.compare(a, b)))
+                        .as(a + " vs " + b)
+                        .isEqualTo(-Integer.signum(COMPARATOR.compare(b, a)));
+                if (!a.equals(b)) {
+                    assertThat(COMPARATOR.compare(a, b)).as(a + " vs " + b).isNotEqualTo(0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void ordersPrefixesFirst() {
+        assertThat(COMPARATOR.compare("page", "page1")).isNegative();
+        assertThat(COMPARATOR.compare("page1", "page1a")).isNegative();
+    }
+}